@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+
+/**
+ * Compares two JMH result files written with {@code -rf json} and reports the benchmarks whose score got worse than
+ * the baseline by more than a threshold.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.json> <current.json> [threshold-percent]}. The threshold defaults to
+ * 10%. The process exits with status 1 if any benchmark regressed, so it can be used to fail a build.
+ */
+public final class BaselineComparison {
+
+    private static final double DEFAULT_THRESHOLD = 10;
+
+    private BaselineComparison() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        final double threshold = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        final Map<String, ModelNode> baseline = readResults(args[0]);
+        final Map<String, ModelNode> current = readResults(args[1]);
+        if (compare(baseline, current, threshold, System.out) > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Writes a report comparing each benchmark of the current run with the baseline.
+     *
+     * @return the number of benchmarks that regressed by more than the threshold
+     */
+    static int compare(final Map<String, ModelNode> baseline, final Map<String, ModelNode> current,
+                       final double threshold, final PrintStream out) {
+        int regressions = 0;
+        out.printf(Locale.ROOT, "%-90s %15s %15s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, ModelNode> entry : current.entrySet()) {
+            final ModelNode result = entry.getValue();
+            final ModelNode metric = result.get("primaryMetric");
+            final String unit = metric.get("scoreUnit").asString();
+            final double score = metric.get("score").asDouble();
+            final ModelNode base = baseline.get(entry.getKey());
+            if (base == null) {
+                out.printf(Locale.ROOT, "%-90s %15s %15s %9s%n", entry.getKey(), "-", format(score, unit), "new");
+                continue;
+            }
+            final double baseScore = base.get("primaryMetric", "score").asDouble();
+            // Throughput is better when higher, all other modes measure time and are better when lower
+            final boolean higherIsBetter = "thrpt".equals(result.get("mode").asString());
+            final double change = baseScore == 0 ? 0 : (score - baseScore) * 100 / baseScore;
+            final boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            out.printf(Locale.ROOT, "%-90s %15s %15s %+8.1f%%%s%n", entry.getKey(), format(baseScore, unit),
+                    format(score, unit), change, regressed ? " REGRESSION" : "");
+        }
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                out.printf(Locale.ROOT, "%-90s %15s %15s %9s%n", name, "", "-", "missing");
+            }
+        }
+        out.printf(Locale.ROOT, "%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+        return regressions;
+    }
+
+    /**
+     * Reads a JMH json result file, keyed by benchmark name, mode and parameters.
+     */
+    static Map<String, ModelNode> readResults(final String file) throws IOException {
+        final ModelNode results = ModelNode.fromJSONString(new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8));
+        final Map<String, ModelNode> byName = new TreeMap<>();
+        for (ModelNode result : results.asList()) {
+            final StringBuilder name = new StringBuilder(result.get("benchmark").asString());
+            if (result.hasDefined("params")) {
+                for (Property param : result.get("params").asPropertyList()) {
+                    name.append(':').append(param.getName()).append('=').append(param.getValue().asString());
+                }
+            }
+            name.append(" (").append(result.get("mode").asString()).append(')');
+            byName.put(name.toString(), result);
+        }
+        return byName;
+    }
+
+    private static String format(final double score, final String unit) {
+        return String.format(Locale.ROOT, "%.3f %s", score, unit);
+    }
+}
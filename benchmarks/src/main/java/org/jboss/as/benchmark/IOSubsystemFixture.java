@@ -0,0 +1,87 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.benchmark;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.subsystem.test.AbstractSubsystemTest;
+import org.jboss.as.subsystem.test.AdditionalInitialization;
+import org.jboss.as.subsystem.test.KernelServices;
+import org.wildfly.extension.io.IOExtension;
+
+/**
+ * Boots a {@code ModelControllerImpl} with the IO subsystem using the subsystem test harness, so the benchmarks
+ * measure the real management operation pipeline without a running server.
+ * <p>
+ * The controller runs in admin-only mode, so the worker and buffer pool services are not started and the
+ * benchmarks only measure the management layer.
+ */
+final class IOSubsystemFixture extends AbstractSubsystemTest {
+
+    static final PathAddress SUBSYSTEM = PathAddress.pathAddress("subsystem", IOExtension.SUBSYSTEM_NAME);
+
+    IOSubsystemFixture() {
+        super(IOExtension.SUBSYSTEM_NAME, new IOExtension());
+    }
+
+    /**
+     * Boots a new controller.
+     *
+     * @param workers the number of workers and buffer pools to configure
+     * @return the controller. Must be shut down with {@link #cleanup()}
+     */
+    KernelServices boot(final int workers) throws Exception {
+        initializeParser();
+        final KernelServices kernelServices = createKernelServicesBuilder(AdditionalInitialization.MANAGEMENT)
+                .setSubsystemXml(getSubsystemXml(workers))
+                .build();
+        if (!kernelServices.isSuccessfulBoot()) {
+            throw new IllegalStateException(kernelServices.getBootErrorDescription());
+        }
+        return kernelServices;
+    }
+
+    static PathAddress worker(final int index) {
+        return SUBSYSTEM.append("worker", "worker-" + index);
+    }
+
+    /**
+     * Creates an IO subsystem configuration with the given number of workers and buffer pools. Half of the
+     * workers use expressions, so their attributes have to be resolved when read with {@code resolve=true}.
+     */
+    static String getSubsystemXml(final int workers) {
+        final StringBuilder xml = new StringBuilder("<subsystem xmlns=\"urn:jboss:domain:io:3.0\">");
+        for (int i = 0; i < workers; i++) {
+            xml.append("<worker name=\"worker-").append(i).append('"');
+            if (i % 2 == 0) {
+                xml.append(" io-threads=\"${benchmark.io-threads:4}\" task-max-threads=\"${benchmark.max-threads:64}\"");
+            } else {
+                xml.append(" io-threads=\"4\" task-max-threads=\"64\"");
+            }
+            xml.append(" task-keepalive=\"100\" stack-size=\"0\"/>");
+        }
+        for (int i = 0; i < workers; i++) {
+            xml.append("<buffer-pool name=\"pool-").append(i).append("\" buffer-size=\"1024\" buffers-per-slice=\"64\"/>");
+        }
+        return xml.append("</subsystem>").toString();
+    }
+}
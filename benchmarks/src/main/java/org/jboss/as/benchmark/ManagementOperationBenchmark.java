@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.benchmark;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESOLVE_EXPRESSIONS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of management operations executed through a booted controller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ManagementOperationBenchmark {
+
+    /** The number of workers and buffer pools in the model. */
+    @Param({"10", "100"})
+    int size;
+
+    private IOSubsystemFixture fixture;
+    private KernelServices kernelServices;
+    private ModelNode readAttribute;
+    private ModelNode readAttributeResolved;
+    private ModelNode[] writeAttribute;
+    private ModelNode composite;
+    private ModelNode readResourceRecursive;
+    private int writes;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        fixture = new IOSubsystemFixture();
+        kernelServices = fixture.boot(size);
+
+        readAttribute = Util.getReadAttributeOperation(IOSubsystemFixture.worker(0), "io-threads");
+        readAttributeResolved = readAttribute.clone();
+        readAttributeResolved.get(RESOLVE_EXPRESSIONS).set(true);
+        // Alternate between two values, so every write changes the model
+        writeAttribute = new ModelNode[] {
+                Util.getWriteAttributeOperation(IOSubsystemFixture.worker(1), "task-max-threads", 32),
+                Util.getWriteAttributeOperation(IOSubsystemFixture.worker(1), "task-max-threads", 64)
+        };
+        composite = Util.createEmptyOperation(COMPOSITE, PathAddress.EMPTY_ADDRESS);
+        for (int i = 0; i < 10; i++) {
+            composite.get(STEPS).add(Util.getReadAttributeOperation(IOSubsystemFixture.worker(i % size), "task-keepalive"));
+        }
+        readResourceRecursive = Util.createEmptyOperation(READ_RESOURCE_OPERATION, IOSubsystemFixture.SUBSYSTEM);
+        readResourceRecursive.get(RECURSIVE).set(true);
+        readResourceRecursive.get(INCLUDE_RUNTIME).set(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.cleanup();
+    }
+
+    @Benchmark
+    public ModelNode readAttribute() {
+        return execute(readAttribute);
+    }
+
+    @Benchmark
+    public ModelNode readAttributeResolved() {
+        return execute(readAttributeResolved);
+    }
+
+    @Benchmark
+    public ModelNode writeAttribute() {
+        return execute(writeAttribute[writes++ & 1]);
+    }
+
+    @Benchmark
+    public ModelNode composite() {
+        return execute(composite);
+    }
+
+    @Benchmark
+    public ModelNode readResourceRecursive() {
+        return execute(readResourceRecursive);
+    }
+
+    private ModelNode execute(final ModelNode operation) {
+        final ModelNode response = kernelServices.executeOperation(operation);
+        if (!SUCCESS.equals(response.get(OUTCOME).asString())) {
+            throw new IllegalStateException(response.get(FAILURE_DESCRIPTION).asString());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the model primitives every management operation relies on: addresses, attribute resolution and
+ * resource copies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+
+    private static final AttributeDefinition ATTRIBUTE = SimpleAttributeDefinitionBuilder.create("value", ModelType.INT)
+            .setAllowExpression(true)
+            .build();
+
+    /** The number of children of each resource in the copied resource tree. */
+    @Param({"10", "100"})
+    int size;
+
+    private ModelNode addressNode;
+    private PathAddress address;
+    private ModelNode plainModel;
+    private ModelNode expressionModel;
+    private Resource root;
+
+    @Setup
+    public void setup() {
+        address = PathAddress.pathAddress(PathElement.pathElement("subsystem", "io"),
+                PathElement.pathElement("worker", "default"),
+                PathElement.pathElement("outbound-bind-address", "outbound"));
+        addressNode = address.toModelNode();
+        plainModel = new ModelNode();
+        plainModel.get(ATTRIBUTE.getName()).set(4);
+        expressionModel = new ModelNode();
+        expressionModel.get(ATTRIBUTE.getName()).set(new ValueExpression("${benchmark.value:4}"));
+
+        root = Resource.Factory.create();
+        for (int i = 0; i < size; i++) {
+            final Resource child = Resource.Factory.create();
+            child.getModel().set(plainModel);
+            for (int j = 0; j < size; j++) {
+                final Resource grandChild = Resource.Factory.create();
+                grandChild.getModel().set(expressionModel);
+                child.registerChild(PathElement.pathElement("grandchild", String.valueOf(j)), grandChild);
+            }
+            root.registerChild(PathElement.pathElement("child", String.valueOf(i)), child);
+        }
+    }
+
+    @Benchmark
+    public PathAddress pathAddressFromModelNode() {
+        return PathAddress.pathAddress(addressNode);
+    }
+
+    @Benchmark
+    public PathAddress pathAddressParseCLIStyle() {
+        return PathAddress.parseCLIStyleAddress("/subsystem=io/worker=default/outbound-bind-address=outbound");
+    }
+
+    @Benchmark
+    public ModelNode pathAddressToModelNode() {
+        return address.toModelNode();
+    }
+
+    @Benchmark
+    public ModelNode resolvePlainAttribute() throws OperationFailedException {
+        return ATTRIBUTE.resolveModelAttribute(ExpressionResolver.SIMPLE, plainModel);
+    }
+
+    @Benchmark
+    public ModelNode resolveExpressionAttribute() throws OperationFailedException {
+        return ATTRIBUTE.resolveModelAttribute(ExpressionResolver.SIMPLE, expressionModel);
+    }
+
+    @Benchmark
+    public Resource cloneResource() {
+        return root.clone();
+    }
+}
@@ -190,6 +190,8 @@ public class Util {
     public static final String MASTER = "master";
     public static final String MAX_FAILED_SERVERS = "max-failed-servers";
     public static final String MAX_FAILURE_PERCENTAGE = "max-failure-percentage";
+    public static final String MAX_IN_FLIGHT = "max-in-flight";
+    public static final String MAX_IN_FLIGHT_PERCENTAGE = "max-in-flight-percentage";
     public static final String MAX_OCCURS = "max-occurs";
     public static final String MECHANISM_CONFIGURATIONS = "mechanism-configurations";
     public static final String MECHANISM_NAME = "mechanism-name";
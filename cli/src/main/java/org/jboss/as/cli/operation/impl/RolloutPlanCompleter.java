@@ -166,6 +166,8 @@ public class RolloutPlanCompleter implements CommandLineCompleter {
         if(lastGroup.endsOnPropertyListStart()) {
             candidates.add(Util.MAX_FAILED_SERVERS);
             candidates.add(Util.MAX_FAILURE_PERCENTAGE);
+            candidates.add(Util.MAX_IN_FLIGHT);
+            candidates.add(Util.MAX_IN_FLIGHT_PERCENTAGE);
             candidates.add(Util.ROLLING_TO_SERVERS);
             candidates.add(Util.NOT_OPERATOR);
             return buffer.length();
@@ -206,6 +208,11 @@ public class RolloutPlanCompleter implements CommandLineCompleter {
                 if(!lastGroup.hasProperty(Util.MAX_FAILURE_PERCENTAGE)) {
                     candidates.add(Util.MAX_FAILURE_PERCENTAGE);
                 }
+                // max-in-flight and max-in-flight-percentage are mutually exclusive
+                if(!lastGroup.hasProperty(Util.MAX_IN_FLIGHT) && !lastGroup.hasProperty(Util.MAX_IN_FLIGHT_PERCENTAGE)) {
+                    candidates.add(Util.MAX_IN_FLIGHT);
+                    candidates.add(Util.MAX_IN_FLIGHT_PERCENTAGE);
+                }
                 if(!lastGroup.hasProperty(Util.ROLLING_TO_SERVERS)) {
                     candidates.add(Util.ROLLING_TO_SERVERS);
                     candidates.add(Util.NOT_OPERATOR);
@@ -216,6 +223,12 @@ public class RolloutPlanCompleter implements CommandLineCompleter {
                 if(Util.MAX_FAILED_SERVERS.startsWith(propName)) {
                     candidates.add(Util.MAX_FAILED_SERVERS + '=');
                 }
+                if(Util.MAX_IN_FLIGHT.startsWith(propName)) {
+                    candidates.add(Util.MAX_IN_FLIGHT + '=');
+                }
+                if(Util.MAX_IN_FLIGHT_PERCENTAGE.startsWith(propName)) {
+                    candidates.add(Util.MAX_IN_FLIGHT_PERCENTAGE + '=');
+                }
                 if(Util.MAX_FAILURE_PERCENTAGE.startsWith(propName)) {
                     candidates.add(Util.MAX_FAILURE_PERCENTAGE + '=');
                 } else if (Util.ROLLING_TO_SERVERS.equals(propName)) {
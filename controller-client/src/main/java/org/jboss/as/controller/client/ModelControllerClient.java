@@ -32,6 +32,7 @@ import java.security.GeneralSecurityException;
 import javax.security.auth.callback.CallbackHandler;
 
 import org.jboss.as.controller.client.helpers.ContextualModelControllerClient;
+import org.jboss.as.controller.client.helpers.ModelNodeStreamReader;
 import org.jboss.as.controller.client.impl.RemotingModelControllerClient;
 import org.jboss.as.controller.client.logging.ControllerClientLogger;
 import org.jboss.dmr.ModelNode;
@@ -117,6 +118,29 @@ public interface ModelControllerClient extends Closeable {
      */
     OperationResponse executeOperation(Operation operation, OperationMessageHandler messageHandler) throws IOException;
 
+    /**
+     * Execute an operation synchronously, passing the response to a handler one subtree at a time as described by
+     * {@link ModelNodeStreamReader}. Any input streams the server associates with the response are not available;
+     * they are closed once the response was read.
+     * <p>
+     * Only the client side streams: remote clients read the response from the wire as it arrives, so the client never
+     * holds the whole response in memory. The server still builds the complete response in memory before sending it,
+     * so this does not reduce the server's memory use. Clients that do not support streaming, such as in-VM clients,
+     * pass the subtrees of the complete response to the handler.
+     * <p>
+     * The handler may be called from the thread reading the response, so it should not block or use this client.
+     *
+     * @param operation the operation to execute
+     * @param messageHandler the message handler to use for operation progress reporting, or {@code null} for none
+     * @param depth the depth at which the response is split
+     * @param responseHandler the handler of the parts of the response
+     * @throws IOException if an I/O error occurs while executing the operation, or the handler failed
+     */
+    default void executeStreaming(Operation operation, OperationMessageHandler messageHandler, int depth,
+                                  ModelNodeStreamReader.Handler responseHandler) throws IOException {
+        ModelNodeStreamReader.visit(execute(operation, messageHandler), depth, responseHandler);
+    }
+
     /**
      * Execute an operation in another thread.
      *
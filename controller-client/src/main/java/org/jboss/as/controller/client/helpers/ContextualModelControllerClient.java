@@ -56,6 +56,15 @@ public final class ContextualModelControllerClient implements ModelControllerCli
         return context.runExFunction(o -> delegate.executeOperation(operation, messageHandler), null);
     }
 
+    @Override
+    public void executeStreaming(final Operation operation, final OperationMessageHandler messageHandler, final int depth,
+                                 final ModelNodeStreamReader.Handler responseHandler) throws IOException {
+        context.runExFunction(o -> {
+            delegate.executeStreaming(operation, messageHandler, depth, responseHandler);
+            return null;
+        }, null);
+    }
+
     @Override
     public AsyncFuture<ModelNode> executeAsync(final Operation operation, final OperationMessageHandler messageHandler) {
         return context.runExFunction(o -> delegate.executeAsync(operation, messageHandler), null);
@@ -89,6 +89,12 @@ public class DelegatingModelControllerClient implements ModelControllerClient {
         return provider.getDelegate().executeOperation(operation, messageHandler);
     }
 
+    @Override
+    public void executeStreaming(Operation operation, OperationMessageHandler messageHandler, int depth,
+                                 ModelNodeStreamReader.Handler responseHandler) throws IOException {
+        provider.getDelegate().executeStreaming(operation, messageHandler, depth, responseHandler);
+    }
+
     @Override
     public AsyncFuture<ModelNode> executeAsync(ModelNode operation, OperationMessageHandler messageHandler) {
         return provider.getDelegate().executeAsync(operation, messageHandler);
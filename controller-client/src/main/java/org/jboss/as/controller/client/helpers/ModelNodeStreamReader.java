@@ -0,0 +1,222 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client.helpers;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+
+/**
+ * Reads a {@link ModelNode} one subtree at a time, so a large node such as the response to a recursive
+ * {@code read-resource} never has to be held in memory as a whole.
+ * <p>
+ * The node is split at a given depth: objects, lists and properties above that depth are not materialized, and
+ * each of their descendants at that depth (or leaf above it) is passed to a {@link Handler} along with its path
+ * from the root. The path of an object's child is its key, the path of a list element is its index and the path
+ * of a property's value is the property name. Empty objects and lists above the split depth are not reported.
+ * <p>
+ * For example, with a depth of 3 the response to a recursive {@code read-resource} of a server is passed to the
+ * handler as {@code [outcome]}, {@code [result, name]}, ..., {@code [result, subsystem, logging]}, ...
+ */
+public final class ModelNodeStreamReader {
+
+    /** The type markers of {@link ModelNode#writeExternal(java.io.DataOutput)} for the types we split */
+    private static final byte OBJECT = 'o';
+    private static final byte LIST = 'l';
+    private static final byte PROPERTY = 'p';
+
+    /**
+     * Receives the subtrees of a node.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * Handles a subtree.
+         *
+         * @param path the path of the subtree from the root. Only valid for the duration of the call
+         * @param node the subtree
+         * @throws IOException to stop reading
+         */
+        void handleNode(List<String> path, ModelNode node) throws IOException;
+    }
+
+    private ModelNodeStreamReader() {
+    }
+
+    /**
+     * Reads a node written by {@link ModelNode#writeExternal(java.io.DataOutput)}, passing its subtrees to a handler
+     * as they are read.
+     *
+     * @param input the input to read from
+     * @param depth the depth at which the node is split. {@code 0} passes the whole node to the handler
+     * @param handler the handler
+     * @throws IOException if the node cannot be read, or the handler failed
+     */
+    public static void read(final DataInput input, final int depth, final Handler handler) throws IOException {
+        read(input, new ArrayList<>(), depth, handler);
+    }
+
+    /**
+     * Passes the subtrees of a node that is already in memory to a handler, exactly as {@link #read(DataInput, int, Handler)}
+     * would if the node was read from a stream.
+     *
+     * @param node the node
+     * @param depth the depth at which the node is split. {@code 0} passes the whole node to the handler
+     * @param handler the handler
+     * @throws IOException if the handler failed
+     */
+    public static void visit(final ModelNode node, final int depth, final Handler handler) throws IOException {
+        visit(node, new ArrayList<>(), depth, handler);
+    }
+
+    private static void read(final DataInput input, final List<String> path, final int depth, final Handler handler) throws IOException {
+        final byte type = input.readByte();
+        if (depth > 0) {
+            switch (type) {
+                case OBJECT: {
+                    final int size = input.readInt();
+                    for (int i = 0; i < size; i++) {
+                        readChild(input, path, input.readUTF(), depth, handler);
+                    }
+                    return;
+                }
+                case LIST: {
+                    final int size = input.readInt();
+                    for (int i = 0; i < size; i++) {
+                        readChild(input, path, Integer.toString(i), depth, handler);
+                    }
+                    return;
+                }
+                case PROPERTY: {
+                    readChild(input, path, input.readUTF(), depth, handler);
+                    return;
+                }
+            }
+        }
+        final ModelNode node = new ModelNode();
+        node.readExternal(new DataInputStream(new TypedInputStream(type, input)));
+        handler.handleNode(Collections.unmodifiableList(path), node);
+    }
+
+    private static void readChild(final DataInput input, final List<String> path, final String name, final int depth, final Handler handler) throws IOException {
+        path.add(name);
+        read(input, path, depth - 1, handler);
+        path.remove(path.size() - 1);
+    }
+
+    private static void visit(final ModelNode node, final List<String> path, final int depth, final Handler handler) throws IOException {
+        if (depth > 0) {
+            switch (node.getType()) {
+                case OBJECT: {
+                    for (String key : node.keys()) {
+                        visitChild(node.get(key), path, key, depth, handler);
+                    }
+                    return;
+                }
+                case LIST: {
+                    int i = 0;
+                    for (ModelNode element : node.asList()) {
+                        visitChild(element, path, Integer.toString(i++), depth, handler);
+                    }
+                    return;
+                }
+                case PROPERTY: {
+                    final Property property = node.asProperty();
+                    visitChild(property.getValue(), path, property.getName(), depth, handler);
+                    return;
+                }
+            }
+        }
+        handler.handleNode(Collections.unmodifiableList(path), node);
+    }
+
+    private static void visitChild(final ModelNode node, final List<String> path, final String name, final int depth, final Handler handler) throws IOException {
+        path.add(name);
+        visit(node, path, depth - 1, handler);
+        path.remove(path.size() - 1);
+    }
+
+    /**
+     * The type marker we already consumed, followed by the rest of the input, for {@link ModelNode#readExternal(DataInput)}
+     * to read through a {@link DataInputStream}.
+     */
+    private static final class TypedInputStream extends InputStream {
+        private final byte type;
+        private final DataInput delegate;
+        private boolean typeRead;
+
+        private TypedInputStream(final byte type, final DataInput delegate) {
+            this.type = type;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!typeRead) {
+                typeRead = true;
+                return type & 0xff;
+            }
+            try {
+                return delegate.readUnsignedByte();
+            } catch (EOFException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!typeRead) {
+                typeRead = true;
+                b[off] = type;
+                return 1;
+            }
+            // DataInputStream only asks for as many bytes as it needs, so they are read fully
+            delegate.readFully(b, off, len);
+            return len;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            if (n <= 0) {
+                return 0;
+            }
+            if (!typeRead) {
+                typeRead = true;
+                return 1 + delegate.skipBytes((int) Math.min(n - 1, Integer.MAX_VALUE));
+            }
+            return delegate.skipBytes((int) Math.min(n, Integer.MAX_VALUE));
+        }
+    }
+}
@@ -25,9 +25,11 @@ import static org.jboss.as.protocol.mgmt.ProtocolUtils.expectHeader;
 import java.io.DataInput;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import org.jboss.as.controller.client.MessageSeverity;
 import org.jboss.as.controller.client.ModelControllerClient;
@@ -35,6 +37,7 @@ import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.client.OperationMessageHandler;
 import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.client.helpers.ModelNodeStreamReader;
 import org.jboss.as.protocol.StreamUtils;
 import org.jboss.as.protocol.mgmt.AbstractManagementRequest;
 import org.jboss.as.protocol.mgmt.ActiveOperation;
@@ -48,6 +51,7 @@ import org.jboss.as.protocol.mgmt.ManagementRequestHandlerFactory;
 import org.jboss.as.protocol.mgmt.ManagementRequestHeader;
 import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.jboss.threads.AsyncFuture;
 
 
@@ -95,6 +99,71 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
         return executeForResult(OperationExecutionContext.create(operation, messageHandler));
     }
 
+    @Override
+    public void executeStreaming(final Operation operation, final OperationMessageHandler messageHandler, final int depth,
+                                 final ModelNodeStreamReader.Handler responseHandler) throws IOException {
+        final OperationExecutionContext executionContext = OperationExecutionContext.create(operation, messageHandler);
+        final AsyncFuture<OperationResponse> future = executeRequest(new ExecuteRequest(executionContext) {
+            @Override
+            protected OperationResponse readResponse(final DataInput input, final int operationId) throws IOException {
+                // Keep the attached streams header, so the streams the server holds for the response can be closed
+                final ModelNode attachedStreams = new ModelNode();
+                ModelNodeStreamReader.read(input, depth, (path, node) -> {
+                    collectAttachedStreams(path, node, attachedStreams);
+                    responseHandler.handleNode(path, node);
+                });
+                final ModelNode response = new ModelNode();
+                if (attachedStreams.isDefined()) {
+                    response.get(RESPONSE_HEADERS, ATTACHED_STREAMS).set(attachedStreams);
+                }
+                return getOperationResponse(response, operationId);
+            }
+        }, executionContext);
+        final OperationResponse response;
+        try {
+            response = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.asyncCancel(true);
+            final InterruptedIOException cause = new InterruptedIOException(e.getLocalizedMessage());
+            cause.initCause(e);
+            throw cause;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        StreamUtils.safeClose(response);
+    }
+
+    /**
+     * Adds the {@code attached-streams} response header to the given list if a subtree passed to a
+     * {@link ModelNodeStreamReader.Handler} contains it, or is one of its elements.
+     */
+    private static void collectAttachedStreams(final List<String> path, final ModelNode node, final ModelNode attachedStreams) {
+        if (path.size() > 2) {
+            if (RESPONSE_HEADERS.equals(path.get(0)) && ATTACHED_STREAMS.equals(path.get(1))) {
+                attachedStreams.add(node);
+            }
+            return;
+        }
+        final String[] header = {RESPONSE_HEADERS, ATTACHED_STREAMS};
+        for (int i = 0; i < path.size(); i++) {
+            if (!header[i].equals(path.get(i))) {
+                return;
+            }
+        }
+        ModelNode streams = node;
+        for (int i = path.size(); i < header.length; i++) {
+            if (streams.getType() != ModelType.OBJECT || !streams.hasDefined(header[i])) {
+                return;
+            }
+            streams = streams.get(header[i]);
+        }
+        attachedStreams.set(streams);
+    }
+
     @Override
     public AsyncFuture<ModelNode> executeAsync(final ModelNode operation, final OperationMessageHandler messageHandler) {
         try {
@@ -165,39 +234,54 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
      * @throws IOException
      */
     private AsyncFuture<OperationResponse> execute(final OperationExecutionContext executionContext) throws IOException {
-        return executeRequest(new AbstractManagementRequest<OperationResponse, OperationExecutionContext>() {
+        return executeRequest(new ExecuteRequest(executionContext), executionContext);
+    }
 
-            @Override
-            public byte getOperationType() {
-                return ModelControllerProtocol.EXECUTE_ASYNC_CLIENT_REQUEST;
-            }
+    /**
+     * Request executing an operation.
+     */
+    private class ExecuteRequest extends AbstractManagementRequest<OperationResponse, OperationExecutionContext> {
 
-            @Override
-            protected void sendRequest(final ActiveOperation.ResultHandler<OperationResponse> resultHandler,
-                                       final ManagementRequestContext<OperationExecutionContext> context,
-                                       final FlushableDataOutput output) throws IOException {
-                // Write the operation
-                final List<InputStream> streams = executionContext.operation.getInputStreams();
-                final ModelNode operation = executionContext.operation.getOperation();
-                int inputStreamLength = 0;
-                if (streams != null) {
-                    inputStreamLength = streams.size();
-                }
-                output.write(ModelControllerProtocol.PARAM_OPERATION);
-                operation.writeExternal(output);
-                output.write(ModelControllerProtocol.PARAM_INPUTSTREAMS_LENGTH);
-                output.writeInt(inputStreamLength);
-            }
+        private final OperationExecutionContext executionContext;
 
-            @Override
-            public void handleRequest(final DataInput input, final ActiveOperation.ResultHandler<OperationResponse> resultHandler, final ManagementRequestContext<OperationExecutionContext> context) throws IOException {
-                expectHeader(input, ModelControllerProtocol.PARAM_RESPONSE);
-                final ModelNode node = new ModelNode();
-                node.readExternal(input);
-                resultHandler.done(getOperationResponse(node, context.getOperationId()));
-                expectHeader(input, ManagementProtocol.RESPONSE_END);
+        private ExecuteRequest(final OperationExecutionContext executionContext) {
+            this.executionContext = executionContext;
+        }
+
+        @Override
+        public byte getOperationType() {
+            return ModelControllerProtocol.EXECUTE_ASYNC_CLIENT_REQUEST;
+        }
+
+        @Override
+        protected void sendRequest(final ActiveOperation.ResultHandler<OperationResponse> resultHandler,
+                                   final ManagementRequestContext<OperationExecutionContext> context,
+                                   final FlushableDataOutput output) throws IOException {
+            // Write the operation
+            final List<InputStream> streams = executionContext.operation.getInputStreams();
+            final ModelNode operation = executionContext.operation.getOperation();
+            int inputStreamLength = 0;
+            if (streams != null) {
+                inputStreamLength = streams.size();
             }
-        }, executionContext);
+            output.write(ModelControllerProtocol.PARAM_OPERATION);
+            operation.writeExternal(output);
+            output.write(ModelControllerProtocol.PARAM_INPUTSTREAMS_LENGTH);
+            output.writeInt(inputStreamLength);
+        }
+
+        @Override
+        public void handleRequest(final DataInput input, final ActiveOperation.ResultHandler<OperationResponse> resultHandler, final ManagementRequestContext<OperationExecutionContext> context) throws IOException {
+            expectHeader(input, ModelControllerProtocol.PARAM_RESPONSE);
+            resultHandler.done(readResponse(input, context.getOperationId()));
+            expectHeader(input, ManagementProtocol.RESPONSE_END);
+        }
+
+        protected OperationResponse readResponse(final DataInput input, final int operationId) throws IOException {
+            final ModelNode node = new ModelNode();
+            node.readExternal(input);
+            return getOperationResponse(node, operationId);
+        }
     }
 
     private static class ReadAttachmentInputStreamRequestHandler implements ManagementRequestHandler<ModelNode, OperationExecutionContext> {
@@ -197,6 +197,7 @@ public class OperationResponseProxy implements OperationResponse {
                     try {
                         // Loop reading chunk until we get an end message
                         IOException pipeWriteException = null;
+                        final byte[] buffer = new byte[BUFFER_SIZE];
                         for (;;) {
                             byte header = input.readByte();
                             if (header == ModelControllerProtocol.PARAM_END) {
@@ -206,7 +207,6 @@ public class OperationResponseProxy implements OperationResponse {
                             ProtocolUtils.expectHeader(header, ModelControllerProtocol.PARAM_INPUTSTREAM_LENGTH);
                             int size = input.readInt();
                             ProtocolUtils.expectHeader(input, ModelControllerProtocol.PARAM_INPUTSTREAM_CONTENTS);
-                            final byte[] buffer = new byte[BUFFER_SIZE];
                             int totalRead = 0;
                             while (totalRead < size) {
                                 int len = Math.min(size - totalRead, buffer.length);
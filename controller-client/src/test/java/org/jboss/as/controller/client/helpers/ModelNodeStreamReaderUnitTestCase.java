@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.client.helpers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ModelNodeStreamReader}.
+ */
+public class ModelNodeStreamReaderUnitTestCase {
+
+    @Test
+    public void testReadMatchesVisit() throws IOException {
+        final ModelNode node = createResponse();
+        for (int depth = 0; depth < 6; depth++) {
+            Assert.assertEquals("depth " + depth, visit(node, depth), read(node, depth));
+        }
+    }
+
+    @Test
+    public void testSplitAtDepth() throws IOException {
+        final List<String> parts = read(createResponse(), 3);
+        Assert.assertEquals(Arrays.asList("outcome", "result.name", "result.subsystem.logging", "result.subsystem.io",
+                "result.list.0", "result.list.1", "result.property.key", "result.values.0", "result.values.1",
+                "result.values.2", "result.values.3", "result.values.4", "result.values.5", "result.values.6",
+                "result.values.7", "result.values.8", "result.values.9", "response-headers.process-state"),
+                names(parts));
+    }
+
+    @Test
+    public void testReassemble() throws IOException {
+        final ModelNode node = createResponse();
+        final ModelNode reassembled = new ModelNode();
+        ModelNodeStreamReader.read(new DataInputStream(new ByteArrayInputStream(write(node))), 2, (path, part) -> {
+            ModelNode target = reassembled;
+            for (String element : path) {
+                target = target.get(element);
+            }
+            target.set(part);
+        });
+        Assert.assertEquals(node, reassembled);
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        final byte[] bytes = write(createResponse());
+        for (int depth = 0; depth < 3; depth++) {
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 3)));
+            try {
+                ModelNodeStreamReader.read(in, depth, (path, part) -> { });
+                Assert.fail("depth " + depth);
+            } catch (EOFException expected) {
+                // the input ended within the node
+            }
+        }
+    }
+
+    private static ModelNode createResponse() {
+        final ModelNode node = new ModelNode();
+        node.get("outcome").set("success");
+        final ModelNode result = node.get("result");
+        result.get("name").set("server");
+        result.get("subsystem", "logging", "level").set("INFO");
+        result.get("subsystem", "logging", "handlers").add("CONSOLE").add("FILE");
+        result.get("subsystem", "io", "worker", "default", "io-threads").set(4);
+        result.get("list").add(1L).add(true);
+        result.get("property").set("key", new ModelNode(new BigDecimal("1.5")));
+        result.get("empty-object").setEmptyObject();
+        result.get("empty-list").setEmptyList();
+        final ModelNode values = result.get("values");
+        values.add(1);
+        values.add(2L);
+        values.add(3.5d);
+        values.add().set(new BigInteger("12345678901234567890"));
+        values.add().set(new byte[] {1, 2, 3});
+        values.add().set(new ValueExpression("${foo:bar}"));
+        values.add().set(ModelType.STRING);
+        values.add(false);
+        values.add(new ModelNode());
+        values.add("a string");
+        node.get("response-headers", "process-state").set("reload-required");
+        return node;
+    }
+
+    private static byte[] write(final ModelNode node) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            node.writeExternal(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<String> read(final ModelNode node, final int depth) throws IOException {
+        final List<String> parts = new ArrayList<>();
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(write(node)));
+        ModelNodeStreamReader.read(in, depth, (path, part) -> parts.add(path + "=" + part.toJSONString(true)));
+        Assert.assertEquals(-1, in.read());
+        return parts;
+    }
+
+    private static List<String> visit(final ModelNode node, final int depth) throws IOException {
+        final List<String> parts = new ArrayList<>();
+        ModelNodeStreamReader.visit(node, depth, (path, part) -> parts.add(path + "=" + part.toJSONString(true)));
+        return parts;
+    }
+
+    private static List<String> names(final List<String> parts) {
+        final List<String> names = new ArrayList<>();
+        for (String part : parts) {
+            names.add(part.substring(1, part.indexOf(']')).replace(", ", "."));
+        }
+        return names;
+    }
+}
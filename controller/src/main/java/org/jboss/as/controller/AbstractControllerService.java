@@ -680,7 +680,11 @@ public abstract class AbstractControllerService implements Service<ModelControll
                     try {
                         authorizer.shutdown();
                     } finally {
-                        context.complete();
+                        try {
+                            auditLogger.stopAsyncWriter();
+                        } finally {
+                            context.complete();
+                        }
                     }
                 }
             }
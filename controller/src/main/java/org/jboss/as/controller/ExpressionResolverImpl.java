@@ -21,13 +21,17 @@
 */
 package org.jboss.as.controller;
 
+import java.util.Map;
+import java.util.Objects;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
 import org.jboss.dmr.ValueExpression;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Basic {@link ExpressionResolver} implementation.
@@ -40,6 +44,21 @@ public class ExpressionResolverImpl implements ExpressionResolver {
     private static final int GOT_DOLLAR = 1;
     private static final int GOT_OPEN_BRACE = 2;
 
+    /**
+     * System property setting the maximum number of standard expressions whose resolution is remembered. Setting it
+     * to {@code 0} disables the cache.
+     */
+    static final String CACHE_SIZE_PROPERTY = "org.jboss.as.controller.expression-cache-size";
+
+    private static final int CACHE_SIZE = SystemPropertyUtil.getInt(CACHE_SIZE_PROPERTY, 4096, 0);
+
+    /**
+     * Standard resolutions of expressions, keyed by expression string. Standard resolution only depends on system
+     * properties and environment variables, so the cache is shared by all resolvers. Environment variables cannot
+     * change, and a cached resolution is only used if none of the system properties it read have changed since.
+     */
+    private static final Map<String, StandardResolution> STANDARD_RESOLUTIONS = new ConcurrentHashMap<>();
+
     private final boolean lenient;
 
     /**
@@ -349,7 +368,7 @@ public class ExpressionResolverImpl implements ExpressionResolver {
 
         if (resolveNode.getType() == ModelType.EXPRESSION ) {
             // resolvePluggableExpression did nothing. Try standard resolution
-            String resolvedString = resolveStandardExpression(resolveNode);
+            String resolvedString = resolveStandardExpression(unresolvedString, resolveNode);
             if (!unresolvedString.equals(resolvedString)) {
                 // resolveStandardExpression made progress
                 result = resolvedString;
@@ -362,6 +381,63 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         return result;
     }
 
+    /**
+     * Perform a standard resolution of the given {@code unresolved} node, reusing the previous resolution of the same
+     * expression if the system properties it depends on have not changed since.
+     * <p>
+     * Only standard resolution is remembered. Resolver extensions, such as credential store lookups, are consulted
+     * on every resolution, as neither the secrets they return nor their dependencies can be tracked here.
+     *
+     * @param expression the expression string of {@code unresolved}
+     * @param unresolved the unresolved node, which should be of type {@link org.jboss.dmr.ModelType#EXPRESSION}
+     * @return the resolved string, or {@code expression} if it cannot be resolved
+     */
+    private static String resolveStandardExpression(final String expression, final ModelNode unresolved) {
+        // With a security manager, resolution has to check the caller's permissions to read the properties every time
+        if (CACHE_SIZE <= 0 || WildFlySecurityManager.isChecking()) {
+            return resolveStandardExpression(unresolved);
+        }
+        final StandardResolution cached = STANDARD_RESOLUTIONS.get(expression);
+        if (cached != null && cached.isCurrent()) {
+            return cached.result;
+        }
+        final String[] properties = getPropertyNames(expression);
+        if (properties == null) {
+            return resolveStandardExpression(unresolved);
+        }
+        // Read the properties before resolving, so a concurrent change cannot be missed by the next isCurrent()
+        final String[] values = new String[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            values[i] = System.getProperty(properties[i]);
+        }
+        final String result = resolveStandardExpression(unresolved);
+        if (STANDARD_RESOLUTIONS.size() >= CACHE_SIZE) {
+            STANDARD_RESOLUTIONS.clear();
+        }
+        STANDARD_RESOLUTIONS.put(expression, new StandardResolution(result, properties, values));
+        return result;
+    }
+
+    /**
+     * Gets the names of the properties a simple {@code ${name1,name2:default}} expression reads.
+     *
+     * @return the names, or {@code null} if the expression is nested or otherwise too complex to track
+     */
+    private static String[] getPropertyNames(final String expression) {
+        final String content = expression.substring(2, expression.length() - 1);
+        if (content.indexOf('$') >= 0 || content.indexOf('{') >= 0 || content.indexOf('}') >= 0) {
+            return null;
+        }
+        final int colon = content.indexOf(':');
+        final String[] names = (colon < 0 ? content : content.substring(0, colon)).split(",", -1);
+        for (String name : names) {
+            if (name.isEmpty() || !name.trim().equals(name)) {
+                return null;
+            }
+        }
+        return names;
+    }
+
     /**
      * Perform a standard {@link org.jboss.dmr.ModelNode#resolve()} on the given {@code unresolved} node.
      * @param unresolved  the unresolved node, which should be of type {@link org.jboss.dmr.ModelType#EXPRESSION}
@@ -476,6 +552,27 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    private static final class StandardResolution {
+        private final String result;
+        private final String[] properties;
+        private final String[] values;
+
+        private StandardResolution(String result, String[] properties, String[] values) {
+            this.result = result;
+            this.properties = properties;
+            this.values = values;
+        }
+
+        private boolean isCurrent() {
+            for (int i = 0; i < properties.length; i++) {
+                if (!Objects.equals(System.getProperty(properties[i]), values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     private static class OpenExpression {
         private final int startIndex;
         private int endIndex = -1;
@@ -86,6 +86,7 @@ import org.jboss.as.controller.operations.global.ReadResourceHandler;
 import org.jboss.as.controller.persistence.ConfigurationExtension;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
+import org.jboss.as.controller.registry.AbstractModelResource;
 import org.jboss.as.controller.registry.DelegatingResource;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -423,9 +424,13 @@ class ModelControllerImpl implements ModelController {
             responseStreams = null;
             // Create a random operation-id
             final Integer operationID = random.nextInt();
+            // Read-only operations work against the model published when they start, so all their
+            // steps see the same model even if a concurrent writer commits in the meantime
+            final ManagementModelImpl model = !forBoot && isReadOnlyOperation(operation)
+                    ? managementModel.get().createReadSnapshot() : managementModel.get();
             final OperationContextImpl context = new OperationContextImpl(operationID, operation.get(OP).asString(),
                     operation.get(OP_ADDR), this, processType, runningModeControl.getRunningMode(),
-                    headers, handler, attachments, managementModel.get(), originalResultTxControl, processState, auditLogger,
+                    headers, handler, attachments, model, originalResultTxControl, processState, auditLogger,
                     bootingFlag.get(), forBoot, hostServerGroupTracker, accessContext, notificationSupport,
                     false, extraValidationStepHandler, partialModel, securityIdentitySupplier);
             // Try again if the operation-id is already taken
@@ -1172,15 +1177,26 @@ class ModelControllerImpl implements ModelController {
         // The capability registry
         private final CapabilityRegistry capabilityRegistry;
 
+        // Whether we are a read-only view pinned to a previously published root Resource
+        private final boolean snapshot;
+
         private volatile boolean published;
 
         ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
                             final Resource rootResource,
                             final CapabilityRegistry capabilityRegistry) {
+            this(resourceRegistration, rootResource, capabilityRegistry, false);
+        }
+
+        private ManagementModelImpl(final ManagementResourceRegistration resourceRegistration,
+                                    final Resource rootResource,
+                                    final CapabilityRegistry capabilityRegistry,
+                                    final boolean snapshot) {
             this.resourceRegistration = resourceRegistration;
             this.rootResource = rootResource;
             assert capabilityRegistry != null;
             this.capabilityRegistry = capabilityRegistry;
+            this.snapshot = snapshot;
             // What we expose depends on the state of our 'published' field. If 'true' we've been published
             // to the ModelController, and from then on callers should get whatever the MC has as current.
             // If 'false' we haven't been published; we are a local copy created by some OperationContext,
@@ -1200,7 +1216,8 @@ class ModelControllerImpl implements ModelController {
 //                }
 //            });
             this.delegatingResourceRegistration = resourceRegistration;
-            this.delegatingResource = new DelegatingResource(new DelegatingResource.ResourceDelegateProvider() {
+            // A snapshot is never modified or published, so callers can see the pinned root directly
+            this.delegatingResource = snapshot ? rootResource : new DelegatingResource(new DelegatingResource.ResourceDelegateProvider() {
                 @Override
                 public Resource getDelegateResource() {
                     Resource result;
@@ -1273,9 +1290,10 @@ class ModelControllerImpl implements ModelController {
             ManagementResourceRegistration mrr;
             Resource currentResource;
             CapabilityRegistry currentCaps;
-            if (published) {
+            if (published || snapshot) {
                 // This is the first clone since this was published. Use the current stuff as the basis
                 // to ensure that the clone is based on the latest even if we are not the latest.
+                // A snapshot may be stale by now, so it is handled the same way
                 ManagementModelImpl currentPublished = ModelControllerImpl.this.managementModel.get();
                 mrr = currentPublished.resourceRegistration;
                 currentResource = currentPublished.rootResource;
@@ -1293,6 +1311,25 @@ class ModelControllerImpl implements ModelController {
             return result;
         }
 
+        /**
+         * Creates a new {@code ManagementModelImpl} that is pinned to the root {@link Resource} currently published
+         * to the {@code ModelController}. Writers never modify a published root {@code Resource}; they
+         * {@link #cloneRootResource() clone} it and publish the clone, so reads from the snapshot never see a mix
+         * of data from before and after a concurrent commit.
+         * <p>
+         * If the caller turns out to need to modify the model, {@link #cloneRootResource()} on the snapshot
+         * is based on the latest published model, not on the pinned root.
+         *
+         * @return the snapshot. Will not return {@code null}
+         */
+        ManagementModelImpl createReadSnapshot() {
+            ManagementModelImpl current = published ? ModelControllerImpl.this.managementModel.get() : this;
+            ManagementModelImpl result = new ManagementModelImpl(current.resourceRegistration, current.rootResource,
+                    current.capabilityRegistry, true);
+            ControllerLogger.MGMT_OP_LOGGER.tracef("created read snapshot %s of %s", result, current.rootResource);
+            return result;
+        }
+
         /**
          * Compares the registered requirements to the registered capabilities, returning any missing
          * or inconsistent requirements.
@@ -1304,7 +1341,7 @@ class ModelControllerImpl implements ModelController {
          * @return a validation result object. Will not return {@code null}
          */
       CapabilityRegistry.CapabilityValidation validateCapabilityRegistry(boolean forceCheck, boolean hostXmlOnly) {
-          if (!published || capabilityRegistry.isModified() || forceCheck) {
+          if ((!published && !snapshot) || capabilityRegistry.isModified() || forceCheck) {
                 return capabilityRegistry.resolveCapabilities(getRootResource(), hostXmlOnly);
             } else {
                 // we're unmodified so nothing to validate
@@ -1312,6 +1349,8 @@ class ModelControllerImpl implements ModelController {
             }
         }
         private void publish() {
+            // Let later clones share everything we hand out to readers from now on
+            AbstractModelResource.freeze(rootResource);
             ModelControllerImpl.this.managementModel.set(this);
             published = true;
             ControllerLogger.MGMT_OP_LOGGER.tracef("published %s", this);
@@ -98,6 +98,7 @@ import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
 import org.jboss.as.controller.operations.global.ReadResourceHandler;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
+import org.jboss.as.controller.registry.AbstractModelResource;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.DelegatingImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
@@ -995,8 +996,9 @@ final class OperationContextImpl extends AbstractOperationContext {
             if (element.isMultiTarget()) {
                 throw ControllerLogger.ROOT_LOGGER.cannotWriteTo("*");
             }
-            resource = requireChild(resource, element, address);
+            resource = requireChildForUpdate(resource, element, address);
         }
+        AbstractModelResource.openForUpdate(resource);
         return resource;
     }
 
@@ -1095,7 +1097,7 @@ final class OperationContextImpl extends AbstractOperationContext {
                     model = toAdd;
                 }
             } else {
-                model = model.getChild(element);
+                model = AbstractModelResource.getChildForUpdate(model, element);
                 if (model == null) {
                     PathAddress ancestor = PathAddress.EMPTY_ADDRESS;
                     for (PathElement pe : absoluteAddress) {
@@ -1143,7 +1145,7 @@ final class OperationContextImpl extends AbstractOperationContext {
             if (!i.hasNext()) {
                 model = model.removeChild(element);
             } else {
-                model = requireChild(model, element, address);
+                model = requireChildForUpdate(model, element, address);
             }
         }
 
@@ -1283,15 +1285,28 @@ final class OperationContextImpl extends AbstractOperationContext {
         if (resource.hasChild(childPath)) {
             return resource.requireChild(childPath);
         } else {
-            PathAddress missing = PathAddress.EMPTY_ADDRESS;
-            for (PathElement search : fullAddress) {
-                missing = missing.append(search);
-                if (search.equals(childPath)) {
-                    break;
-                }
+            throw missingChild(childPath, fullAddress);
+        }
+    }
+
+    /** Like {@link #requireChild}, but replaces a child shared with the published model by a private copy first. */
+    private static Resource requireChildForUpdate(final Resource resource, final PathElement childPath, final PathAddress fullAddress) {
+        final Resource child = resource.hasChild(childPath) ? AbstractModelResource.getChildForUpdate(resource, childPath) : null;
+        if (child == null) {
+            throw missingChild(childPath, fullAddress);
+        }
+        return child;
+    }
+
+    private static Resource.NoSuchResourceException missingChild(final PathElement childPath, final PathAddress fullAddress) {
+        PathAddress missing = PathAddress.EMPTY_ADDRESS;
+        for (PathElement search : fullAddress) {
+            missing = missing.append(search);
+            if (search.equals(childPath)) {
+                break;
             }
-            throw ControllerLogger.ROOT_LOGGER.managementResourceNotFound(missing);
         }
+        return ControllerLogger.ROOT_LOGGER.managementResourceNotFound(missing);
     }
 
     @Override
@@ -1916,7 +1931,7 @@ final class OperationContextImpl extends AbstractOperationContext {
                     model.registerChild(entry.getPathElement(), entry);
                 }
             } else {
-                model = model.getChild(element);
+                model = AbstractModelResource.getChildForUpdate(model, element);
                 if (model == null) {
                     return Resource.Factory.create();
                 }
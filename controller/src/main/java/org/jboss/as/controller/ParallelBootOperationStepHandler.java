@@ -285,20 +285,30 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
                 final Map<String, ParallelBootTransactionControl> transactionControls = new LinkedHashMap<String, ParallelBootTransactionControl>();
 
-                final CountDownLatch preparedLatch = new CountDownLatch(runtimeOpsBySubsystem.size());
+                // Subsystems without runtime ops have nothing to do, so don't tie up a thread for them until the
+                // boot op commits
+                final Map<String, List<ParsedBootOp>> subsystemRuntimeOps = new LinkedHashMap<String, List<ParsedBootOp>>();
+                for (Map.Entry<String, List<ParsedBootOp>> entry : runtimeOpsBySubsystem.entrySet()) {
+                    if (!entry.getValue().isEmpty()) {
+                        subsystemRuntimeOps.put(entry.getKey(), entry.getValue());
+                    }
+                }
+
+                final CountDownLatch preparedLatch = new CountDownLatch(subsystemRuntimeOps.size());
                 final CountDownLatch committedLatch = new CountDownLatch(1);
-                final CountDownLatch completeLatch = new CountDownLatch(runtimeOpsBySubsystem.size());
+                final CountDownLatch completeLatch = new CountDownLatch(subsystemRuntimeOps.size());
 
-                for (Map.Entry<String, List<ParsedBootOp>> entry : runtimeOpsBySubsystem.entrySet()) {
+                for (Map.Entry<String, List<ParsedBootOp>> entry : subsystemRuntimeOps.entrySet()) {
                     String subsystemName = entry.getKey();
                     final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(preparedLatch, committedLatch, completeLatch);
                     transactionControls.put(subsystemName, txControl);
 
-                    // Execute the subsystem's ops in another thread
+                    // Execute the subsystem's ops in another thread. Each subsystem's runtime ops run concurrently
+                    // with those of the others; there is no need to order them by capability requirements, as the
+                    // requirements were resolved at the end of Stage.MODEL and MSC orders the start of the installed
+                    // services by their dependencies, whatever order they were installed in.
                     List<ParsedBootOp> bootOps = entry.getValue();
-                    ParallelBootOperationContext pboc = bootOps.isEmpty()
-                        ? null
-                        : createOperationContext(primaryContext, bootSecurityDomain, txControl, null);
+                    ParallelBootOperationContext pboc = createOperationContext(primaryContext, bootSecurityDomain, txControl, null);
                     ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.RUNTIME, txControl, pboc);
                     executor.execute(subsystemTask);
                 }
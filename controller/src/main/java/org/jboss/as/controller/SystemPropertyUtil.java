@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.controller;
+
+import java.util.Locale;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Reads tuning settings from system properties. A value that cannot be parsed or is out of range is logged and the
+ * default value is used instead, so a mistyped property does not keep a class from initializing.
+ */
+public final class SystemPropertyUtil {
+
+    private SystemPropertyUtil() {
+    }
+
+    /**
+     * Gets the value of a system property as an {@code int}.
+     *
+     * @param name the name of the property
+     * @param defaultValue the value to use if the property is not set or invalid
+     * @param minimum the smallest valid value
+     * @return the value
+     */
+    public static int getInt(final String name, final int defaultValue, final int minimum) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                final int result = Integer.parseInt(value.trim());
+                if (result >= minimum) {
+                    return result;
+                }
+            } catch (NumberFormatException e) {
+                // logged below
+            }
+            ControllerLogger.ROOT_LOGGER.invalidSystemProperty(value, name, defaultValue);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Gets the value of a system property as a {@code long}.
+     *
+     * @param name the name of the property
+     * @param defaultValue the value to use if the property is not set or invalid
+     * @param minimum the smallest valid value
+     * @return the value
+     */
+    public static long getLong(final String name, final long defaultValue, final long minimum) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                final long result = Long.parseLong(value.trim());
+                if (result >= minimum) {
+                    return result;
+                }
+            } catch (NumberFormatException e) {
+                // logged below
+            }
+            ControllerLogger.ROOT_LOGGER.invalidSystemProperty(value, name, defaultValue);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Gets the value of a system property as a constant of an enum, ignoring case.
+     *
+     * @param name the name of the property
+     * @param defaultValue the value to use if the property is not set or invalid. Cannot be {@code null}
+     * @return the value
+     */
+    public static <E extends Enum<E>> E getEnum(final String name, final E defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                return Enum.valueOf(defaultValue.getDeclaringClass(), value.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                ControllerLogger.ROOT_LOGGER.invalidSystemProperty(value, name, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.audit;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.controller.SystemPropertyUtil;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Writes formatted audit log items to their handlers from a dedicated thread, so management operations do
+ * not wait for the handlers' I/O.
+ * <p>
+ * Items are formatted by the caller, with {@link ManagedAuditLoggerImpl}'s lock held, and put in a bounded queue.
+ * The writer thread takes whatever has been queued, groups it per handler and hands each handler its items in
+ * one call, so a file handler only syncs once per batch. The writer thread does not take
+ * {@link ManagedAuditLoggerImpl}'s lock, so a slow handler does not hold up the operations logging items. Instead,
+ * queued items are only taken and written with this writer's own lock held; callers holding
+ * {@link ManagedAuditLoggerImpl}'s lock can {@link #flush() flush} the queue before reading or reconfiguring the
+ * handlers and know the writer is not using them until they release it, as no item can be queued meanwhile.
+ */
+final class AsyncAuditLogWriter {
+
+    /** System property that can be set to {@code true} to write audit log items asynchronously. */
+    static final String ENABLED_PROPERTY = "org.jboss.as.controller.audit.async";
+
+    /** System property setting the maximum number of items waiting to be written. */
+    static final String QUEUE_SIZE_PROPERTY = "org.jboss.as.controller.audit.async.queue-size";
+
+    /** System property setting the {@link OverflowPolicy} used when the queue is full. */
+    static final String OVERFLOW_POLICY_PROPERTY = "org.jboss.as.controller.audit.async.overflow-policy";
+
+    /** The maximum number of items written by one batch */
+    private static final int MAX_BATCH_SIZE = 256;
+
+    /** How long {@link #stop()} waits for the writer thread to finish its batch */
+    private static final long STOP_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    private static final ThreadFactory THREAD_FACTORY = doPrivileged(new PrivilegedAction<ThreadFactory>() {
+        public ThreadFactory run() {
+            return new JBossThreadFactory(new ThreadGroup("management-audit-log-writer"), Boolean.TRUE, null, "%G - %t", null, null);
+        }
+    });
+
+    /**
+     * What to do with an item when the queue is full.
+     */
+    enum OverflowPolicy {
+        /** Wait for the writer thread to make room in the queue */
+        BLOCK,
+        /** Discard the item, counting it in {@link #getDroppedCount()} */
+        DROP,
+        /** Write the queued items and the item on the calling thread */
+        SYNC
+    }
+
+    /** Held while taking items from the queue and writing them */
+    private final Lock writeLock = new ReentrantLock();
+    private final BlockingQueue<Entry> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile boolean dropping;
+    private volatile int maxQueueDepth;
+    /** The running writer thread, guarded by this. A thread that is no longer this one finishes. */
+    private volatile Thread thread;
+
+    AsyncAuditLogWriter(final int queueSize, final OverflowPolicy overflowPolicy) {
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Creates a writer if asynchronous audit logging is enabled.
+     *
+     * @return the writer, or {@code null} if items should be written synchronously
+     */
+    static AsyncAuditLogWriter create() {
+        if (!Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "false"))) {
+            return null;
+        }
+        final int queueSize = SystemPropertyUtil.getInt(QUEUE_SIZE_PROPERTY, 1024, 1);
+        final OverflowPolicy overflowPolicy = SystemPropertyUtil.getEnum(OVERFLOW_POLICY_PROPERTY, OverflowPolicy.SYNC);
+        return new AsyncAuditLogWriter(queueSize, overflowPolicy);
+    }
+
+    /**
+     * Queues an item for writing. Call with {@link ManagedAuditLoggerImpl}'s lock taken.
+     *
+     * @param handlers the handlers to write the item to
+     * @param formattedItems the item as formatted by each of {@code handlers}
+     */
+    void write(final List<AuditLogHandler> handlers, final List<String> formattedItems) {
+        final Entry entry = new Entry(handlers, formattedItems);
+        final Thread thread = startThread();
+        if (queue.offer(entry)) {
+            queued(thread);
+        } else if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queue.put(entry);
+                queued(thread);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeNow(entry);
+            }
+        } else if (overflowPolicy == OverflowPolicy.DROP) {
+            final long dropped = droppedCount.incrementAndGet();
+            if (!dropping) {
+                dropping = true;
+                ControllerLogger.MGMT_OP_LOGGER.droppingAuditLogItems(dropped);
+            }
+        } else {
+            writeNow(entry);
+        }
+    }
+
+    private void queued(final Thread thread) {
+        // Callers hold ManagedAuditLoggerImpl's lock, so this does not race with itself
+        final int depth = queue.size();
+        if (depth > maxQueueDepth) {
+            maxQueueDepth = depth;
+        }
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Waits for the writer thread to finish the batch it is writing, and writes the rest of the queued items on the
+     * calling thread.
+     */
+    void flush() {
+        writeNow(null);
+    }
+
+    /**
+     * Stops the writer thread and writes what is still queued on the calling thread. Writing another item starts a
+     * new writer thread.
+     */
+    void stop() {
+        final Thread thread;
+        synchronized (this) {
+            thread = this.thread;
+            this.thread = null;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(STOP_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * @return the number of items waiting to be written
+     */
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return the highest number of items that have been waiting to be written
+     */
+    int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * @return the number of items that were discarded because the queue was full
+     */
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void writeNow(final Entry entry) {
+        writeLock.lock();
+        try {
+            final List<Entry> batch = new ArrayList<>();
+            queue.drainTo(batch);
+            if (entry != null) {
+                batch.add(entry);
+            }
+            writeBatch(batch);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private synchronized Thread startThread() {
+        Thread thread = this.thread;
+        if (thread == null) {
+            thread = THREAD_FACTORY.newThread(this::run);
+            this.thread = thread;
+            thread.start();
+        }
+        return thread;
+    }
+
+    private void run() {
+        final Thread current = Thread.currentThread();
+        final List<Entry> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (thread == current) {
+            if (queue.isEmpty()) {
+                // Wait for write() or stop() to unpark us; the timeout only guards against bugs
+                LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(1));
+                continue;
+            }
+            writeLock.lock();
+            try {
+                queue.drainTo(batch, MAX_BATCH_SIZE);
+                writeBatch(batch);
+            } catch (RuntimeException e) {
+                ControllerLogger.MGMT_OP_LOGGER.failedToUpdateAuditLog(e);
+            } finally {
+                writeLock.unlock();
+            }
+            batch.clear();
+        }
+    }
+
+    /** Call with {@link #writeLock} taken */
+    private void writeBatch(final List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final Map<AuditLogHandler, List<String>> perHandler = new LinkedHashMap<>();
+        for (Entry entry : batch) {
+            for (int i = 0; i < entry.handlers.size(); i++) {
+                perHandler.computeIfAbsent(entry.handlers.get(i), h -> new ArrayList<>()).add(entry.formattedItems.get(i));
+            }
+        }
+        for (Map.Entry<AuditLogHandler, List<String>> handlerItems : perHandler.entrySet()) {
+            handlerItems.getKey().writeFormattedLogItems(handlerItems.getValue());
+        }
+        dropping = false;
+    }
+
+    private static final class Entry {
+        private final List<AuditLogHandler> handlers;
+        private final List<String> formattedItems;
+
+        private Entry(final List<AuditLogHandler> handlers, final List<String> formattedItems) {
+            this.handlers = handlers;
+            this.formattedItems = formattedItems;
+        }
+    }
+}
@@ -42,7 +42,7 @@ abstract class AuditLogHandler {
     private volatile int maxFailureCount = 10;
 
     /** The number of consecutive failures writing to the log */
-    private int failureCount;
+    private volatile int failureCount;
 
 
     protected final String name;
@@ -88,6 +88,30 @@ abstract class AuditLogHandler {
         }
     }
 
+    /**
+     * Formats an item for {@link #writeFormattedLogItems(List)}. Like {@link #writeLogItem(AuditLogItem)} this must be
+     * called with {@link ManagedAuditLoggerImpl}'s lock taken, and the formatter cleared once all handlers have
+     * formatted the item.
+     */
+    String formatLogItem(AuditLogItem item) {
+        return item.format(formatter);
+    }
+
+    /**
+     * Writes a batch of items formatted by {@link #formatLogItem(AuditLogItem)}, counting the batch as one success
+     * or failure.
+     */
+    void writeFormattedLogItems(List<String> formattedItems) {
+        FailureCountHandler fch = getFailureCountHandler();
+        try {
+            initialize();
+            writeLogItems(formattedItems);
+            fch.success();
+        } catch (Throwable t) {
+            fch.failure(t);
+        }
+    }
+
     void recycle() {
         this.failureCount = 0;
         stop();
@@ -133,6 +157,16 @@ abstract class AuditLogHandler {
     abstract void stop();
     abstract void writeLogItem(String formattedItem) throws IOException;
 
+    /**
+     * Writes a batch of formatted items. Handlers that can write several items more cheaply than one by one
+     * should override this.
+     */
+    void writeLogItems(List<String> formattedItems) throws IOException {
+        for (String formattedItem : formattedItems) {
+            writeLogItem(formattedItem);
+        }
+    }
+
     List<ModelNode> listLastEntries() {
         return Collections.emptyList();
     }
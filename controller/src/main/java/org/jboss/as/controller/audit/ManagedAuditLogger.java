@@ -182,6 +182,40 @@ public interface ManagedAuditLogger extends AuditLogger {
      */
     boolean getHandlerDisabledDueToFailure(String name);
 
+    /**
+     * Writes the log items waiting to be written asynchronously and stops the thread writing them. Logging another
+     * item starts it again.
+     */
+    default void stopAsyncWriter() {
+    }
+
+    /**
+     * Get the number of log items waiting to be written, if items are written asynchronously
+     *
+     * @return the number of items, or {@code 0} if items are written synchronously
+     */
+    default int getAsyncQueueDepth() {
+        return 0;
+    }
+
+    /**
+     * Get the highest number of log items that have been waiting to be written, if items are written asynchronously
+     *
+     * @return the number of items, or {@code 0} if items are written synchronously
+     */
+    default int getAsyncMaxQueueDepth() {
+        return 0;
+    }
+
+    /**
+     * Get the number of log items that were dropped because too many were waiting to be written
+     *
+     * @return the number of dropped items
+     */
+    default long getAsyncDroppedCount() {
+        return 0;
+    }
+
     /**
      * Gets a formatter by its name
      *
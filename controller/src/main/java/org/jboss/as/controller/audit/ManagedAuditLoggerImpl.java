@@ -75,15 +75,20 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
       * Must be reset to false when handler updates need to be performed */
     private final AtomicBoolean runDisabledFastPath = new AtomicBoolean(false);
 
+    /** Writes the log items to the handlers if that should be done asynchronously, shared with the child loggers */
+    private final AsyncAuditLogWriter asyncWriter;
+
     public ManagedAuditLoggerImpl(String asVersion, boolean server) {
         config = new CoreAuditLogConfiguration(asVersion, server);
         childImpls = new ArrayList<ManagedAuditLoggerImpl>();
+        asyncWriter = AsyncAuditLogWriter.create();
     }
 
     private ManagedAuditLoggerImpl(ManagedAuditLoggerImpl src, boolean manualCommit) {
         assert src.config instanceof CoreAuditLogConfiguration : "Not an instance of CoreAuditLogConfiguration";
         config = new NewAuditLogConfiguration((CoreAuditLogConfiguration)src.config, manualCommit);
         childImpls = null;
+        asyncWriter = src.asyncWriter;
     }
 
     @Override
@@ -203,6 +208,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     public void recycleHandler(String name) {
         config.lock();
         try {
+            flushAsyncWrites();
             config.recycleHandler(name);
         } finally {
             config.unlock();
@@ -218,6 +224,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             if (newStatus == Status.DISABLE_NEXT && config.getLoggerStatus() == Status.DISABLED) {
                 return;
             }
+            flushAsyncWrites();
             config.setLoggerStatus(newStatus);
             if (newStatus == Status.LOGGING){
                 for (AuditLogItem record : queuedItems) {
@@ -261,6 +268,24 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     private void writeLogItem(AuditLogItem item) throws IOException{
         Set<String> formatterNames = new HashSet<String>();
         try {
+            if (asyncWriter != null) {
+                // Only format here, the handlers' I/O is done by the writer
+                final List<AuditLogHandler> handlers = new ArrayList<AuditLogHandler>();
+                final List<String> formattedItems = new ArrayList<String>();
+                for (AuditLogHandler handler : config.getHandlersForLogging()) {
+                    formatterNames.add(handler.getFormatterName());
+                    try {
+                        formattedItems.add(handler.formatLogItem(item));
+                        handlers.add(handler);
+                    } catch (Throwable t) {
+                        handler.getFailureCountHandler().failure(t);
+                    }
+                }
+                if (!handlers.isEmpty()) {
+                    asyncWriter.write(handlers, formattedItems);
+                }
+                return;
+            }
             for (AuditLogHandler handler : config.getHandlersForLogging()) {
                 formatterNames.add(handler.getFormatterName());
                 handler.writeLogItem(item);
@@ -389,11 +414,44 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     /** Call with lock taken */
     private void applyHandlerUpdates() {
         if (handlerUpdateTask != null) {
+            flushAsyncWrites();
             handlerUpdateTask.applyChanges();
             handlerUpdateTask = null;
         }
     }
 
+    /**
+     * Call with lock taken. Writes the items queued for asynchronous writing, so the handlers are read or
+     * reconfigured once all the items logged before were written to them.
+     */
+    private void flushAsyncWrites() {
+        if (asyncWriter != null) {
+            asyncWriter.flush();
+        }
+    }
+
+    @Override
+    public void stopAsyncWriter() {
+        if (asyncWriter != null) {
+            asyncWriter.stop();
+        }
+    }
+
+    @Override
+    public int getAsyncQueueDepth() {
+        return asyncWriter == null ? 0 : asyncWriter.getQueueDepth();
+    }
+
+    @Override
+    public int getAsyncMaxQueueDepth() {
+        return asyncWriter == null ? 0 : asyncWriter.getMaxQueueDepth();
+    }
+
+    @Override
+    public long getAsyncDroppedCount() {
+        return asyncWriter == null ? 0 : asyncWriter.getDroppedCount();
+    }
+
     @Override
     public void removeFormatter(String name) {
         config.lock();
@@ -419,6 +477,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     public void updateHandlerFormatter(String name, String formatterName) {
         config.lock();
         try {
+            flushAsyncWrites();
             AuditLogHandler handler = config.getConfiguredHandler(name);
             handler.setFormatterName(formatterName);
             handler.setFormatter(config.getFormatter(formatterName));
@@ -433,6 +492,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     public void updateHandlerMaxFailureCount(String name, int count) {
         config.lock();
         try {
+            flushAsyncWrites();
             AuditLogHandler handler = config.getConfiguredHandler(name);
             handler.setMaxFailureCount(count);
         } finally {
@@ -444,6 +504,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     public int getHandlerFailureCount(String name) {
         config.lock();
         try {
+            flushAsyncWrites();
             AuditLogHandler handler = config.getConfiguredHandler(name);
             return handler.getFailureCount();
         } finally {
@@ -455,6 +516,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     public void updateSyslogHandlerFacility(String name, Facility facility) {
         config.lock();
         try {
+            flushAsyncWrites();
             SyslogAuditLogHandler handler = (SyslogAuditLogHandler)config.getConfiguredHandler(name);
             handler.setFacility(facility);
         } finally {
@@ -466,6 +528,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     public void updateSyslogHandlerAppName(String name, String appName) {
         config.lock();
         try {
+            flushAsyncWrites();
             SyslogAuditLogHandler handler = (SyslogAuditLogHandler)config.getConfiguredHandler(name);
             handler.setAppName(appName);
         } finally {
@@ -478,6 +541,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     public void updateSyslogHandlerReconnectTimeout(String name, int reconnectTimeout) {
         config.lock();
         try {
+            flushAsyncWrites();
             SyslogAuditLogHandler handler = (SyslogAuditLogHandler)config.getConfiguredHandler(name);
             handler.setReconnectTimeout(reconnectTimeout);
         } finally {
@@ -490,6 +554,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     public boolean getHandlerDisabledDueToFailure(String name) {
         config.lock();
         try {
+            flushAsyncWrites();
             AuditLogHandler handler = config.getConfiguredHandler(name);
             return handler.isDisabledDueToFailures();
         } finally {
@@ -512,6 +577,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     public List<ModelNode> listLastEntries(String name) {
         config.lock();
         try {
+            flushAsyncWrites();
             return config.getConfiguredHandler(name).listLastEntries();
         } finally {
             config.unlock();
@@ -522,6 +588,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     public void updateInMemoryHandlerMaxHistory(String name, int maxHistory) {
         config.lock();
         try {
+            flushAsyncWrites();
             InMemoryAuditLogHandler handler = (InMemoryAuditLogHandler)config.getConfiguredHandler(name);
             handler.setMaxHistory(maxHistory);
         } finally {
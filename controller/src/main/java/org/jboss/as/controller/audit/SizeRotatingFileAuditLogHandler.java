@@ -27,6 +27,7 @@ import org.jboss.as.controller.services.path.PathManagerService;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  *  All methods on this class should be called with {@link org.jboss.as.controller.audit.ManagedAuditLoggerImpl}'s lock taken.
@@ -90,6 +91,26 @@ public class SizeRotatingFileAuditLogHandler extends AbstractFileAuditLogHandler
         currentSize += LINE_TERMINATOR.length;
     }
 
+    @Override
+    void writeLogItems(List<String> formattedItems) throws IOException {
+        // Write the batch in chunks, rotating in between as writing the items one by one would
+        final int count = formattedItems.size();
+        long size = currentSize;
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            size += formattedItems.get(i).getBytes(StandardCharsets.UTF_8).length + LINE_TERMINATOR.length;
+            if (size > rotateSize || i == count - 1) {
+                super.writeLogItems(formattedItems.subList(from, i + 1));
+                currentSize = size;
+                from = i + 1;
+                if (from < count) {
+                    initialize();
+                    size = currentSize;
+                }
+            }
+        }
+    }
+
     @Override
     boolean isDifferent(AuditLogHandler other){
         if (other instanceof SizeRotatingFileAuditLogHandler == false){
@@ -315,6 +315,8 @@ public class ModelDescriptionConstants {
     public static final String MAX_FAILURE_COUNT = "max-failure-count";
     public static final String MAX_FAILURE_PERCENTAGE = "max-failure-percentage";
     public static final String MAX_HISTORY = "max-history";
+    public static final String MAX_IN_FLIGHT = "max-in-flight";
+    public static final String MAX_IN_FLIGHT_PERCENTAGE = "max-in-flight-percentage";
     public static final String MAX_LENGTH = "max-length";
     public static final String MAX_OCCURS = "max-occurs";
     public static final String MAX_THREADS = "max-threads";
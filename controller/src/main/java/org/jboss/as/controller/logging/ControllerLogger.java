@@ -3727,6 +3727,14 @@ public interface ControllerLogger extends BasicLogger {
     @Message(id = 498, value = "Exception thrown during generation of thread dump")
     void threadDumpException(@Cause Exception cause);
 
+    @LogMessage(level = WARN)
+    @Message(id = 499, value = "The management operation audit log queue is full; audit log items are being dropped (%d so far)")
+    void droppingAuditLogItems(long droppedCount);
+
+    @LogMessage(level = WARN)
+    @Message(id = 500, value = "Invalid value '%s' for system property %s, using %s instead")
+    void invalidSystemProperty(String value, String property, Object defaultValue);
+
     @Message(id = NONE, value = "While constructing a mapping; %s; expected a mapping for merging, but found %s")
     String errorConstructingYAMLMapping(Mark mark, NodeId node);
 
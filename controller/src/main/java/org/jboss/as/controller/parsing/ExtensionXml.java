@@ -41,6 +41,7 @@ import java.util.concurrent.ExecutorService;
 
 import javax.xml.stream.XMLStreamException;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
@@ -130,6 +131,33 @@ public class ExtensionXml {
         }
     }
 
+    /**
+     * Loads the extension modules added by the given operations and initializes their parsers, as
+     * {@link #parseExtensions} does for the parsed {@code extension} elements. Used for operations read from the boot
+     * operation cache instead of being parsed. If this instance defers loading the extensions, they are only added to
+     * its {@link DeferredExtensionContext}.
+     *
+     * @param operations the operations
+     * @throws XMLStreamException if an extension module cannot be loaded
+     */
+    public void loadExtensions(final List<ModelNode> operations) throws XMLStreamException {
+        DeferredExtensionContext ctx = this.deferredExtensionContext;
+        if (ctx == null) {
+            ctx = new DeferredExtensionContext(moduleLoader, extensionRegistry, bootExecutor);
+        }
+        for (ModelNode operation : operations) {
+            if (operation.hasDefined(OP) && ADD.equals(operation.get(OP).asString())) {
+                final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
+                if (address.size() > 0 && EXTENSION.equals(address.getLastElement().getKey())) {
+                    ctx.addExtension(address.getLastElement().getValue(), null);
+                }
+            }
+        }
+        if (deferredExtensionContext == null) {
+            ctx.load();
+        }
+    }
+
     private void addExtensionAddOperation(ModelNode address, List<ModelNode> list, String moduleName) {
         final ModelNode add = new ModelNode();
         add.get(OP_ADDR).set(address).add(EXTENSION, moduleName);
@@ -31,11 +31,13 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
 import org.jboss.staxmapper.XMLMapper;
 
 /**
@@ -48,6 +50,7 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     private final XMLElementWriter<ModelMarshallingContext> rootDeparser;
     private final ConcurrentHashMap<String, XMLElementWriter<SubsystemMarshallingContext>> subsystemWriters = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Supplier<XMLElementWriter<SubsystemMarshallingContext>>> subsystemWriterSuppliers = new ConcurrentHashMap<>();
+    private final SubsystemMarshallingCache marshallingCache = new SubsystemMarshallingCache();
 
     /**
      * Construct a new instance.
@@ -72,13 +75,15 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     public void unregisterSubsystemWriter(String name) {
         subsystemWriters.remove(name);
         subsystemWriterSuppliers.remove(name);
+        marshallingCache.remove(name);
     }
 
     /** {@inheritDoc} */
     @Override
     public void marshallAsXml(final ModelNode model, final OutputStream output) throws ConfigurationPersistenceException {
         final XMLMapper mapper = XMLMapper.Factory.create();
-        final Map<String, XMLElementWriter<SubsystemMarshallingContext>> localSubsystemWriters = new HashMap<>(subsystemWriters);
+        final Map<String, XMLElementWriter<SubsystemMarshallingContext>> localSubsystemWriters = new HashMap<>();
+        final SubsystemMarshallingCache.Session marshallingSession = marshallingCache.startSession();
         try {
             XMLStreamWriter streamWriter = null;
             try {
@@ -95,9 +100,17 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
                         //lazy create writer, but only once per config serialization
                         XMLElementWriter<SubsystemMarshallingContext> result = localSubsystemWriters.get(extensionName);
                         if (result == null) {
-                            Supplier<XMLElementWriter<SubsystemMarshallingContext>> supplier = subsystemWriterSuppliers.get(extensionName);
-                            if (supplier != null) {
-                                result = supplier.get();
+                            XMLElementWriter<SubsystemMarshallingContext> writer = subsystemWriters.get(extensionName);
+                            if (writer != null) {
+                                result = marshallingSession.wrap(extensionName, writer, writer);
+                            } else {
+                                Supplier<XMLElementWriter<SubsystemMarshallingContext>> supplier = subsystemWriterSuppliers.get(extensionName);
+                                if (supplier != null) {
+                                    // Only create the writer if the subsystem is not replayed
+                                    result = marshallingSession.wrap(extensionName, supplier, new LazySubsystemWriter(supplier));
+                                }
+                            }
+                            if (result != null) {
                                 localSubsystemWriters.put(extensionName, result);
                             }
                         }
@@ -106,6 +119,7 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
                 };
                 mapper.deparseDocument(rootDeparser, extensibleModel, streamWriter);
                 streamWriter.close();
+                marshallingSession.complete();
             } finally {
                 safeClose(streamWriter);
             }
@@ -127,6 +141,26 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
     public void deleteSnapshot(String name) {
     }
 
+    /**
+     * Creates the writer from its supplier when it is first used.
+     */
+    private static final class LazySubsystemWriter implements XMLElementWriter<SubsystemMarshallingContext> {
+        private final Supplier<XMLElementWriter<SubsystemMarshallingContext>> supplier;
+        private XMLElementWriter<SubsystemMarshallingContext> writer;
+
+        private LazySubsystemWriter(final Supplier<XMLElementWriter<SubsystemMarshallingContext>> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public void writeContent(XMLExtendedStreamWriter streamWriter, SubsystemMarshallingContext value) throws XMLStreamException {
+            if (writer == null) {
+                writer = supplier.get();
+            }
+            writer.writeContent(streamWriter, value);
+        }
+    }
+
     private static void safeClose(final XMLStreamWriter streamWriter) {
         if (streamWriter != null) try {
             streamWriter.close();
@@ -0,0 +1,254 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import javax.xml.namespace.QName;
+
+import org.jboss.as.version.Version;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Keeps the operations parsed from a configuration file in a binary file, so they can be read back instead of
+ * parsing the configuration file again when neither it nor the installed modules have changed since.
+ * <p>
+ * The cache is only used if the {@value #DIRECTORY_PROPERTY} system property names the directory to keep it in. It
+ * is keyed by a digest of the configuration file's content, its root element, the version of the server, the inputs
+ * of the parser besides the file, like the host name a host.xml is parsed for, and the content of every
+ * {@code module.xml} and {@code layers.conf} on the module path and of the installation's patching metadata, which
+ * change when modules are installed, updated or patched. A cache that cannot be read is treated as a miss.
+ * <p>
+ * Reading the cached operations skips the side effects of parsing, such as setting system properties or loading the
+ * extension modules. The {@link XmlConfigurationPersister.CachedOperationsHandler} of the persister replays them.
+ */
+final class BootOperationCache {
+
+    /** System property naming the directory to keep cached boot operations in. The cache is disabled if not set. */
+    static final String DIRECTORY_PROPERTY = "org.jboss.as.controller.persistence.boot-operation-cache.dir";
+
+    private static final int MAGIC = 0x4a424f43; // "JBOC"
+    private static final String SUFFIX = ".bootops";
+    private static final Set<String> MODULE_FILES = new HashSet<>(Arrays.asList("module.xml", "layers.conf"));
+
+    private final File configFile;
+    private final QName rootElement;
+    private final List<String> parserInputs;
+    private final Path cacheFile;
+    private byte[] key;
+
+    private BootOperationCache(final File configFile, final QName rootElement, final List<String> parserInputs, final Path cacheFile) {
+        this.configFile = configFile;
+        this.rootElement = rootElement;
+        this.parserInputs = parserInputs;
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Creates the cache for a configuration file.
+     *
+     * @param configFile the configuration file
+     * @param rootElement the root element of the configuration file
+     * @param parserInputs the values besides the configuration file that the parsed operations depend on
+     * @return the cache, or {@code null} if caching is not enabled
+     */
+    static BootOperationCache create(final File configFile, final QName rootElement, final List<String> parserInputs) {
+        final String dir = WildFlySecurityManager.getPropertyPrivileged(DIRECTORY_PROPERTY, null);
+        if (dir == null || dir.isEmpty()) {
+            return null;
+        }
+        return new BootOperationCache(configFile, rootElement, parserInputs, Paths.get(dir, configFile.getName() + SUFFIX));
+    }
+
+    /**
+     * Reads the cached operations.
+     *
+     * @return the operations, or {@code null} if there are none for the current configuration file and modules
+     */
+    List<ModelNode> load() {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (input.readInt() != MAGIC) {
+                return null;
+            }
+            final byte[] cachedKey = new byte[input.readInt()];
+            input.readFully(cachedKey);
+            if (!Arrays.equals(cachedKey, getKey())) {
+                ROOT_LOGGER.debugf("Cached boot operations in %s are out of date", cacheFile);
+                return null;
+            }
+            final int size = input.readInt();
+            final List<ModelNode> operations = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final ModelNode operation = new ModelNode();
+                operation.readExternal(input);
+                operations.add(operation);
+            }
+            ROOT_LOGGER.debugf("Read %d boot operations for %s from %s", size, configFile, cacheFile);
+            return operations;
+        } catch (IOException | RuntimeException e) {
+            ROOT_LOGGER.debugf(e, "Failed to read cached boot operations from %s", cacheFile);
+            return null;
+        }
+    }
+
+    /**
+     * Caches the operations parsed from the configuration file.
+     *
+     * @param operations the operations
+     */
+    void store(final List<ModelNode> operations) {
+        try {
+            final byte[] key = getKey();
+            Files.createDirectories(cacheFile.getParent());
+            final Path tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    output.writeInt(MAGIC);
+                    output.writeInt(key.length);
+                    output.write(key);
+                    output.writeInt(operations.size());
+                    for (ModelNode operation : operations) {
+                        operation.writeExternal(output);
+                    }
+                }
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException | RuntimeException e) {
+            ROOT_LOGGER.debugf(e, "Failed to cache boot operations in %s", cacheFile);
+        }
+    }
+
+    private byte[] getKey() throws IOException {
+        if (key == null) {
+            final MessageDigest digest = newDigest();
+            update(digest, Version.AS_VERSION);
+            update(digest, rootElement.toString());
+            for (String input : parserInputs) {
+                update(digest, input);
+            }
+            update(digest, configFile.toPath());
+            for (Path file : getModuleFiles()) {
+                update(digest, file.toString());
+                // Each file's content is digested separately so that content cannot run into the next path
+                final MessageDigest fileDigest = newDigest();
+                update(fileDigest, file);
+                digest.update(fileDigest.digest());
+            }
+            key = digest.digest();
+        }
+        return key;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the files describing the installed modules, in a stable order: every {@code module.xml} and
+     * {@code layers.conf} on the module path, including patch overlays, and the installation's patching metadata.
+     * A module update changes its {@code module.xml}, since that names the versioned resources of the module.
+     */
+    private static SortedSet<Path> getModuleFiles() throws IOException {
+        final SortedSet<Path> files = new TreeSet<>();
+        final String modulePath = WildFlySecurityManager.getPropertyPrivileged("module.path", null);
+        if (modulePath != null) {
+            for (String root : modulePath.split(File.pathSeparator)) {
+                addFiles(files, Paths.get(root), MODULE_FILES);
+            }
+        }
+        final String home = WildFlySecurityManager.getPropertyPrivileged("jboss.home.dir", null);
+        if (home != null) {
+            addFiles(files, Paths.get(home, ".installation"), null);
+        }
+        return files;
+    }
+
+    /** Adds the regular files below {@code root} whose name is in {@code names}, or all of them if it is {@code null}. */
+    private static void addFiles(final SortedSet<Path> files, final Path root, final Set<String> names) throws IOException {
+        if (Files.isDirectory(root)) {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && (names == null || names.contains(file.getFileName().toString()))) {
+                        files.add(file.toAbsolutePath());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+    }
+
+    private static void update(final MessageDigest digest, final Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        final byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Remembers how each subsystem was marshalled, so a subsystem whose model did not change since the configuration was
+ * last marshalled does not have to be marshalled by its writer again.
+ * <p>
+ * A subsystem writer's calls to the {@link XMLExtendedStreamWriter} are recorded, and are replayed as they are if the
+ * same writer is asked to marshal an identical model the next time. Replaying goes through the document's stream
+ * writer, so the result is the same as if the subsystem writer had been called. Only the subsystems of the most
+ * recent {@link Session} are kept.
+ */
+final class SubsystemMarshallingCache {
+
+    /** System property that disables the cache if set to {@code false}. */
+    static final String ENABLED_PROPERTY = "org.jboss.as.controller.persistence.subsystem-marshalling-cache";
+
+    private static final boolean ENABLED = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "true"));
+
+    // guarded by this
+    private Map<String, List<Fragment>> fragments = Collections.emptyMap();
+
+    /**
+     * Starts marshalling a configuration.
+     *
+     * @return the session for the configuration
+     */
+    synchronized Session startSession() {
+        return new Session(fragments);
+    }
+
+    synchronized void remove(final String subsystemName) {
+        if (fragments.containsKey(subsystemName)) {
+            fragments = new HashMap<>(fragments);
+            fragments.remove(subsystemName);
+        }
+    }
+
+    private synchronized void update(final Map<String, List<Fragment>> used) {
+        fragments = used;
+    }
+
+    /**
+     * The subsystems of one configuration being marshalled.
+     */
+    final class Session {
+        private final Map<String, List<Fragment>> previous;
+        private final Map<String, List<Fragment>> used = new HashMap<>();
+
+        private Session(final Map<String, List<Fragment>> previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * Wraps a subsystem writer so it is only called if the subsystem cannot be replayed from the cache.
+         *
+         * @param subsystemName the name of the subsystem
+         * @param source the object the writer was registered as, which identifies it even if the writer is created
+         *               for each configuration
+         * @param writer the writer
+         * @return the wrapped writer
+         */
+        XMLElementWriter<SubsystemMarshallingContext> wrap(final String subsystemName, final Object source,
+                                                           final XMLElementWriter<SubsystemMarshallingContext> writer) {
+            if (!ENABLED) {
+                return writer;
+            }
+            return (streamWriter, context) -> {
+                final ModelNode model = context.getModelNode();
+                Fragment fragment = find(subsystemName, source, model);
+                if (fragment != null) {
+                    fragment.replay(streamWriter);
+                } else {
+                    final Recorder recorder = new Recorder(streamWriter);
+                    final XMLExtendedStreamWriter recording = recorder.createProxy();
+                    writer.writeContent(recording, new SubsystemMarshallingContext(model, recording));
+                    fragment = new Fragment(source, model.clone(), recorder.events);
+                }
+                used.computeIfAbsent(subsystemName, name -> new ArrayList<>(1)).add(fragment);
+            };
+        }
+
+        /**
+         * Keeps the subsystems marshalled in this session for the next one. Not called if marshalling failed.
+         */
+        void complete() {
+            if (ENABLED) {
+                update(used);
+            }
+        }
+
+        private Fragment find(final String subsystemName, final Object source, final ModelNode model) {
+            final List<Fragment> candidates = previous.get(subsystemName);
+            if (candidates != null) {
+                for (Fragment fragment : candidates) {
+                    if (fragment.source == source && isSame(fragment.model, model)) {
+                        return fragment;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Compares two models, including the order of their keys, which determines the order of the marshalled elements.
+     */
+    static boolean isSame(final ModelNode first, final ModelNode second) {
+        final ModelType type = first.getType();
+        if (type != second.getType()) {
+            return false;
+        }
+        switch (type) {
+            case OBJECT: {
+                if (first.keys().size() != second.keys().size()) {
+                    return false;
+                }
+                final Iterator<String> secondKeys = second.keys().iterator();
+                for (String key : first.keys()) {
+                    final String secondKey = secondKeys.next();
+                    if (!key.equals(secondKey) || !isSame(first.get(key), second.get(secondKey))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case LIST: {
+                final List<ModelNode> firstList = first.asList();
+                final List<ModelNode> secondList = second.asList();
+                if (firstList.size() != secondList.size()) {
+                    return false;
+                }
+                for (int i = 0; i < firstList.size(); i++) {
+                    if (!isSame(firstList.get(i), secondList.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case PROPERTY: {
+                return first.asProperty().getName().equals(second.asProperty().getName())
+                        && isSame(first.asProperty().getValue(), second.asProperty().getValue());
+            }
+            default:
+                return first.equals(second);
+        }
+    }
+
+    private static final class Fragment {
+        private final Object source;
+        private final ModelNode model;
+        private final List<Event> events;
+
+        private Fragment(final Object source, final ModelNode model, final List<Event> events) {
+            this.source = source;
+            this.model = model;
+            this.events = events;
+        }
+
+        void replay(final XMLExtendedStreamWriter writer) throws XMLStreamException {
+            for (Event event : events) {
+                try {
+                    event.method.invoke(writer, event.args);
+                } catch (InvocationTargetException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof XMLStreamException) {
+                        throw (XMLStreamException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new XMLStreamException(cause);
+                } catch (IllegalAccessException e) {
+                    throw new XMLStreamException(e);
+                }
+            }
+        }
+    }
+
+    private static final class Event {
+        private final Method method;
+        private final Object[] args;
+
+        private Event(final Method method, final Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+    }
+
+    /**
+     * Passes calls through to a stream writer, recording the ones that write to it.
+     */
+    private static final class Recorder implements InvocationHandler {
+        private final XMLExtendedStreamWriter delegate;
+        private final List<Event> events = new ArrayList<>();
+
+        private Recorder(final XMLExtendedStreamWriter delegate) {
+            this.delegate = delegate;
+        }
+
+        XMLExtendedStreamWriter createProxy() {
+            return (XMLExtendedStreamWriter) Proxy.newProxyInstance(XMLExtendedStreamWriter.class.getClassLoader(),
+                    new Class<?>[] {XMLExtendedStreamWriter.class}, this);
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final Object result;
+            try {
+                result = method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            // Queries do not change the document, and the methods of Object are not part of it
+            if (method.getDeclaringClass() != Object.class && !method.getName().startsWith("get")) {
+                events.add(new Event(method, copy(args)));
+            }
+            return result;
+        }
+
+        private static Object[] copy(final Object[] args) {
+            if (args == null) {
+                return null;
+            }
+            final Object[] copy = args.clone();
+            for (int i = 0; i < copy.length; i++) {
+                if (copy[i] instanceof char[]) {
+                    copy[i] = ((char[]) copy[i]).clone();
+                } else if (copy[i] instanceof Object[]) {
+                    copy[i] = ((Object[]) copy[i]).clone();
+                } else if (copy[i] instanceof Iterable) {
+                    final List<Object> values = new ArrayList<>();
+                    for (Object value : (Iterable<?>) copy[i]) {
+                        values.add(value);
+                    }
+                    copy[i] = values;
+                }
+            }
+            return copy;
+        }
+    }
+}
@@ -29,6 +29,7 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -60,6 +61,8 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
     private final XMLElementReader<List<ModelNode>> rootParser;
     private final Map<QName, XMLElementReader<List<ModelNode>>> additionalParsers;
     private final boolean suppressLoad;
+    private volatile List<String> bootOperationCacheInputs;
+    private volatile CachedOperationsHandler cachedOperationsHandler;
 
     /**
      * Construct a new instance.
@@ -97,6 +100,19 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         }
     }
 
+    /**
+     * Allows the operations parsed from the configuration file to be cached between boots, if the cache is enabled
+     * by the {@code org.jboss.as.controller.persistence.boot-operation-cache.dir} system property. Only call this if
+     * the operations the parser creates only depend on the configuration file and the given values.
+     *
+     * @param handler replays the side effects of parsing when the operations are read from the cache. Cannot be {@code null}
+     * @param parserInputs the values besides the configuration file that the parsed operations depend on
+     */
+    public void enableBootOperationCache(final CachedOperationsHandler handler, final String... parserInputs) {
+        this.cachedOperationsHandler = handler;
+        this.bootOperationCacheInputs = Arrays.asList(parserInputs);
+    }
+
     /** {@inheritDoc} */
     @Override
     public PersistenceResource store(final ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
@@ -110,6 +126,21 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
             return new ArrayList<>();
         }
 
+        final List<String> bootOperationCacheInputs = this.bootOperationCacheInputs;
+        final BootOperationCache cache = bootOperationCacheInputs == null ? null
+                : BootOperationCache.create(fileName, rootElement, bootOperationCacheInputs);
+        if (cache != null) {
+            final List<ModelNode> cached = cache.load();
+            if (cached != null) {
+                try {
+                    cachedOperationsHandler.handleCachedOperations(cached);
+                } catch (XMLStreamException e) {
+                    throw ControllerLogger.ROOT_LOGGER.failedToParseConfiguration(e);
+                }
+                return cached;
+            }
+        }
+
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(rootElement, rootParser);
         synchronized (additionalParsers) {
@@ -142,6 +173,9 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
             safeClose(input);
         }
 
+        if (cache != null) {
+            cache.store(updates);
+        }
         return updates;
     }
 
@@ -169,6 +203,23 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         }
     }
 
+    /**
+     * Replays the side effects parsing a configuration file has besides creating the operations, such as setting
+     * system properties or loading extension modules, for operations that were read from the boot operation cache
+     * instead of being parsed.
+     */
+    @FunctionalInterface
+    public interface CachedOperationsHandler {
+
+        /**
+         * Handles the operations read from the boot operation cache, before they are returned from {@link #load()}.
+         *
+         * @param operations the cached operations
+         * @throws XMLStreamException if a side effect fails the way it would have failed the parsing
+         */
+        void handleCachedOperations(List<ModelNode> operations) throws XMLStreamException;
+    }
+
     protected void successfulBoot(File file) throws ConfigurationPersistenceException {
 
     }
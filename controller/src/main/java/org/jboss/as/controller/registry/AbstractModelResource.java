@@ -43,6 +43,13 @@ import org.jboss.dmr.ModelNode;
  *
  * <p>Concurrency note: this class is *not* thread safe</p>
  *
+ * <p>Copy-on-write note: {@link #clone() Cloning} does not copy children registered through
+ * {@link #registerChild(PathElement, Resource)} that have been {@link #freeze(Resource) frozen}. The clone shares
+ * them with the original, and plain reads such as {@link #getChild(PathElement)} hand out the shared children.
+ * A shared child is only copied when it is retrieved through {@link #getChildForUpdate(Resource, PathElement)}, or
+ * from a resource that was {@link #openForUpdate(Resource) opened for update}, so modifying the clone copies just
+ * the resources on the path from the clone to the modified resource and the subtree below it that is read.</p>
+ *
  * @author Emanuel Muckenhuber
  */
 public abstract class AbstractModelResource extends ResourceProvider.ResourceProviderRegistry implements Resource {
@@ -51,6 +58,8 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
     private final Map<String, ResourceProvider> children = new LinkedHashMap<String, ResourceProvider>();
     private final boolean runtimeOnly;
     private final Set<String> orderedChildTypes;
+    /** Whether the children handed out by this resource may be modified and must therefore be private copies. */
+    private volatile boolean forUpdate;
 
     protected AbstractModelResource() {
         this(false);
@@ -97,7 +106,16 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         if(provider == null) {
             return null;
         }
-        return provider.get(address.getValue());
+        return get(provider, address.getValue());
+    }
+
+    private Resource get(final ResourceProvider provider, final String name) {
+        if (forUpdate && provider instanceof DefaultResourceProvider) {
+            final Resource resource = ((DefaultResourceProvider) provider).getOwned(name);
+            openForUpdate(resource);
+            return resource;
+        }
+        return provider.get(name);
     }
 
     @Override
@@ -156,7 +174,7 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         }
         final Set<ResourceEntry> children = new LinkedHashSet<ResourceEntry>();
         for(final String name : provider.children()) {
-            final Resource resource = provider.get(name);
+            final Resource resource = get(provider, name);
             children.add(new DelegateResource(resource) {
                 @Override
                 public String getName() {
@@ -261,13 +279,121 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         }
     }
 
+    /**
+     * Marks the children of the given resource tree as shared, allowing {@link #clone() clones} of the tree to
+     * reference them instead of copying them. Only children created or copied since the tree was last frozen
+     * are visited, so the cost is proportional to what changed rather than to the size of the tree.
+     * <p>
+     * After this call the tree must no longer be modified; clone it to obtain a modifiable copy.
+     * </p>
+     *
+     * @param resource the root of the tree. Resources that are not an {@code AbstractModelResource} are ignored
+     */
+    public static void freeze(final Resource resource) {
+        if (resource instanceof AbstractModelResource) {
+            ((AbstractModelResource) resource).freeze();
+        }
+    }
+
+    private void freeze() {
+        forUpdate = false;
+        synchronized (children) {
+            for (final ResourceProvider provider : children.values()) {
+                if (provider instanceof DefaultResourceProvider) {
+                    ((DefaultResourceProvider) provider).freeze();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a child of the given resource in order to modify it or one of its descendants. A child that is shared
+     * with a {@link #freeze(Resource) frozen} tree is first replaced by a private copy, whose own children stay
+     * shared until they are retrieved through this method as well.
+     *
+     * @param resource the parent resource. Cannot be {@code null}
+     * @param element the path element of the child. Cannot be {@code null}
+     * @return the child, or {@code null} if there is no such child
+     */
+    public static Resource getChildForUpdate(final Resource resource, final PathElement element) {
+        final Resource parent = unwrap(resource);
+        if (parent instanceof AbstractModelResource) {
+            final ResourceProvider provider = ((AbstractModelResource) parent).getProvider(element.getKey());
+            if (provider instanceof DefaultResourceProvider) {
+                return ((DefaultResourceProvider) provider).getOwned(element.getValue());
+            }
+        }
+        return resource.getChild(element);
+    }
+
+    /**
+     * Marks the given resource as handed out for modification. From then on every child it hands out, and
+     * every child those hand out in turn, is a private copy rather than one shared with a
+     * {@link #freeze(Resource) frozen} tree. The mark is cleared when the tree is frozen.
+     *
+     * @param resource the resource. Resources that are not an {@code AbstractModelResource} are ignored
+     */
+    public static void openForUpdate(final Resource resource) {
+        final Resource target = unwrap(resource);
+        if (target instanceof AbstractModelResource) {
+            ((AbstractModelResource) target).forUpdate = true;
+        }
+    }
+
+    private static Resource unwrap(final Resource resource) {
+        Resource result = resource;
+        while (true) {
+            if (result instanceof DelegatingResource) {
+                result = ((DelegatingResource) result).getDelegate();
+            } else if (result instanceof DelegateResource) {
+                result = ((DelegateResource) result).delegate;
+            } else {
+                return result;
+            }
+        }
+    }
+
     private static class DefaultResourceProvider implements ResourceProvider {
 
         private final Map<String, Resource> children = new LinkedHashMap<String, Resource>();
+        /** Names of children that are shared with other trees and must be copied before being handed out. */
+        private final Set<String> shared = new HashSet<String>();
+        /** Whether all children are shared with clones of this provider and can be handed out as is. */
+        private boolean frozen;
 
         protected DefaultResourceProvider() {
         }
 
+        private void freeze() {
+            synchronized (children) {
+                if (frozen) {
+                    return;
+                }
+                for (final Map.Entry<String, Resource> entry : children.entrySet()) {
+                    if (!shared.contains(entry.getKey())) {
+                        AbstractModelResource.freeze(entry.getValue());
+                    }
+                }
+                shared.clear();
+                frozen = true;
+            }
+        }
+
+        /**
+         * Gets the child with the given name, replacing it with a private copy first if it is shared.
+         * A frozen provider hands out its children as is, since its own tree is not modified.
+         */
+        private Resource getOwned(final String name) {
+            synchronized (children) {
+                Resource resource = children.get(name);
+                if (resource != null && shared.remove(name)) {
+                    resource = resource.clone();
+                    children.put(name, resource);
+                }
+                return resource;
+            }
+        }
+
         @Override
         public Set<String> children() {
             synchronized (children) {
@@ -338,7 +464,10 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource remove(String name) {
             synchronized (children) {
-                return children.remove(name);
+                // Don't hand out a shared resource the caller could modify
+                final Resource removed = getOwned(name);
+                children.remove(name);
+                return removed;
             }
         }
 
@@ -347,7 +476,13 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
             final DefaultResourceProvider provider = new DefaultResourceProvider();
             synchronized (children) {
                 for (final Map.Entry<String, Resource> entry : children.entrySet()) {
-                    provider.register(entry.getKey(), entry.getValue().clone());
+                    final String name = entry.getKey();
+                    if (frozen || shared.contains(name)) {
+                        provider.children.put(name, entry.getValue());
+                        provider.shared.add(name);
+                    } else {
+                        provider.children.put(name, entry.getValue().clone());
+                    }
                 }
             }
             return provider;
@@ -149,7 +149,7 @@ public class DelegatingResource extends ResourceProvider.ResourceProviderRegistr
         getDelegate().writeModel(newModel);
     }
 
-    private Resource getDelegate() {
+    Resource getDelegate() {
         return this.delegateProvider.getDelegateResource();
     }
 
@@ -197,7 +197,6 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
 
             final ManagementRequestHeader header = ManagementRequestHeader.class.cast(context.getRequestHeader());
             final int batchId = header.getBatchId();
-            final ModelNode result = new ModelNode();
 
             // Send the prepared response for :reload operations
             final boolean sendPreparedOperation = sendPreparedResponse(operation);
@@ -236,18 +235,20 @@ public class ModelControllerClientOperationHandler implements ManagementRequestH
 
             final OperationMessageHandler messageHandlerProxy = OperationMessageHandler.DISCARD;
             final OperationAttachmentsProxy attachmentsProxy = OperationAttachmentsProxy.create(operation, channelAssociation, batchId, attachmentsLength);
+            ModelNode result;
             try {
                 ROOT_LOGGER.tracef("Executing client request %d(%d)", batchId, header.getRequestId());
                 OperationResponse response = controller.execute(attachmentsProxy, messageHandlerProxy, transactionControl);
 
                 responseAttachmentSupport.registerStreams(context.getOperationId(), response.getInputStreams());
 
-                result.set(response.getResponseNode());
+                // Send the response node itself; for a large read-resource a copy would double the memory needed
+                result = response.getResponseNode();
             } catch (Throwable t) {
                 final ModelNode failure = new ModelNode();
                 failure.get(OUTCOME).set(FAILED);
                 failure.get(FAILURE_DESCRIPTION).set(t.getClass().getName() + ":" + t.getMessage());
-                result.set(failure);
+                result = failure;
                 attachmentsProxy.shutdown();
                 ControllerLogger.MGMT_OP_LOGGER.unexpectedOperationExecutionException(t, Collections.singletonList(operation));
             } finally {
@@ -33,6 +33,8 @@ import java.io.InputStream;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -40,6 +42,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.SystemPropertyUtil;
 import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.client.impl.ModelControllerProtocol;
 import org.jboss.as.controller.logging.ControllerLogger;
@@ -65,6 +68,13 @@ public class ResponseAttachmentInputStreamSupport {
     /** Timeout for cleaning up streams that have not been read by the end user */
     private static final int CLEANUP_INTERVAL = 10000;
 
+    /** System property setting the size of the chunks streams are sent in. */
+    static final String CHUNK_SIZE_PROPERTY = "org.jboss.as.controller.remote.response-attachment-chunk-size";
+    /** The size of the chunks streams are sent in */
+    static final int CHUNK_SIZE = SystemPropertyUtil.getInt(CHUNK_SIZE_PROPERTY, 65536, 1);
+    /** The maximum number of chunk buffers kept for reuse by later reads */
+    private static final int MAX_POOLED_BUFFERS = 4;
+
     /**
      * Deal with streams attached to an operation response from a proxied domain process.
      *
@@ -91,6 +101,7 @@ public class ResponseAttachmentInputStreamSupport {
     }
 
     private final Map<InputStreamKey, TimedStreamEntry> streamMap  = new ConcurrentHashMap<>();
+    private final BlockingQueue<byte[]> bufferPool = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
     private final ScheduledFuture<?> cleanupTaskFuture;
     private final int timeout;
     private volatile boolean stopped;
@@ -197,6 +208,7 @@ public class ResponseAttachmentInputStreamSupport {
                 closeStreamEntry(timedStreamEntry, key.requestId, key.index);
             }
         }
+        bufferPool.clear();
     }
 
     /** Close and remove expired streams. Package protected to allow unit tests to invoke it. */
@@ -315,7 +327,6 @@ public class ResponseAttachmentInputStreamSupport {
     }
 
     private class ReadHandler extends AbstractAttachmentHandler {
-        private static final int BUFFER_SIZE = 8192;
 
         @Override
         void handleRequest(TimedStreamEntry entry, FlushableDataOutput output) throws IOException {
@@ -324,27 +335,35 @@ public class ResponseAttachmentInputStreamSupport {
             synchronized (entry) {
                 InputStream input = entry.streamEntry.getStream();
                 int read = 0;
-                byte[] buffer = new byte[BUFFER_SIZE];
-                do {
-                    // Set the timestamp on each loop so if there are blocking delays reading or writing
-                    // they don't accumulate
-                    entry.timestamp.set(System.currentTimeMillis());
-
-                    int totalRead = 0;
-                    int remaining = BUFFER_SIZE;
-                    // Read a full buffer if possible before sending
-                    while (remaining > 0 && (read = input.read(buffer, totalRead, remaining)) != -1) {
-                        totalRead += read;
-                        remaining -= read;
-                    }
-                    if (totalRead > 0) {
-                        output.writeByte(ModelControllerProtocol.PARAM_INPUTSTREAM_LENGTH);
-                        output.writeInt(totalRead);
-                        output.writeByte(ModelControllerProtocol.PARAM_INPUTSTREAM_CONTENTS);
-                        output.write(buffer, 0, totalRead);
-                    }
+                byte[] buffer = bufferPool.poll();
+                if (buffer == null) {
+                    buffer = new byte[CHUNK_SIZE];
+                }
+                try {
+                    do {
+                        // Set the timestamp on each loop so if there are blocking delays reading or writing
+                        // they don't accumulate
+                        entry.timestamp.set(System.currentTimeMillis());
+
+                        int totalRead = 0;
+                        int remaining = CHUNK_SIZE;
+                        // Read a full buffer if possible before sending
+                        while (remaining > 0 && (read = input.read(buffer, totalRead, remaining)) != -1) {
+                            totalRead += read;
+                            remaining -= read;
+                        }
+                        if (totalRead > 0) {
+                            output.writeByte(ModelControllerProtocol.PARAM_INPUTSTREAM_LENGTH);
+                            output.writeInt(totalRead);
+                            output.writeByte(ModelControllerProtocol.PARAM_INPUTSTREAM_CONTENTS);
+                            output.write(buffer, 0, totalRead);
+                        }
 
-                } while (read > -1);
+                    } while (read > -1);
+                } finally {
+                    // Keep the buffer for the next read, unless enough are kept already
+                    bufferPool.offer(buffer);
+                }
 
                 output.writeByte(ModelControllerProtocol.PARAM_END);
             }
@@ -415,6 +415,31 @@ public class ExpressionResolverUnitTestCase {
         assertEquals("default", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression("${test.property1,test.property2:default}")).asString());
     }
 
+    /**
+     * Test that repeated resolutions of the same expression see changes to the system properties it refers to.
+     */
+    @Test
+    public void testResolutionFollowsSystemPropertyChanges() throws OperationFailedException {
+        final ModelNode expression = expression("${test.changing1,test.changing2:default}");
+        try {
+            for (int i = 0; i < 2; i++) {
+                assertEquals("default", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression).asString());
+            }
+            System.setProperty("test.changing2", "two");
+            assertEquals("two", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression).asString());
+            System.setProperty("test.changing1", "one");
+            assertEquals("one", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression).asString());
+            System.setProperty("test.changing1", "${test.changing2}");
+            assertEquals("two", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression).asString());
+            System.clearProperty("test.changing1");
+            System.clearProperty("test.changing2");
+            assertEquals("default", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression).asString());
+        } finally {
+            System.clearProperty("test.changing1");
+            System.clearProperty("test.changing2");
+        }
+    }
+
     @Test
     public void testExpressionWithDollarEndingDefaultValue() throws OperationFailedException {
         try {
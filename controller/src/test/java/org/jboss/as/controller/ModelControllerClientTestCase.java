@@ -31,6 +31,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -47,6 +49,7 @@ import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationAttachments;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.client.impl.ExistingChannelModelControllerClient;
 import org.jboss.as.controller.client.impl.InputStreamEntry;
 import org.jboss.as.controller.registry.NotificationHandlerRegistration;
@@ -362,6 +365,91 @@ public class ModelControllerClientTestCase {
         }
     }
 
+    @Test
+    public void testStreamingClosesResponseStreams() throws Exception {
+        final CountDownLatch closed = new CountDownLatch(1);
+        final MockModelController controller = new MockModelController() {
+            @Override
+            public OperationResponse execute(Operation operation, OperationMessageHandler handler, OperationTransactionControl control) {
+                final ModelNode response = new ModelNode();
+                response.get("outcome").set("success");
+                response.get("result", "a").set(1);
+                response.get("result", "b").set(2);
+                final ModelNode stream = new ModelNode();
+                stream.get("uuid").set("test");
+                stream.get("mime-type").set("text/plain");
+                response.get("response-headers", "attached-streams").add(stream);
+                return new OperationResponse() {
+                    @Override
+                    public ModelNode getResponseNode() {
+                        return response;
+                    }
+
+                    @Override
+                    public List<StreamEntry> getInputStreams() {
+                        return Collections.singletonList(new TestStreamEntry(closed));
+                    }
+
+                    @Override
+                    public StreamEntry getInputStream(String uuid) {
+                        return null;
+                    }
+
+                    @Override
+                    public void close() {
+                    }
+                };
+            }
+
+            @Override
+            public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        final ModelControllerClient client = setupTestClient(controller);
+        try {
+            final ModelNode op = new ModelNode();
+            op.get("operation").set("fake");
+            for (int depth = 0; depth < 4; depth++) {
+                final List<String> paths = new ArrayList<>();
+                client.executeStreaming(OperationBuilder.create(op).build(), null, depth, (path, node) -> paths.add(path.toString()));
+                Assert.assertTrue(paths.toString(), depth < 2 || paths.contains("[result, a]"));
+            }
+            // The streams of every response were closed, without the client reading them
+            Assert.assertTrue(closed.await(10, TimeUnit.SECONDS));
+        } finally {
+            IoUtils.safeClose(client);
+        }
+    }
+
+    @Test
+    public void testStreamingHandlerFailure() throws Exception {
+        final MockModelController controller = new MockModelController() {
+            @Override
+            public ModelNode execute(ModelNode operation, OperationMessageHandler handler, OperationTransactionControl control, OperationAttachments attachments) {
+                final ModelNode result = new ModelNode();
+                result.get("outcome").set("success");
+                return result;
+            }
+        };
+        final ModelControllerClient client = setupTestClient(controller);
+        try {
+            final ModelNode op = new ModelNode();
+            op.get("operation").set("fake");
+            final IOException failure = new IOException("stop");
+            try {
+                client.executeStreaming(OperationBuilder.create(op).build(), null, 1, (path, node) -> {
+                    throw failure;
+                });
+                Assert.fail("handler failure not reported");
+            } catch (IOException e) {
+                Assert.assertSame(failure, e);
+            }
+        } finally {
+            IoUtils.safeClose(client);
+        }
+    }
+
     private void assertArrays(byte[] expected, byte[] actual) {
         assertEquals(expected.length, actual.length);
         for (int i = 0 ; i < expected.length ; i++) {
@@ -383,6 +471,35 @@ public class ModelControllerClientTestCase {
         }
     }
 
+    private static class TestStreamEntry implements OperationResponse.StreamEntry {
+
+        private final CountDownLatch closed;
+
+        TestStreamEntry(final CountDownLatch closed) {
+            this.closed = closed;
+        }
+
+        @Override
+        public String getUUID() {
+            return "test";
+        }
+
+        @Override
+        public String getMimeType() {
+            return "text/plain";
+        }
+
+        @Override
+        public InputStream getStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+
     static class TestEntry extends FilterInputStream implements InputStreamEntry {
 
         final CountDownLatch latch = new CountDownLatch(1);
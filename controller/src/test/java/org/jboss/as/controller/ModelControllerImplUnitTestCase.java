@@ -67,6 +67,10 @@ import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -627,6 +631,68 @@ public class ModelControllerImplUnitTestCase {
         assertEquals(2, result.get(RESULT, "child").asPropertyList().size());
     }
 
+    @Test
+    public void testReadDuringUncommittedWrite() throws Exception {
+        final BlockingWriteHandler.Latches latches = new BlockingWriteHandler.Latches();
+        BlockingWriteHandler.latches = latches;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ModelNode> write = executor.submit(() -> controller.execute(getOperation("blocking-write", "attr1", 5), null, null, null));
+            assertTrue(latches.modelChanged.await(30, TimeUnit.SECONDS));
+
+            // The writer holds the controller lock and has changed its copy of the model;
+            // a read must neither block nor see the uncommitted value
+            ModelNode read = Util.getReadAttributeOperation(PathAddress.EMPTY_ADDRESS, "attr1");
+            ModelNode result = controller.execute(read, null, null, null);
+            assertEquals(SUCCESS, result.get(OUTCOME).asString());
+            assertEquals(1, result.get(RESULT).asInt());
+
+            latches.release.countDown();
+            assertEquals(SUCCESS, write.get(30, TimeUnit.SECONDS).get(OUTCOME).asString());
+
+            result = controller.execute(read, null, null, null);
+            assertEquals(SUCCESS, result.get(OUTCOME).asString());
+            assertEquals(5, result.get(RESULT).asInt());
+        } finally {
+            latches.release.countDown();
+            executor.shutdownNow();
+            BlockingWriteHandler.latches = null;
+        }
+    }
+
+    @Test
+    public void testReadDuringCommit() throws Exception {
+        final BlockingReadHandler.Latches latches = new BlockingReadHandler.Latches();
+        BlockingReadHandler.latches = latches;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ModelNode blockingRead = Util.getReadAttributeOperation(PathAddress.EMPTY_ADDRESS, "blocking-read");
+            Future<ModelNode> read = executor.submit(() -> controller.execute(blockingRead, null, null, null));
+            assertTrue(latches.firstRead.await(30, TimeUnit.SECONDS));
+
+            // A writer commits while the read is in progress
+            ModelNode result = controller.execute(getOperation("good", "attr1", 5), null, null, null);
+            assertEquals(SUCCESS, result.get(OUTCOME).asString());
+
+            // The read keeps seeing the model as it was when it started
+            latches.release.countDown();
+            result = read.get(30, TimeUnit.SECONDS);
+            assertEquals(SUCCESS, result.get(OUTCOME).asString());
+            assertEquals(1, result.get(RESULT).get(0).asInt());
+            assertEquals(1, result.get(RESULT).get(1).asInt());
+
+            // A new read sees the committed change
+            BlockingReadHandler.latches = null;
+            result = controller.execute(blockingRead, null, null, null);
+            assertEquals(SUCCESS, result.get(OUTCOME).asString());
+            assertEquals(5, result.get(RESULT).get(0).asInt());
+        } finally {
+            latches.release.countDown();
+            executor.shutdownNow();
+            BlockingReadHandler.latches = null;
+        }
+    }
+
     @Test
     public void testRemoveServiceAfterNonRollbackServiceFailure() {
 
@@ -864,6 +930,7 @@ public class ModelControllerImplUnitTestCase {
             rootRegistration.registerOperationHandler(getOD("remove-dependent-service"), new ModelControllerImplUnitTestCase.RemoveDependentServiceHandler(),true);
             rootRegistration.registerOperationHandler(getOD("read-wildcards"), new ModelControllerImplUnitTestCase.WildcardReadHandler(),true);
             rootRegistration.registerOperationHandler(getOD("invalid-service-update"), new ModelControllerImplUnitTestCase.InvalidServiceUpdateHandler(),true);
+            rootRegistration.registerOperationHandler(getOD("blocking-write"), new ModelControllerImplUnitTestCase.BlockingWriteHandler(),true);
             rootRegistration.registerOperationHandler(getODBuilder("deprecated-op").setDeprecated(ModelVersion.create(1)).build(), new DeprecatedHandler(), true);
 
             GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
@@ -872,6 +939,8 @@ public class ModelControllerImplUnitTestCase {
 
             rootRegistration.registerReadOnlyAttribute(TestUtils.createNillableAttribute("attr1", ModelType.INT), null);
             rootRegistration.registerReadOnlyAttribute(TestUtils.createNillableAttribute("attr2", ModelType.INT), null);
+            rootRegistration.registerReadOnlyAttribute(new SimpleAttributeDefinitionBuilder("blocking-read", ModelType.LIST, true)
+                    .setStorageRuntime().build(), new BlockingReadHandler());
 
             SimpleResourceDefinition childResource = new SimpleResourceDefinition(
                     PathElement.pathElement("child"),
@@ -936,6 +1005,60 @@ public class ModelControllerImplUnitTestCase {
         }
     }
 
+    public static class BlockingWriteHandler implements OperationStepHandler {
+
+        static final class Latches {
+            final CountDownLatch modelChanged = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+        }
+
+        static volatile Latches latches;
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) {
+            String name = operation.require(NAME).asString();
+            context.readResourceForUpdate(PathAddress.EMPTY_ADDRESS).getModel().get(name).set(operation.require(VALUE));
+            context.addStep((ctx, op) -> {
+                Latches current = latches;
+                current.modelChanged.countDown();
+                try {
+                    current.release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+    }
+
+    /**
+     * Reads attr1 twice, blocking in between if latches are set.
+     */
+    public static class BlockingReadHandler implements OperationStepHandler {
+
+        static final class Latches {
+            final CountDownLatch firstRead = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+        }
+
+        static volatile Latches latches;
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) {
+            ModelNode result = context.getResult();
+            result.add(context.readResource(PathAddress.EMPTY_ADDRESS).getModel().get("attr1"));
+            Latches current = latches;
+            if (current != null) {
+                current.firstRead.countDown();
+                try {
+                    current.release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            result.add(context.readResource(PathAddress.EMPTY_ADDRESS).getModel().get("attr1"));
+        }
+    }
+
     public static class ModelStageFailsHandler implements OperationStepHandler {
 
         @Override
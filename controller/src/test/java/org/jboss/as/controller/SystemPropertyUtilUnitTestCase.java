@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.controller;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests of {@link SystemPropertyUtil}.
+ */
+public class SystemPropertyUtilUnitTestCase {
+
+    private static final String PROPERTY = "test.system-property-util";
+
+    @After
+    public void clearProperty() {
+        System.clearProperty(PROPERTY);
+    }
+
+    @Test
+    public void testInt() {
+        assertEquals(5, SystemPropertyUtil.getInt(PROPERTY, 5, 1));
+        System.setProperty(PROPERTY, " 7 ");
+        assertEquals(7, SystemPropertyUtil.getInt(PROPERTY, 5, 1));
+        System.setProperty(PROPERTY, "seven");
+        assertEquals(5, SystemPropertyUtil.getInt(PROPERTY, 5, 1));
+        System.setProperty(PROPERTY, "0");
+        assertEquals(5, SystemPropertyUtil.getInt(PROPERTY, 5, 1));
+    }
+
+    @Test
+    public void testLong() {
+        assertEquals(5L, SystemPropertyUtil.getLong(PROPERTY, 5L, 0L));
+        System.setProperty(PROPERTY, "10000000000");
+        assertEquals(10000000000L, SystemPropertyUtil.getLong(PROPERTY, 5L, 0L));
+        System.setProperty(PROPERTY, "-1");
+        assertEquals(5L, SystemPropertyUtil.getLong(PROPERTY, 5L, 0L));
+    }
+
+    @Test
+    public void testEnum() {
+        assertEquals(TimeUnit.SECONDS, SystemPropertyUtil.getEnum(PROPERTY, TimeUnit.SECONDS));
+        System.setProperty(PROPERTY, "minutes");
+        assertEquals(TimeUnit.MINUTES, SystemPropertyUtil.getEnum(PROPERTY, TimeUnit.SECONDS));
+        System.setProperty(PROPERTY, "fortnights");
+        assertEquals(TimeUnit.SECONDS, SystemPropertyUtil.getEnum(PROPERTY, TimeUnit.SECONDS));
+    }
+}
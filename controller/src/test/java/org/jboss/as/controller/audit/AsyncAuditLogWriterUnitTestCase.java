@@ -0,0 +1,265 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.audit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link AsyncAuditLogWriter}.
+ */
+public class AsyncAuditLogWriterUnitTestCase {
+
+    private final ReentrantLock configLock = new ReentrantLock(true);
+    private final List<AsyncAuditLogWriter> writers = new ArrayList<>();
+
+    @After
+    public void stopWriters() {
+        for (AsyncAuditLogWriter writer : writers) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    public void testItemsWrittenInOrderPerHandler() {
+        AsyncAuditLogWriter writer = createWriter(100, AsyncAuditLogWriter.OverflowPolicy.SYNC);
+        RecordingHandler one = new RecordingHandler("one");
+        RecordingHandler two = new RecordingHandler("two");
+        for (int i = 0; i < 10; i++) {
+            writer.write(Arrays.asList(one, two), Arrays.asList("one-" + i, "two-" + i));
+        }
+        writer.write(Collections.singletonList(two), Collections.singletonList("two-10"));
+        writer.flush();
+
+        Assert.assertEquals(10, one.getItems().size());
+        Assert.assertEquals(11, two.getItems().size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("one-" + i, one.getItems().get(i));
+            Assert.assertEquals("two-" + i, two.getItems().get(i));
+        }
+        Assert.assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    public void testDropWhenFull() throws Exception {
+        AsyncAuditLogWriter writer = createWriter(1, AsyncAuditLogWriter.OverflowPolicy.DROP);
+        BlockingHandler handler = new BlockingHandler();
+        List<AuditLogHandler> handlers = Collections.singletonList(handler);
+
+        writer.write(handlers, Collections.singletonList("first"));
+        // The writer thread is now stuck writing the first item, so the queue has room for exactly one more
+        Assert.assertTrue(handler.writing.await(10, TimeUnit.SECONDS));
+        writer.write(handlers, Collections.singletonList("second"));
+        writer.write(handlers, Collections.singletonList("third"));
+        Assert.assertEquals(1, writer.getDroppedCount());
+        Assert.assertEquals(1, writer.getMaxQueueDepth());
+
+        handler.release.countDown();
+        writer.flush();
+        Assert.assertEquals(Arrays.asList("first", "second"), handler.getItems());
+    }
+
+    @Test
+    public void testSyncWhenFull() throws Exception {
+        AsyncAuditLogWriter writer = createWriter(1, AsyncAuditLogWriter.OverflowPolicy.SYNC);
+        BlockingHandler handler = new BlockingHandler();
+        List<AuditLogHandler> handlers = Collections.singletonList(handler);
+
+        writer.write(handlers, Collections.singletonList("first"));
+        Assert.assertTrue(handler.writing.await(10, TimeUnit.SECONDS));
+        writer.write(handlers, Collections.singletonList("second"));
+        handler.release.countDown();
+        // Full, so this waits for the writer thread and then writes the second and third items itself
+        writer.write(handlers, Collections.singletonList("third"));
+        writer.flush();
+
+        Assert.assertEquals(Arrays.asList("first", "second", "third"), handler.getItems());
+        Assert.assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    public void testBlockWhenFull() throws Exception {
+        AsyncAuditLogWriter writer = createWriter(1, AsyncAuditLogWriter.OverflowPolicy.BLOCK);
+        BlockingHandler handler = new BlockingHandler();
+        List<AuditLogHandler> handlers = Collections.singletonList(handler);
+
+        writer.write(handlers, Collections.singletonList("first"));
+        Assert.assertTrue(handler.writing.await(10, TimeUnit.SECONDS));
+        writer.write(handlers, Collections.singletonList("second"));
+        // Full, so this waits for the writer thread to take the second item
+        CountDownLatch written = new CountDownLatch(1);
+        Thread caller = new Thread(() -> {
+            writer.write(handlers, Collections.singletonList("third"));
+            written.countDown();
+        });
+        caller.start();
+        Assert.assertFalse(written.await(100, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(Collections.emptyList(), handler.getItems());
+
+        handler.release.countDown();
+        Assert.assertTrue(written.await(10, TimeUnit.SECONDS));
+        writer.flush();
+        Assert.assertEquals(Arrays.asList("first", "second", "third"), handler.getItems());
+        Assert.assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    public void testWritesWithoutConfigLock() throws Exception {
+        AsyncAuditLogWriter writer = createWriter(100, AsyncAuditLogWriter.OverflowPolicy.SYNC);
+        RecordingHandler handler = new RecordingHandler("handler");
+        configLock.lock();
+        try {
+            writer.write(Collections.singletonList(handler), Collections.singletonList("item"));
+            // The writer thread does not need the lock the callers hold
+            long deadline = System.currentTimeMillis() + 10000;
+            while (handler.getItems().isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(Collections.singletonList("item"), handler.getItems());
+        } finally {
+            configLock.unlock();
+        }
+    }
+
+    @Test
+    public void testFlushWaitsForWriter() throws Exception {
+        AsyncAuditLogWriter writer = createWriter(100, AsyncAuditLogWriter.OverflowPolicy.SYNC);
+        BlockingHandler handler = new BlockingHandler();
+        List<AuditLogHandler> handlers = Collections.singletonList(handler);
+
+        writer.write(handlers, Collections.singletonList("first"));
+        Assert.assertTrue(handler.writing.await(10, TimeUnit.SECONDS));
+        writer.write(handlers, Collections.singletonList("second"));
+        CountDownLatch flushed = new CountDownLatch(1);
+        Thread flusher = new Thread(() -> {
+            writer.flush();
+            flushed.countDown();
+        });
+        flusher.start();
+        // The writer thread is still writing the first item
+        Assert.assertFalse(flushed.await(100, TimeUnit.MILLISECONDS));
+
+        handler.release.countDown();
+        Assert.assertTrue(flushed.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(Arrays.asList("first", "second"), handler.getItems());
+        Assert.assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        AsyncAuditLogWriter writer = createWriter(100, AsyncAuditLogWriter.OverflowPolicy.SYNC);
+        RecordingHandler handler = new RecordingHandler("handler");
+        configLock.lock();
+        try {
+            writer.write(Collections.singletonList(handler), Collections.singletonList("first"));
+        } finally {
+            configLock.unlock();
+        }
+        Thread thread = findWriterThread();
+        Assert.assertNotNull(thread);
+        writer.stop();
+        Assert.assertFalse(thread.isAlive());
+        Assert.assertEquals(Collections.singletonList("first"), handler.getItems());
+
+        // Writing again starts a new thread
+        writer.write(Collections.singletonList(handler), Collections.singletonList("second"));
+        writer.stop();
+        Assert.assertNull(findWriterThread());
+        Assert.assertEquals(Arrays.asList("first", "second"), handler.getItems());
+    }
+
+    private AsyncAuditLogWriter createWriter(int queueSize, AsyncAuditLogWriter.OverflowPolicy overflowPolicy) {
+        AsyncAuditLogWriter writer = new AsyncAuditLogWriter(queueSize, overflowPolicy);
+        writers.add(writer);
+        return writer;
+    }
+
+    private static Thread findWriterThread() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("management-audit-log-writer") && thread.isAlive()) {
+                return thread;
+            }
+        }
+        return null;
+    }
+
+    private static class RecordingHandler extends AuditLogHandler {
+        private final List<String> items = new ArrayList<>();
+
+        RecordingHandler(String name) {
+            super(name, "formatter", 10);
+        }
+
+        synchronized List<String> getItems() {
+            return new ArrayList<>(items);
+        }
+
+        @Override
+        boolean isDifferent(AuditLogHandler other) {
+            return other != this;
+        }
+
+        @Override
+        void initialize() {
+        }
+
+        @Override
+        void stop() {
+        }
+
+        @Override
+        synchronized void writeLogItem(String formattedItem) throws IOException {
+            items.add(formattedItem);
+        }
+    }
+
+    private static class BlockingHandler extends RecordingHandler {
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        BlockingHandler() {
+            super("blocking");
+        }
+
+        @Override
+        void writeLogItems(List<String> formattedItems) throws IOException {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.writeLogItems(formattedItems);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.parsing.ParseUtils;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link BootOperationCache} and its use by {@link XmlConfigurationPersister}.
+ */
+public class BootOperationCacheUnitTestCase {
+
+    private static final QName ROOT = new QName("urn:jboss:domain:test:1.0", "server");
+    private static final List<String> NO_INPUTS = Collections.emptyList();
+
+    private Path dir;
+    private File configFile;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("boot-operation-cache");
+        configFile = dir.resolve("standalone.xml").toFile();
+        Files.write(configFile.toPath(), "<server/>".getBytes(StandardCharsets.UTF_8));
+        System.setProperty(BootOperationCache.DIRECTORY_PROPERTY, dir.resolve("cache").toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        System.clearProperty(BootOperationCache.DIRECTORY_PROPERTY);
+        System.clearProperty("module.path");
+        System.clearProperty("jboss.home.dir");
+        Files.walk(dir).sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        System.clearProperty(BootOperationCache.DIRECTORY_PROPERTY);
+        Assert.assertNull(BootOperationCache.create(configFile, ROOT, NO_INPUTS));
+    }
+
+    @Test
+    public void testStoreAndLoad() {
+        BootOperationCache cache = BootOperationCache.create(configFile, ROOT, NO_INPUTS);
+        Assert.assertNull(cache.load());
+
+        List<ModelNode> operations = createOperations();
+        cache.store(operations);
+        Assert.assertEquals(operations, BootOperationCache.create(configFile, ROOT, NO_INPUTS).load());
+
+        // A different root element is a different configuration
+        Assert.assertNull(BootOperationCache.create(configFile, new QName(ROOT.getNamespaceURI(), "host"), NO_INPUTS).load());
+    }
+
+    @Test
+    public void testChangedConfigurationNotLoaded() throws Exception {
+        BootOperationCache.create(configFile, ROOT, NO_INPUTS).store(createOperations());
+        Files.write(configFile.toPath(), "<server></server>".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNull(BootOperationCache.create(configFile, ROOT, NO_INPUTS).load());
+    }
+
+    @Test
+    public void testParserInputsInKey() {
+        List<String> inputs = Arrays.asList("host-one", "NORMAL", "false");
+        BootOperationCache.create(configFile, ROOT, inputs).store(createOperations());
+        Assert.assertEquals(createOperations(), BootOperationCache.create(configFile, ROOT, Arrays.asList("host-one", "NORMAL", "false")).load());
+        Assert.assertNull(BootOperationCache.create(configFile, ROOT, Arrays.asList("host-two", "NORMAL", "false")).load());
+        Assert.assertNull(BootOperationCache.create(configFile, ROOT, Arrays.asList("host-one", "ADMIN_ONLY", "false")).load());
+        Assert.assertNull(BootOperationCache.create(configFile, ROOT, NO_INPUTS).load());
+    }
+
+    @Test
+    public void testChangedModulesNotLoaded() throws Exception {
+        Path modules = Files.createDirectories(dir.resolve("modules"));
+        Path module = Files.createDirectories(modules.resolve("system").resolve("layers").resolve("base").resolve("org").resolve("foo").resolve("main"));
+        Path moduleXml = Files.write(module.resolve("module.xml"), "<module name=\"org.foo\"><resources><resource-root path=\"foo-1.0.jar\"/></resources></module>".getBytes(StandardCharsets.UTF_8));
+        System.setProperty("module.path", modules.toString());
+        BootOperationCache.create(configFile, ROOT, NO_INPUTS).store(createOperations());
+        Assert.assertNotNull(BootOperationCache.create(configFile, ROOT, NO_INPUTS).load());
+
+        // Same size and modification time, different content
+        FileTime modified = Files.getLastModifiedTime(moduleXml);
+        Files.write(moduleXml, "<module name=\"org.foo\"><resources><resource-root path=\"foo-1.1.jar\"/></resources></module>".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(moduleXml, modified);
+        Assert.assertNull(BootOperationCache.create(configFile, ROOT, NO_INPUTS).load());
+    }
+
+    @Test
+    public void testPatchedInstallationNotLoaded() throws Exception {
+        Path installation = Files.createDirectories(dir.resolve(".installation"));
+        System.setProperty("jboss.home.dir", dir.toString());
+        BootOperationCache.create(configFile, ROOT, NO_INPUTS).store(createOperations());
+        Assert.assertNotNull(BootOperationCache.create(configFile, ROOT, NO_INPUTS).load());
+
+        Files.write(installation.resolve("installation.conf"), "cumulative-patch-id=base-1".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNull(BootOperationCache.create(configFile, ROOT, NO_INPUTS).load());
+    }
+
+    @Test
+    public void testCacheHitReplaysParsingSideEffects() throws Exception {
+        Files.write(configFile.toPath(), ("<server xmlns=\"" + ROOT.getNamespaceURI() + "\"/>").getBytes(StandardCharsets.UTF_8));
+        AtomicInteger parsed = new AtomicInteger();
+        List<List<ModelNode>> handled = new ArrayList<>();
+        XmlConfigurationPersister persister = new XmlConfigurationPersister(configFile, ROOT, (reader, operations) -> {
+            ParseUtils.requireNoContent(reader);
+            parsed.incrementAndGet();
+            operations.addAll(createOperations());
+        }, null);
+        persister.enableBootOperationCache(handled::add);
+
+        Assert.assertEquals(createOperations(), persister.load());
+        Assert.assertEquals(1, parsed.get());
+        Assert.assertTrue(handled.isEmpty());
+
+        Assert.assertEquals(createOperations(), persister.load());
+        Assert.assertEquals(1, parsed.get());
+        Assert.assertEquals(Collections.singletonList(createOperations()), handled);
+    }
+
+    @Test
+    public void testCorruptCacheNotLoaded() throws Exception {
+        BootOperationCache.create(configFile, ROOT, NO_INPUTS).store(createOperations());
+        Path cacheFile = dir.resolve("cache").resolve("standalone.xml.bootops");
+        byte[] bytes = Files.readAllBytes(cacheFile);
+        Files.write(cacheFile, Arrays.copyOf(bytes, bytes.length - 3));
+        Assert.assertNull(BootOperationCache.create(configFile, ROOT, NO_INPUTS).load());
+    }
+
+    private static List<ModelNode> createOperations() {
+        ModelNode extension = Util.createAddOperation(PathAddress.pathAddress("extension", "org.jboss.as.logging"));
+        ModelNode property = Util.createAddOperation(PathAddress.pathAddress("system-property", "foo"));
+        property.get("value").set("${bar:baz}");
+        return Arrays.asList(extension, property);
+    }
+}
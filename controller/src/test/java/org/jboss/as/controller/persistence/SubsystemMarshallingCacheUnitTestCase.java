@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link SubsystemMarshallingCache}.
+ */
+public class SubsystemMarshallingCacheUnitTestCase {
+
+    private static final XMLElementWriter<ModelMarshallingContext> ROOT_WRITER = (writer, context) -> {
+        writer.writeStartDocument();
+        writer.writeStartElement("server");
+        final ModelNode subsystems = context.getModelNode().get("subsystem");
+        for (String name : subsystems.keys()) {
+            context.getSubsystemWriter(name).writeContent(writer, new SubsystemMarshallingContext(subsystems.get(name), writer));
+        }
+        writer.writeEndElement();
+        writer.writeEndDocument();
+    };
+
+    private final AtomicInteger aCount = new AtomicInteger();
+    private final AtomicInteger bCount = new AtomicInteger();
+
+    @Test
+    public void testUnchangedSubsystemsReplayed() throws Exception {
+        final AbstractConfigurationPersister persister = createPersister();
+        final ModelNode model = createModel();
+        final String first = marshal(persister, model);
+        Assert.assertEquals(first, marshal(persister, model));
+        Assert.assertEquals(first, marshal(persister, createModel()));
+        Assert.assertEquals(1, aCount.get());
+        Assert.assertEquals(1, bCount.get());
+        Assert.assertTrue(first, first.contains("<item name=\"x\" value=\"1\"/>"));
+    }
+
+    @Test
+    public void testChangedSubsystemMarshalled() throws Exception {
+        final AbstractConfigurationPersister persister = createPersister();
+        marshal(persister, createModel());
+
+        final ModelNode model = createModel();
+        model.get("subsystem", "b", "item", "z", "value").set(3);
+        final String changed = marshal(persister, model);
+        Assert.assertEquals(1, aCount.get());
+        Assert.assertEquals(2, bCount.get());
+        Assert.assertEquals(marshal(createPersister(), model), changed);
+    }
+
+    @Test
+    public void testReorderedSubsystemMarshalled() throws Exception {
+        final AbstractConfigurationPersister persister = createPersister();
+        marshal(persister, createModel());
+
+        final ModelNode model = createModel();
+        final ModelNode items = model.get("subsystem", "a", "item");
+        final ModelNode x = items.remove("x");
+        items.get("x").set(x);
+        final String reordered = marshal(persister, model);
+        Assert.assertEquals(2, aCount.get());
+        Assert.assertEquals(marshal(createPersister(), model), reordered);
+    }
+
+    @Test
+    public void testReregisteredWriterUsed() throws Exception {
+        final AbstractConfigurationPersister persister = createPersister();
+        final ModelNode model = createModel();
+        marshal(persister, model);
+
+        final AtomicInteger count = new AtomicInteger();
+        persister.unregisterSubsystemWriter("b");
+        persister.registerSubsystemWriter("b", () -> new TestSubsystemWriter("urn:test:b", count));
+        marshal(persister, model);
+        Assert.assertEquals(1, count.get());
+        Assert.assertEquals(1, bCount.get());
+    }
+
+    @SuppressWarnings("deprecation")
+    private AbstractConfigurationPersister createPersister() {
+        final XmlConfigurationPersister persister = new XmlConfigurationPersister(new File("unused.xml"), new QName("server"), null, ROOT_WRITER);
+        persister.registerSubsystemWriter("a", new TestSubsystemWriter("urn:test:a", aCount));
+        persister.registerSubsystemWriter("b", () -> new TestSubsystemWriter("urn:test:b", bCount));
+        return persister;
+    }
+
+    private static ModelNode createModel() {
+        final ModelNode model = new ModelNode();
+        model.get("subsystem", "a", "item", "x", "value").set(1);
+        model.get("subsystem", "a", "item", "y", "value").set(2);
+        model.get("subsystem", "b", "item", "z", "value").set(1);
+        return model;
+    }
+
+    private static String marshal(final AbstractConfigurationPersister persister, final ModelNode model) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        persister.marshallAsXml(model, output);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static final class TestSubsystemWriter implements XMLElementWriter<SubsystemMarshallingContext> {
+        private final String namespace;
+        private final AtomicInteger count;
+
+        private TestSubsystemWriter(final String namespace, final AtomicInteger count) {
+            this.namespace = namespace;
+            this.count = count;
+        }
+
+        @Override
+        public void writeContent(final XMLExtendedStreamWriter writer, final SubsystemMarshallingContext context) throws XMLStreamException {
+            count.incrementAndGet();
+            context.startSubsystemElement(namespace, false);
+            final ModelNode model = context.getModelNode();
+            if (model.hasDefined("item")) {
+                for (Property item : model.get("item").asPropertyList()) {
+                    writer.writeEmptyElement("item");
+                    writer.writeAttribute("name", item.getName());
+                    writer.writeAttribute("value", item.getValue().get("value").asString());
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+}
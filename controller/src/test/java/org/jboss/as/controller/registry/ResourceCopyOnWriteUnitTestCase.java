@@ -0,0 +1,194 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.junit.Test;
+
+/**
+ * Tests of the copy-on-write behavior of {@link AbstractModelResource#clone()} for
+ * {@link AbstractModelResource#freeze(Resource) frozen} resource trees.
+ */
+public class ResourceCopyOnWriteUnitTestCase {
+
+    private static final PathElement SUBSYSTEM_A = PathElement.pathElement("subsystem", "a");
+    private static final PathElement SUBSYSTEM_B = PathElement.pathElement("subsystem", "b");
+    private static final PathElement CHILD = PathElement.pathElement("child", "one");
+
+    @Test
+    public void testCloneOfFrozenTreeIsIndependent() {
+        Resource original = createTree();
+        AbstractModelResource.freeze(original);
+
+        Resource clone = original.clone();
+        AbstractModelResource.openForUpdate(clone);
+        clone.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").set("changed");
+        clone.requireChild(SUBSYSTEM_B).registerChild(CHILD, Resource.Factory.create());
+        clone.removeChild(SUBSYSTEM_A);
+
+        assertEquals("a-child", original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertFalse(original.requireChild(SUBSYSTEM_B).hasChild(CHILD));
+        assertTrue(original.hasChild(SUBSYSTEM_A));
+
+        assertFalse(clone.hasChild(SUBSYSTEM_A));
+        assertTrue(clone.requireChild(SUBSYSTEM_B).hasChild(CHILD));
+    }
+
+    @Test
+    public void testFrozenTreeHandsOutItsOwnChildren() {
+        Resource original = createTree();
+        AbstractModelResource.freeze(original);
+        original.clone();
+
+        // Reading the frozen tree must not replace its children with copies
+        assertSame(original.getChild(SUBSYSTEM_A), original.getChild(SUBSYSTEM_A));
+    }
+
+    @Test
+    public void testCloneCopiesChildOnlyOnce() {
+        Resource original = createTree();
+        AbstractModelResource.freeze(original);
+
+        Resource clone = original.clone();
+        Resource copy = AbstractModelResource.getChildForUpdate(clone, SUBSYSTEM_A);
+        assertNotSame(original.getChild(SUBSYSTEM_A), copy);
+        assertSame(copy, AbstractModelResource.getChildForUpdate(clone, SUBSYSTEM_A));
+        assertSame(copy, clone.getChild(SUBSYSTEM_A));
+    }
+
+    @Test
+    public void testPlainReadOfCloneDoesNotCopy() {
+        Resource original = createTree();
+        AbstractModelResource.freeze(original);
+
+        Resource clone = original.clone();
+        Resource.Tools.readModel(clone);
+
+        assertSame(original.getChild(SUBSYSTEM_A), clone.getChild(SUBSYSTEM_A));
+        assertSame(original.getChild(SUBSYSTEM_B), clone.getChild(SUBSYSTEM_B));
+        assertSame(original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)),
+                clone.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)));
+    }
+
+    @Test
+    public void testReadModelAfterWriteKeepsSiblingsShared() {
+        Resource original = createTree();
+        AbstractModelResource.freeze(original);
+
+        Resource clone = original.clone();
+        Resource.Tools.readModel(clone);
+        // Write a single attribute the way OperationContext.readResourceForUpdate navigates to it
+        Resource a = AbstractModelResource.getChildForUpdate(clone, SUBSYSTEM_A);
+        Resource aChild = AbstractModelResource.getChildForUpdate(a, CHILD);
+        AbstractModelResource.openForUpdate(aChild);
+        aChild.getModel().get("attr").set("changed");
+        // As done when the modified model is persisted
+        Resource.Tools.readModel(clone);
+
+        assertSame(original.getChild(SUBSYSTEM_B), clone.getChild(SUBSYSTEM_B));
+        assertNotSame(original.getChild(SUBSYSTEM_A), clone.getChild(SUBSYSTEM_A));
+        assertEquals("changed", clone.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertEquals("a-child", original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+    }
+
+    @Test
+    public void testOpenedResourceHandsOutCopies() {
+        Resource original = createTree();
+        AbstractModelResource.freeze(original);
+
+        Resource clone = original.clone();
+        AbstractModelResource.openForUpdate(clone);
+        for (Resource.ResourceEntry entry : clone.getChildren(SUBSYSTEM_A.getKey())) {
+            if (entry.hasChild(CHILD)) {
+                entry.requireChild(CHILD).getModel().get("attr").set("changed");
+            }
+        }
+
+        assertEquals("a-child", original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertEquals("changed", clone.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+    }
+
+    @Test
+    public void testFreezeClearsOpenForUpdate() {
+        Resource original = createTree();
+        AbstractModelResource.freeze(original);
+
+        Resource clone = original.clone();
+        AbstractModelResource.openForUpdate(clone);
+        clone.requireChild(SUBSYSTEM_A);
+        AbstractModelResource.freeze(clone);
+
+        Resource next = clone.clone();
+        assertSame(clone.getChild(SUBSYSTEM_A), next.getChild(SUBSYSTEM_A));
+        assertSame(clone.getChild(SUBSYSTEM_A), clone.getChild(SUBSYSTEM_A));
+    }
+
+    @Test
+    public void testCloneOfModifiedCloneIsIndependent() {
+        Resource original = createTree();
+        AbstractModelResource.freeze(original);
+
+        Resource clone = original.clone();
+        AbstractModelResource.openForUpdate(clone);
+        Resource child = clone.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD));
+        child.getModel().get("attr").set("first");
+
+        Resource second = clone.clone();
+        child.getModel().get("attr").set("second");
+
+        assertEquals("first", second.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertEquals("a-child", original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+    }
+
+    @Test
+    public void testUnfrozenTreeIsFullyCopied() {
+        Resource original = createTree();
+
+        Resource clone = original.clone();
+        original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").set("changed");
+
+        assertEquals("a-child", clone.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+    }
+
+    private static Resource createTree() {
+        Resource root = Resource.Factory.create();
+        root.getModel().get("attr").set("root");
+        Resource a = Resource.Factory.create();
+        a.getModel().get("attr").set("a");
+        Resource aChild = Resource.Factory.create();
+        aChild.getModel().get("attr").set("a-child");
+        a.registerChild(CHILD, aChild);
+        root.registerChild(SUBSYSTEM_A, a);
+        Resource b = Resource.Factory.create();
+        b.getModel().get("attr").set("b");
+        root.registerChild(SUBSYSTEM_B, b);
+        return root;
+    }
+}
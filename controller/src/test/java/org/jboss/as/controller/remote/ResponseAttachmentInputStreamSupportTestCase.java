@@ -53,7 +53,7 @@ import org.junit.Test;
  */
 public class ResponseAttachmentInputStreamSupportTestCase {
 
-    private static final byte[] data = new byte[8193];
+    private static final byte[] data = new byte[ResponseAttachmentInputStreamSupport.CHUNK_SIZE + 1];
 
     @Test
     public void testReadHandler() throws IOException {
@@ -78,7 +78,7 @@ public class ResponseAttachmentInputStreamSupportTestCase {
 
         Assert.assertEquals(ModelControllerProtocol.PARAM_INPUTSTREAM_LENGTH, di.readByte());
         int length = di.readInt();
-        Assert.assertEquals(8192, length);
+        Assert.assertEquals(ResponseAttachmentInputStreamSupport.CHUNK_SIZE, length);
         Assert.assertEquals(ModelControllerProtocol.PARAM_INPUTSTREAM_CONTENTS, di.readByte());
         di.readFully(new byte[length]);
         Assert.assertEquals(ModelControllerProtocol.PARAM_INPUTSTREAM_LENGTH, di.readByte());
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2023 Red Hat, inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package org.jboss.as.repository;
+
+import java.util.Arrays;
+
+/**
+ * A chunk of content, as produced by {@link ContentChunker}.
+ */
+public final class ContentChunk {
+
+    private final byte[] hash;
+    private final int size;
+
+    public ContentChunk(byte[] hash, int size) {
+        this.hash = hash;
+        this.size = size;
+    }
+
+    /**
+     * Gets the SHA-1 hash of the bytes of the chunk.
+     *
+     * @return the hash
+     */
+    public byte[] getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the number of bytes in the chunk.
+     *
+     * @return the size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(hash) + size;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ContentChunk)) {
+            return false;
+        }
+        final ContentChunk other = (ContentChunk) obj;
+        return size == other.size && Arrays.equals(hash, other.hash);
+    }
+
+    @Override
+    public String toString() {
+        return HashUtil.bytesToHexString(hash) + '[' + size + ']';
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2023 Red Hat, inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package org.jboss.as.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
+
+/**
+ * Index of the {@link ContentChunk chunks} of the archives stored in a {@link ContentRepositoryImpl}, used to
+ * assemble new content from the chunks the repository already holds.
+ * <p>
+ * The chunks are not stored separately: deployments are mounted straight from the content file, so each
+ * content is kept whole and the index records where each chunk can be read from. The list of chunks of a content
+ * is stored in a manifest next to its content file, so it is removed along with the content.
+ */
+final class ContentChunkIndex {
+
+    static final String MANIFEST = "content.chunks";
+
+    private final Path repoRoot;
+    private final Map<String, Location> locations = new HashMap<>();
+    private boolean loaded;
+
+    ContentChunkIndex(Path repoRoot) {
+        this.repoRoot = repoRoot;
+    }
+
+    /**
+     * Indexes the chunks of a content file, if it was not already indexed.
+     *
+     * @param contentFile the content file in the repository
+     */
+    void index(Path contentFile) {
+        if (!Files.isRegularFile(contentFile)) {
+            // exploded content
+            return;
+        }
+        final Path manifest = contentFile.resolveSibling(MANIFEST);
+        if (Files.exists(manifest)) {
+            return;
+        }
+        try {
+            final List<ContentChunk> chunks;
+            try (InputStream in = Files.newInputStream(contentFile)) {
+                chunks = ContentChunker.chunk(in);
+            }
+            final Path tmp = Files.createTempFile(contentFile.getParent(), MANIFEST, ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.writeInt(chunks.size());
+                    for (ContentChunk chunk : chunks) {
+                        out.writeShort(chunk.getHash().length);
+                        out.write(chunk.getHash());
+                        out.writeInt(chunk.getSize());
+                    }
+                }
+                Files.move(tmp, manifest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            synchronized (this) {
+                if (loaded) {
+                    register(contentFile, chunks);
+                }
+            }
+        } catch (IOException e) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.cannotIndexContentChunks(e, contentFile.toString());
+        }
+    }
+
+    /**
+     * Finds where a chunk can be read from.
+     *
+     * @param hash the hash of the chunk
+     * @return the location of the chunk, or {@code null} if the repository does not hold it
+     */
+    synchronized Location find(byte[] hash) {
+        if (!loaded) {
+            load();
+            loaded = true;
+        }
+        final String key = HashUtil.bytesToHexString(hash);
+        final Location location = locations.get(key);
+        if (location != null && !Files.exists(location.file)) {
+            // the content was removed, forget all its chunks
+            locations.values().removeIf(l -> l.file.equals(location.file));
+            return null;
+        }
+        return location;
+    }
+
+    private void load() {
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(repoRoot, Files::isDirectory)) {
+            for (Path part : parts) {
+                try (DirectoryStream<Path> hashDirs = Files.newDirectoryStream(part, Files::isDirectory)) {
+                    for (Path hashDir : hashDirs) {
+                        final Path manifest = hashDir.resolve(MANIFEST);
+                        final Path contentFile = hashDir.resolve(ContentRepositoryImpl.CONTENT);
+                        if (Files.isRegularFile(manifest) && Files.isRegularFile(contentFile)) {
+                            register(contentFile, readManifest(manifest));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            DeploymentRepositoryLogger.ROOT_LOGGER.cannotIndexContentChunks(e, repoRoot.toString());
+        }
+    }
+
+    private static List<ContentChunk> readManifest(Path manifest) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifest)))) {
+            final int count = in.readInt();
+            final List<ContentChunk> chunks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final byte[] hash = new byte[in.readUnsignedShort()];
+                in.readFully(hash);
+                chunks.add(new ContentChunk(hash, in.readInt()));
+            }
+            return chunks;
+        }
+    }
+
+    private void register(Path contentFile, List<ContentChunk> chunks) {
+        long offset = 0;
+        for (ContentChunk chunk : chunks) {
+            locations.putIfAbsent(HashUtil.bytesToHexString(chunk.getHash()), new Location(contentFile, offset, chunk.getSize()));
+            offset += chunk.getSize();
+        }
+    }
+
+    static final class Location {
+        final Path file;
+        final long offset;
+        final int size;
+
+        private Location(Path file, long offset, int size) {
+            this.file = file;
+            this.offset = offset;
+            this.size = size;
+        }
+    }
+}
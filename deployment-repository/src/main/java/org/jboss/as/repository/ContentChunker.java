@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2023 Red Hat, inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package org.jboss.as.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
+
+/**
+ * Splits content into chunks whose boundaries depend on the content itself, so that inserting or removing bytes
+ * only changes the chunks around the change. Two versions of an archive that differ in a single entry therefore
+ * share most of their chunks.
+ * <p>
+ * Boundaries are found with a gear rolling hash: for each byte {@code b} the hash is updated to
+ * {@code (hash << 1) + GEAR[b]} and a chunk ends once it holds at least {@link #MIN_CHUNK_SIZE} bytes and the top
+ * 16 bits of the hash are zero, or when it reaches {@link #MAX_CHUNK_SIZE} bytes. The {@code GEAR} table is filled
+ * with the output of SplitMix64 seeded with {@code 0}. Clients uploading chunks must split content the same way.
+ */
+public final class ContentChunker {
+
+    public static final int MIN_CHUNK_SIZE = 16 * 1024;
+    public static final int MAX_CHUNK_SIZE = 256 * 1024;
+
+    private static final long BOUNDARY_MASK = 0xFFFFL << 48;
+    private static final long[] GEAR = new long[256];
+
+    static {
+        long state = 0;
+        for (int i = 0; i < GEAR.length; i++) {
+            long z = (state += 0x9E3779B97F4A7C15L);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            GEAR[i] = z ^ (z >>> 31);
+        }
+    }
+
+    private ContentChunker() {
+    }
+
+    /**
+     * Splits the content of a stream into chunks. The stream is read to its end but not closed.
+     *
+     * @param stream the content
+     * @return the chunks, in the order of the content. Empty if the stream is empty
+     * @throws IOException if the stream cannot be read
+     */
+    public static List<ContentChunk> chunk(InputStream stream) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+        }
+        final List<ContentChunk> chunks = new ArrayList<>();
+        final byte[] buffer = new byte[64 * 1024];
+        long hash = 0;
+        int size = 0;
+        int read;
+        while ((read = stream.read(buffer)) > -1) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                hash = (hash << 1) + GEAR[buffer[i] & 0xFF];
+                size++;
+                if ((size >= MIN_CHUNK_SIZE && (hash & BOUNDARY_MASK) == 0) || size >= MAX_CHUNK_SIZE) {
+                    digest.update(buffer, start, i + 1 - start);
+                    chunks.add(new ContentChunk(digest.digest(), size));
+                    start = i + 1;
+                    hash = 0;
+                    size = 0;
+                }
+            }
+            digest.update(buffer, start, read - start);
+        }
+        if (size > 0) {
+            chunks.add(new ContentChunk(digest.digest(), size));
+        }
+        return chunks;
+    }
+}
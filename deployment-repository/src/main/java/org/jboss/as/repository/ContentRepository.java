@@ -76,6 +76,35 @@ public interface ContentRepository {
      */
     byte[] addContent(InputStream stream) throws IOException;
 
+    /**
+     * Gets which of the given chunks of content, as produced by {@link ContentChunker}, the repository does not hold
+     * and so must be included in the stream passed to {@link #addContent(List, InputStream)}.
+     *
+     * @param chunkHashes the hashes of the chunks of some content. Cannot be {@code null}
+     * @return the hashes of the missing chunks, without duplicates, in the order of their first occurrence in
+     * {@code chunkHashes}. Will not be {@code null}
+     */
+    default List<byte[]> getMissingChunks(List<byte[]> chunkHashes) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Add content to the repository from its chunks, reusing the chunks the repository already holds.
+     * If the repository content changed since {@link #getMissingChunks(List)} was called the stream may not
+     * contain the expected chunks; the content is then rejected and the upload should be retried.
+     *
+     * @param chunks the chunks of the content, in order. Cannot be {@code null}
+     * @param missingChunks stream from which the content of each chunk reported by {@link #getMissingChunks(List)}
+     *                      can be read, once and in the order of the first occurrence of the chunk in {@code chunks}.
+     *                      Cannot be {@code null}
+     * @return the hash of the content that will be used as an internal identifier for the content. Will not be
+     * <code>null</code>
+     * @throws IOException if there is a problem reading the stream or the content of a chunk does not match its hash
+     */
+    default byte[] addContent(List<ContentChunk> chunks, InputStream missingChunks) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Adds a reference to the content.
      *
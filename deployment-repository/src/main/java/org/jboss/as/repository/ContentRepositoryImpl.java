@@ -20,6 +20,8 @@
  */
 package org.jboss.as.repository;
 
+import static java.lang.System.getSecurityManager;
+import static java.security.AccessController.doPrivileged;
 import static org.jboss.as.repository.PathUtil.copyRecursively;
 import static org.jboss.as.repository.PathUtil.createTempDirectory;
 import static org.jboss.as.repository.PathUtil.deleteRecursively;
@@ -28,17 +30,24 @@ import static org.jboss.as.repository.PathUtil.getFileExtension;
 import static org.jboss.as.repository.PathUtil.isArchive;
 import static org.jboss.as.repository.PathUtil.resolveSecurely;
 
-import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.security.DigestOutputStream;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -66,14 +75,19 @@ import org.wildfly.common.Assert;
 public class ContentRepositoryImpl implements ContentRepository {
 
     protected static final String CONTENT = "content";
+    static final String CHUNK_INDEX_PROPERTY = "org.wildfly.deployment.repository.chunk-index";
+    private static final int BUFFER_SIZE = 64 * 1024;
     private final File repoRoot;
     private final File tmpRoot;
     protected final AtomicReference<MessageDigest> messageDigestRef;
+    // a direct buffer for copying files, reused as the digest is
+    private final AtomicReference<ByteBuffer> directBufferRef = new AtomicReference<>();
     private final Map<String, Set<ContentReference>> contentHashReferences = new HashMap<>();
     private final Map<String, ReentrantLock> lockedContents = new HashMap<>();
     private final Map<String, Long> obsoleteContents = new HashMap<>();
     private final long obsolescenceTimeout;
     private final long lockTimeout;
+    private final ContentChunkIndex chunkIndex;
     private volatile boolean readWrite = false;
 
     protected ContentRepositoryImpl(final File repoRoot, final File tmpRoot, long obsolescenceTimeout, long lockTimeout) {
@@ -86,6 +100,10 @@ public class ContentRepositoryImpl implements ContentRepository {
         this.obsolescenceTimeout = obsolescenceTimeout;
         this.lockTimeout = lockTimeout;
         this.messageDigestRef = new AtomicReference<>(createMessageDigest());
+        // Index the chunks of the stored archives so new versions of them can be uploaded by sending only the chunks that changed
+        final String chunkIndexEnabled = getSecurityManager() == null ? System.getProperty(CHUNK_INDEX_PROPERTY)
+                : doPrivileged((PrivilegedAction<String>) () -> System.getProperty(CHUNK_INDEX_PROPERTY));
+        this.chunkIndex = Boolean.parseBoolean(chunkIndexEnabled) ? new ContentChunkIndex(repoRoot.toPath()) : null;
     }
 
     private void checkDirectory(final File directory) {
@@ -115,23 +133,110 @@ public class ContentRepositoryImpl implements ContentRepository {
         byte[] sha1Bytes;
         Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
         if (stream != null) {
-            try (OutputStream fos = Files.newOutputStream(tmp); MessageDigestHandle digestHandle = new MessageDigestHandle()) {
-                MessageDigest messageDigest = digestHandle.getMessageDigest();
-                DigestOutputStream dos = new DigestOutputStream(fos, messageDigest);
-                BufferedInputStream bis = new BufferedInputStream(stream);
-                byte[] bytes = new byte[8192];
-                int read;
-                while ((read = bis.read(bytes)) > -1) {
-                    dos.write(bytes, 0, read);
+            if (stream.getClass() == FileInputStream.class) {
+                // Read the file through its channel, from the stream's current position. The channel is not
+                // closed, as that would close the stream, which belongs to the caller.
+                try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                     MessageDigestHandle digestHandle = new MessageDigestHandle()) {
+                    sha1Bytes = copyAndDigest(((FileInputStream) stream).getChannel(), out, digestHandle.getMessageDigest());
+                }
+            } else {
+                try (OutputStream out = Files.newOutputStream(tmp); MessageDigestHandle digestHandle = new MessageDigestHandle()) {
+                    sha1Bytes = copyAndDigest(stream, out, digestHandle.getMessageDigest());
                 }
-                fos.flush();
-                sha1Bytes = messageDigest.digest();
             }
         } else {//create a directory instead
             Files.delete(tmp);
             Files.createDirectory(tmp);
             sha1Bytes = getSha1Bytes(tmp);
         }
+        storeContent(tmp, sha1Bytes);
+        return sha1Bytes;
+    }
+
+    @Override
+    public List<byte[]> getMissingChunks(List<byte[]> chunkHashes) {
+        final Set<String> seen = new HashSet<>();
+        final List<byte[]> missing = new ArrayList<>();
+        for (byte[] hash : chunkHashes) {
+            if (seen.add(HashUtil.bytesToHexString(hash)) && (chunkIndex == null || chunkIndex.find(hash) == null)) {
+                missing.add(hash);
+            }
+        }
+        return missing;
+    }
+
+    @Override
+    public byte[] addContent(List<ContentChunk> chunks, InputStream missingChunks) throws IOException {
+        final Path tmp = File.createTempFile(CONTENT, ".tmp", repoRoot).toPath();
+        final byte[] sha1Bytes;
+        try (ReadableByteChannel in = Channels.newChannel(missingChunks);
+             FileChannel out = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             MessageDigestHandle digestHandle = new MessageDigestHandle()) {
+            final MessageDigest messageDigest = digestHandle.getMessageDigest();
+            final MessageDigest chunkDigest = createMessageDigest();
+            // where the chunks already written to the new content start, to copy repeated chunks from
+            final Map<String, Long> written = new HashMap<>();
+            final ByteBuffer buffer = ByteBuffer.allocate(ContentChunker.MAX_CHUNK_SIZE);
+            for (ContentChunk chunk : chunks) {
+                final String hexHash = HashUtil.bytesToHexString(chunk.getHash());
+                if (chunk.getSize() <= 0 || chunk.getSize() > ContentChunker.MAX_CHUNK_SIZE) {
+                    throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidContentChunk(hexHash);
+                }
+                buffer.clear().limit(chunk.getSize());
+                final Long offset = written.get(hexHash);
+                final ContentChunkIndex.Location location = chunkIndex == null || offset != null ? null : chunkIndex.find(chunk.getHash());
+                if (offset != null) {
+                    readChunk(out, offset, buffer);
+                } else if (location != null && location.size == chunk.getSize()) {
+                    try (FileChannel source = FileChannel.open(location.file, StandardOpenOption.READ)) {
+                        readChunk(source, location.offset, buffer);
+                    }
+                } else {
+                    while (buffer.hasRemaining()) {
+                        if (in.read(buffer) < 0) {
+                            throw DeploymentRepositoryLogger.ROOT_LOGGER.missingContentChunk(hexHash);
+                        }
+                    }
+                }
+                buffer.flip();
+                chunkDigest.update(buffer);
+                if (!MessageDigest.isEqual(chunk.getHash(), chunkDigest.digest())) {
+                    throw DeploymentRepositoryLogger.ROOT_LOGGER.invalidContentChunk(hexHash);
+                }
+                buffer.rewind();
+                messageDigest.update(buffer);
+                buffer.rewind();
+                written.putIfAbsent(hexHash, out.position());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            buffer.clear().limit(1);
+            if (in.read(buffer) > 0) {
+                throw DeploymentRepositoryLogger.ROOT_LOGGER.unexpectedContentChunkData();
+            }
+            sha1Bytes = messageDigest.digest();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        storeContent(tmp, sha1Bytes);
+        return sha1Bytes;
+    }
+
+    private static void readChunk(FileChannel source, long offset, ByteBuffer buffer) throws IOException {
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            final int read = source.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            position += read;
+        }
+    }
+
+    private void storeContent(Path tmp, byte[] sha1Bytes) throws IOException {
         final Path realFile = getDeploymentContentFile(sha1Bytes, true);
         if (hasContent(sha1Bytes)) {
             // we've already got this content
@@ -146,7 +251,9 @@ public class ContentRepositoryImpl implements ContentRepository {
             moveTempToPermanent(tmp, realFile);
             DeploymentRepositoryLogger.ROOT_LOGGER.contentAdded(realFile.toAbsolutePath().toString());
         }
-        return sha1Bytes;
+        if (chunkIndex != null) {
+            chunkIndex.index(realFile);
+        }
     }
 
     @Override
@@ -677,6 +784,42 @@ public class ContentRepositoryImpl implements ContentRepository {
         }
     }
 
+    /**
+     * Copies the rest of a file to another one, computing its digest from the same buffer in a single pass.
+     */
+    private byte[] copyAndDigest(FileChannel in, FileChannel out, MessageDigest messageDigest) throws IOException {
+        final ByteBuffer shared = directBufferRef.getAndSet(null);
+        final ByteBuffer buffer = shared != null ? shared : ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try {
+            buffer.clear();
+            while (in.read(buffer) > -1) {
+                buffer.flip();
+                messageDigest.update(buffer);
+                buffer.rewind();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+            return messageDigest.digest();
+        } finally {
+            directBufferRef.set(buffer);
+        }
+    }
+
+    /**
+     * Copies the rest of a stream to another one, computing its digest from the same buffer in a single pass.
+     */
+    private static byte[] copyAndDigest(InputStream in, OutputStream out, MessageDigest messageDigest) throws IOException {
+        final byte[] bytes = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(bytes)) > -1) {
+            messageDigest.update(bytes, 0, read);
+            out.write(bytes, 0, read);
+        }
+        return messageDigest.digest();
+    }
+
     private byte[] getSha1Bytes(Path path) throws IOException {
         try (MessageDigestHandle handle = new MessageDigestHandle()) {
             return HashUtil.hashPath(handle.getMessageDigest(), path);
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2023 Red Hat, inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package org.jboss.as.repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
+
+/**
+ * Index of the files of the exploded contents held in a local deployment repository, by their SHA-1 hash.
+ * <p>
+ * A host fetching a new version of an exploded content from the domain controller sends these hashes along with its
+ * request, so that the files it already holds are not transferred again (see {@link RemoteFileRequestAndHandler}).
+ * Managed content is never modified once stored, so the hashes of a content are only computed once.
+ */
+public final class ExplodedContentFileIndex {
+
+    private final File deploymentRoot;
+    private final Map<File, Map<String, File>> contents = new HashMap<>();
+
+    /**
+     * Creates an index of the contents under a deployment repository root.
+     *
+     * @param deploymentRoot the root of the repository, whose contents are stored in {@code xx/yyyy/content}
+     */
+    public ExplodedContentFileIndex(File deploymentRoot) {
+        this.deploymentRoot = deploymentRoot;
+    }
+
+    /**
+     * Gets the files of all the exploded contents currently held in the repository.
+     *
+     * @return the files, keyed by the hex encoded SHA-1 hash of their content. Will not be {@code null}
+     */
+    public synchronized Map<String, File> getFiles() {
+        for (Iterator<File> it = contents.keySet().iterator(); it.hasNext(); ) {
+            if (!it.next().isDirectory()) {
+                it.remove();
+            }
+        }
+        final File[] parts = deploymentRoot.listFiles(File::isDirectory);
+        if (parts == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, File> files = new HashMap<>();
+        for (File part : parts) {
+            final File[] hashDirs = part.listFiles(File::isDirectory);
+            if (hashDirs == null) {
+                continue;
+            }
+            for (File hashDir : hashDirs) {
+                final File content = new File(hashDir, ContentRepositoryImpl.CONTENT);
+                if (content.isDirectory()) {
+                    Map<String, File> contentFiles = contents.get(content);
+                    if (contentFiles == null) {
+                        contentFiles = hashFiles(content.toPath());
+                        contents.put(content, contentFiles);
+                    }
+                    files.putAll(contentFiles);
+                }
+            }
+        }
+        return files;
+    }
+
+    private static Map<String, File> hashFiles(Path content) {
+        final Map<String, File> files = new HashMap<>();
+        try (Stream<Path> paths = Files.walk(content)) {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            for (Iterator<Path> it = paths.filter(Files::isRegularFile).iterator(); it.hasNext(); ) {
+                final Path file = it.next();
+                try (InputStream in = Files.newInputStream(file)) {
+                    files.put(HashUtil.bytesToHexString(HashUtil.hashContent(digest, in)), file.toFile());
+                }
+            }
+        } catch (IOException | NoSuchAlgorithmException e) {
+            // the files that could not be hashed will be transferred again
+            DeploymentRepositoryLogger.ROOT_LOGGER.debugf(e, "Error hashing files of %s", content);
+        }
+        return files;
+    }
+}
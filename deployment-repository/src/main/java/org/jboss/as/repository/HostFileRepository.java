@@ -47,4 +47,15 @@ public interface HostFileRepository extends DeploymentFileRepository {
      * @return The file at that path, or null if it is not found
      */
     File getConfigurationFile(final String relativePath);
+
+    /**
+     * Get the files of an exploded deployment. Repositories fetching the content from elsewhere can reuse the files
+     * of the exploded contents they already hold.
+     *
+     * @param reference the reference to the exploded content
+     * @return the files of the deployment
+     */
+    default File[] getExplodedDeploymentFiles(final ContentReference reference) {
+        return getDeploymentFiles(reference);
+    }
 }
@@ -25,14 +25,25 @@ import static org.jboss.as.protocol.mgmt.ProtocolUtils.expectHeader;
 
 import java.io.BufferedOutputStream;
 import java.io.DataInput;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executor;
 
 import org.jboss.as.protocol.StreamUtils;
@@ -41,6 +52,7 @@ import org.jboss.as.protocol.mgmt.FlushableDataOutput;
 import org.jboss.as.protocol.mgmt.ManagementRequestContext;
 import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
 import org.jboss.as.protocol.mgmt.RequestProcessingException;
+import org.jboss.as.repository.logging.DeploymentRepositoryLogger;
 import org.jboss.logging.BasicLogger;
 
 
@@ -64,15 +76,56 @@ public abstract class RemoteFileRequestAndHandler {
     }
 
     public void sendRequest(FlushableDataOutput output, byte rootId, String filePath) throws IOException{
+        sendRequest(output, rootId, filePath, Collections.emptySet());
+    }
+
+    /**
+     * Sends a request for a file, telling the other side which files the requester already has so that they are not
+     * sent again. Responders that do not support this ignore the hashes and send all files.
+     *
+     * @param output the output
+     * @param rootId the id of the root of the file
+     * @param filePath the path of the file
+     * @param localFileHashes the hex encoded SHA-1 hashes of the files the requester can reuse
+     */
+    public void sendRequest(FlushableDataOutput output, byte rootId, String filePath, Collection<String> localFileHashes) throws IOException{
         output.writeByte(protocol.paramRootId());
         output.writeByte(rootId);
         output.writeByte(protocol.paramFilePath());
         output.writeUTF(filePath);
-
+        if (protocol.paramFileHashes() != 0 && !localFileHashes.isEmpty()) {
+            output.writeByte(protocol.paramFileHashes());
+            output.writeInt(localFileHashes.size());
+            for (String hash : localFileHashes) {
+                final byte[] bytes = HashUtil.hexStringToByteArray(hash);
+                output.writeByte(bytes.length);
+                output.write(bytes);
+            }
+        }
     }
 
     public void handleResponse(DataInput input, File localPath, BasicLogger log, ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context)
             throws IOException, CannotCreateLocalDirectoryException, DidNotReadEntireFileException{
+        try {
+            handleResponse(input, localPath, Collections.emptyMap(), log, resultHandler, context);
+        } catch (LocalFileMissingException e) {
+            // cannot happen, no hashes were sent so the responder does not report files as unchanged
+            throw new FileNotFoundException(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the response to a request sent with {@link #sendRequest(FlushableDataOutput, byte, String, Collection)},
+     * copying the files the responder reports as unchanged from the local files.
+     *
+     * @param localFiles the files whose hashes were sent with the request, keyed by their hex encoded SHA-1 hash
+     * @throws LocalFileMissingException if a file the responder reported as unchanged is no longer available locally.
+     *                                   The whole response is read before, so the request can be sent again without
+     *                                   hashes
+     */
+    public void handleResponse(DataInput input, File localPath, Map<String, File> localFiles, BasicLogger log, ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context)
+            throws IOException, CannotCreateLocalDirectoryException, DidNotReadEntireFileException, LocalFileMissingException {
+        final List<String> missing = new ArrayList<>();
         expectHeader(input, protocol.paramNumFiles());
         int numFiles = input.readInt();
         log.debugf("Received %d files for %s", numFiles, localPath);
@@ -91,14 +144,36 @@ public abstract class RemoteFileRequestAndHandler {
                     expectHeader(input, protocol.fileStart());
                     expectHeader(input, protocol.paramFilePath());
                     final String path = input.readUTF();
-                    expectHeader(input, protocol.paramFileSize());
-                    final long length = input.readLong();
-                    log.debugf("Received file [%s] of length %d", path, length);
+                    final byte param = input.readByte();
+                    final boolean unchanged = param != 0 && param == protocol.paramFileUnchanged();
+                    final long length;
+                    if (unchanged) {
+                        length = 0L;
+                    } else {
+                        expectHeader(param, protocol.paramFileSize());
+                        length = input.readLong();
+                        log.debugf("Received file [%s] of length %d", path, length);
+                    }
                     final File file = new File(localPath, path);
                     if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
                         throw new CannotCreateLocalDirectoryException(localPath.getParentFile());
                     }
-                    if(length == 0L) {
+                    if (unchanged) {
+                        final byte[] hash = new byte[input.readUnsignedByte()];
+                        input.readFully(hash);
+                        final File source = localFiles.get(HashUtil.bytesToHexString(hash));
+                        try {
+                            if (source == null) {
+                                throw new FileNotFoundException(path);
+                            }
+                            log.debugf("Reusing local file [%s] for [%s]", source, path);
+                            Files.copy(source.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                        } catch (IOException e) {
+                            // e.g. the content holding the file was removed since it was indexed
+                            log.debugf(e, "Could not reuse a local file for [%s]", path);
+                            missing.add(path);
+                        }
+                    } else if(length == 0L) {
                         file.mkdir();
                     } else {
                         long totalRead = 0;
@@ -119,6 +194,9 @@ public abstract class RemoteFileRequestAndHandler {
                 }
             }
         }
+        if (!missing.isEmpty()) {
+            throw new LocalFileMissingException(missing);
+        }
         resultHandler.done(localPath);
     }
 
@@ -129,6 +207,7 @@ public abstract class RemoteFileRequestAndHandler {
         final byte rootId = input.readByte();
         expectHeader(input, protocol.paramFilePath());
         final String filePath = input.readUTF();
+        final Set<String> remoteFileHashes = readFileHashes(input);
 
         ManagementRequestContext.AsyncTask<Void> task = new ManagementRequestContext.AsyncTask<Void>() {
             @Override
@@ -136,7 +215,7 @@ public abstract class RemoteFileRequestAndHandler {
                 final File localPath = reader.readRootFile(rootId, filePath);
                 FlushableDataOutput output = context.writeMessage(ManagementResponseHeader.create(context.getRequestHeader()));
                 try {
-                    writeResponse(localPath, output);
+                    writeResponse(localPath, output, remoteFileHashes);
                     output.close();
                     resultHandler.done(null); // call stack (AsyncTaskRunner created by ManagementRequestContext) handles failures
                 } finally {
@@ -152,18 +231,41 @@ public abstract class RemoteFileRequestAndHandler {
         }
     }
 
-    private void writeResponse(final File localPath, final FlushableDataOutput output) throws IOException {
+    private Set<String> readFileHashes(final DataInput input) throws IOException {
+        if (protocol.paramFileHashes() == 0) {
+            return Collections.emptySet();
+        }
+        final byte param;
+        try {
+            param = input.readByte();
+        } catch (EOFException e) {
+            // the requester did not send any hashes
+            return Collections.emptySet();
+        }
+        expectHeader(param, protocol.paramFileHashes());
+        final int count = input.readInt();
+        final Set<String> hashes = new HashSet<>(count);
+        for (int i = 0; i < count; i++) {
+            final byte[] hash = new byte[input.readUnsignedByte()];
+            input.readFully(hash);
+            hashes.add(HashUtil.bytesToHexString(hash));
+        }
+        return hashes;
+    }
+
+    private void writeResponse(final File localPath, final FlushableDataOutput output, final Set<String> remoteFileHashes) throws IOException {
         output.writeByte(protocol.paramNumFiles());
         if (localPath == null || !localPath.exists()) {
             output.writeInt(-1);
         } else if (localPath.isFile()) {
             output.writeInt(1);
-            writeFile(localPath, localPath, output);
+            // an archive is a single file, none of the requester's files can be the same
+            writeFile(localPath, localPath, output, Collections.emptySet());
         } else {
             final List<File> childFiles = getChildFiles(localPath);
             output.writeInt(childFiles.size());
             for (File child : childFiles) {
-                writeFile(localPath, child, output);
+                writeFile(localPath, child, output, remoteFileHashes);
             }
         }
     }
@@ -177,9 +279,7 @@ public abstract class RemoteFileRequestAndHandler {
     private void getChildFiles(final File base, final List<File> childFiles) {
         for (File child : base.listFiles()) {
             childFiles.add(child);
-            if (child.isFile() || isEmpty(child)) {
-                childFiles.add(child);
-            } else {
+            if (child.isDirectory() && !isEmpty(child)) {
                 getChildFiles(child, childFiles);
             }
         }
@@ -193,10 +293,24 @@ public abstract class RemoteFileRequestAndHandler {
         return child.getAbsolutePath().substring(parent.getAbsolutePath().length()+1);
     }
 
-    private void writeFile(final File localPath, final File file, final FlushableDataOutput output) throws IOException {
+    private void writeFile(final File localPath, final File file, final FlushableDataOutput output, final Set<String> remoteFileHashes) throws IOException {
         output.writeByte(protocol.fileStart());
         output.writeByte(protocol.paramFilePath());
         output.writeUTF(getRelativePath(localPath, file));
+        if (!remoteFileHashes.isEmpty() && file.isFile()) {
+            final byte[] hash;
+            try (InputStream in = new FileInputStream(file)) {
+                hash = HashUtil.hashContent(createMessageDigest(), in);
+            }
+            if (remoteFileHashes.contains(HashUtil.bytesToHexString(hash))) {
+                // the requester already has a file with the same content
+                output.writeByte(protocol.paramFileUnchanged());
+                output.writeByte(hash.length);
+                output.write(hash);
+                output.writeByte(protocol.fileEnd());
+                return;
+            }
+        }
         output.writeByte(protocol.paramFileSize());
         if (file.isDirectory()) {
             output.writeLong(0L);
@@ -224,6 +338,14 @@ public abstract class RemoteFileRequestAndHandler {
         output.writeByte(protocol.fileEnd());
     }
 
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw DeploymentRepositoryLogger.ROOT_LOGGER.cannotObtainSha1(e, MessageDigest.class.getSimpleName());
+        }
+    }
+
     /**
      * Maps the expected protocol codes to the actual protocol
      */
@@ -234,6 +356,24 @@ public abstract class RemoteFileRequestAndHandler {
         byte paramFilePath();
         byte paramFileSize();
         byte fileEnd();
+
+        /**
+         * Parameter preceding the hashes of the files the requester already has.
+         *
+         * @return the parameter, or {@code 0} if the protocol does not support sending only changed files
+         */
+        default byte paramFileHashes() {
+            return 0;
+        }
+
+        /**
+         * Parameter replacing the size and content of a file the requester already has.
+         *
+         * @return the parameter, or {@code 0} if the protocol does not support sending only changed files
+         */
+        default byte paramFileUnchanged() {
+            return 0;
+        }
     }
 
     /**
@@ -259,6 +399,23 @@ public abstract class RemoteFileRequestAndHandler {
         }
     }
 
+    /**
+     *  Indicates files the responder reported as unchanged could not be copied from the local files
+     */
+    public static class LocalFileMissingException extends Exception {
+        private static final long serialVersionUID = 1L;
+        final List<String> paths;
+
+        private LocalFileMissingException(List<String> paths) {
+            super(paths.toString());
+            this.paths = paths;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+    }
+
     /**
      *  Indicates a file was not completely read
      */
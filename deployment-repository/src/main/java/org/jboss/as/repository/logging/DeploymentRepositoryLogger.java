@@ -26,6 +26,7 @@ import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import org.jboss.as.repository.ExplodedContentException;
 import org.jboss.logging.BasicLogger;
@@ -162,4 +163,17 @@ public interface DeploymentRepositoryLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 24, value = "Error copying file %s")
     void cannotCopyFile(@Cause Exception ex, Path path);
+
+    @LogMessage(level = WARN)
+    @Message(id = 25, value = "Cannot index the chunks of content %s")
+    void cannotIndexContentChunks(@Cause Exception ex, String path);
+
+    @Message(id = 26, value = "Content of chunk %s does not match its hash")
+    IOException invalidContentChunk(String hash);
+
+    @Message(id = 27, value = "Chunk %s is not in the repository and was not uploaded")
+    IOException missingContentChunk(String hash);
+
+    @Message(id = 28, value = "Uploaded content contains more data than the chunks it was declared to contain")
+    IOException unexpectedContentChunkData();
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2023 Red Hat, inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package org.jboss.as.repository;
+
+import static org.jboss.as.repository.PathUtil.deleteRecursively;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of adding content to the repository from its {@link ContentChunk chunks}.
+ */
+public class ContentChunkTest {
+
+    private ContentRepository repository;
+    private final File rootDir = new File("target", "repository");
+    private final File tmpRootDir = new File("target", "tmp");
+
+    @Before
+    public void createRepository() throws IOException {
+        if (rootDir.exists()) {
+            deleteRecursively(rootDir.toPath());
+        }
+        rootDir.mkdirs();
+        if (tmpRootDir.exists()) {
+            deleteRecursively(tmpRootDir.toPath());
+        }
+        tmpRootDir.mkdirs();
+        System.setProperty(ContentRepositoryImpl.CHUNK_INDEX_PROPERTY, "true");
+        try {
+            repository = ContentRepository.Factory.create(rootDir, tmpRootDir, 0L);
+        } finally {
+            System.clearProperty(ContentRepositoryImpl.CHUNK_INDEX_PROPERTY);
+        }
+        repository.readWrite();
+    }
+
+    @After
+    public void destroyRepository() throws IOException {
+        deleteRecursively(rootDir.toPath());
+        deleteRecursively(tmpRootDir.toPath());
+        repository = null;
+    }
+
+    @Test
+    public void testChunkBoundariesFollowContent() throws Exception {
+        byte[] original = randomContent(2 * 1024 * 1024, 1);
+        byte[] modified = insert(original, 700 * 1024, randomContent(100, 2));
+
+        List<ContentChunk> originalChunks = ContentChunker.chunk(new ByteArrayInputStream(original));
+        List<ContentChunk> modifiedChunks = ContentChunker.chunk(new ByteArrayInputStream(modified));
+
+        assertEquals(original.length, totalSize(originalChunks));
+        assertEquals(modified.length, totalSize(modifiedChunks));
+        for (ContentChunk chunk : originalChunks) {
+            assertTrue(chunk.getSize() <= ContentChunker.MAX_CHUNK_SIZE);
+        }
+        Set<ContentChunk> shared = new HashSet<>(originalChunks);
+        shared.retainAll(modifiedChunks);
+        // only the chunks around the insertion differ
+        assertTrue(shared.size() >= originalChunks.size() - 2);
+    }
+
+    @Test
+    public void testAddContentFromChunks() throws Exception {
+        byte[] original = randomContent(2 * 1024 * 1024, 1);
+        byte[] modified = insert(original, 700 * 1024, randomContent(100, 2));
+        repository.addContent(new ByteArrayInputStream(original));
+
+        List<ContentChunk> chunks = ContentChunker.chunk(new ByteArrayInputStream(modified));
+        List<byte[]> missing = repository.getMissingChunks(hashes(chunks));
+        assertTrue(missing.size() > 0);
+        assertTrue(missing.size() <= 2);
+
+        byte[] hash = repository.addContent(chunks, new ByteArrayInputStream(missingContent(modified, chunks, missing)));
+        assertArrayEquals(MessageDigest.getInstance("SHA-1").digest(modified), hash);
+        assertTrue(repository.hasContent(hash));
+        assertEquals(0, repository.getMissingChunks(hashes(chunks)).size());
+    }
+
+    @Test
+    public void testAddContentFromRepeatedChunks() throws Exception {
+        // content without any boundary is split in chunks of the maximum size
+        byte[] part = new byte[ContentChunker.MAX_CHUNK_SIZE];
+        byte[] content = new byte[2 * part.length];
+
+        List<ContentChunk> chunks = ContentChunker.chunk(new ByteArrayInputStream(content));
+        assertEquals(2, chunks.size());
+        List<byte[]> missing = repository.getMissingChunks(hashes(chunks));
+        assertEquals(1, missing.size());
+
+        byte[] hash = repository.addContent(chunks, new ByteArrayInputStream(part));
+        assertArrayEquals(MessageDigest.getInstance("SHA-1").digest(content), hash);
+    }
+
+    @Test
+    public void testAddContentFromInvalidChunks() throws Exception {
+        byte[] content = randomContent(512 * 1024, 4);
+        List<ContentChunk> chunks = ContentChunker.chunk(new ByteArrayInputStream(content));
+        byte[] corrupted = content.clone();
+        corrupted[10] ^= 1;
+        try {
+            repository.addContent(chunks, new ByteArrayInputStream(corrupted));
+            fail("Corrupted chunk should have been rejected");
+        } catch (IOException expected) {
+            // expected
+        }
+        try {
+            repository.addContent(chunks, new ByteArrayInputStream(content, 0, content.length - 1));
+            fail("Truncated content should have been rejected");
+        } catch (IOException expected) {
+            // expected
+        }
+    }
+
+    private static byte[] randomContent(int size, long seed) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+
+    private static byte[] insert(byte[] content, int position, byte[] inserted) {
+        byte[] result = Arrays.copyOf(content, content.length + inserted.length);
+        System.arraycopy(inserted, 0, result, position, inserted.length);
+        System.arraycopy(content, position, result, position + inserted.length, content.length - position);
+        return result;
+    }
+
+    private static long totalSize(List<ContentChunk> chunks) {
+        long size = 0;
+        for (ContentChunk chunk : chunks) {
+            size += chunk.getSize();
+        }
+        return size;
+    }
+
+    private static List<byte[]> hashes(List<ContentChunk> chunks) {
+        List<byte[]> hashes = new ArrayList<>();
+        for (ContentChunk chunk : chunks) {
+            hashes.add(chunk.getHash());
+        }
+        return hashes;
+    }
+
+    private static byte[] missingContent(byte[] content, List<ContentChunk> chunks, List<byte[]> missing) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int missingIndex = 0;
+        int offset = 0;
+        for (ContentChunk chunk : chunks) {
+            if (missingIndex < missing.size() && Arrays.equals(missing.get(missingIndex), chunk.getHash())) {
+                out.write(content, offset, chunk.getSize());
+                missingIndex++;
+            }
+            offset += chunk.getSize();
+        }
+        return out.toByteArray();
+    }
+}
@@ -40,6 +40,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.security.AccessController;
+import java.security.MessageDigest;
 import java.security.PrivilegedAction;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -125,6 +126,55 @@ public class ContentRepositoryTest {
         }
     }
 
+    /**
+     * Test that content read directly from a file gets the same hash as the same content read from a stream.
+     */
+    @Test
+    public void testAddContentFromFile() throws Exception {
+        byte[] content = new byte[200 * 1024 + 17];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        byte[] expected = MessageDigest.getInstance("SHA-1").digest(content);
+        try (InputStream stream = new ByteArrayInputStream(content)) {
+            assertThat(HashUtil.bytesToHexString(repository.addContent(stream)), is(HashUtil.bytesToHexString(expected)));
+        }
+        Path file = tmpRootDir.toPath().resolve("content.bin");
+        Files.write(file, content);
+        try (InputStream stream = new FileInputStream(file.toFile())) {
+            assertThat(HashUtil.bytesToHexString(repository.addContent(stream)), is(HashUtil.bytesToHexString(expected)));
+        }
+        try (InputStream stream = new TemporaryFileInputStream(file)) {
+            assertThat(HashUtil.bytesToHexString(repository.addContent(stream)), is(HashUtil.bytesToHexString(expected)));
+        }
+        assertFalse(Files.exists(file));
+        assertThat(Files.readAllBytes(repository.getContent(expected).getPhysicalFile().toPath()).length, is(content.length));
+    }
+
+    /**
+     * Test that content read from a file is read from the stream's current position and leaves the stream open.
+     */
+    @Test
+    public void testAddContentFromFilePosition() throws Exception {
+        byte[] content = new byte[100 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 17);
+        }
+        int skip = 1000;
+        byte[] expected;
+        try (InputStream stream = new ByteArrayInputStream(content, skip, content.length - skip)) {
+            expected = repository.addContent(stream);
+        }
+        Path file = tmpRootDir.toPath().resolve("position.bin");
+        Files.write(file, content);
+        try (FileInputStream stream = new FileInputStream(file.toFile())) {
+            assertThat(stream.skip(skip), is((long) skip));
+            assertThat(HashUtil.bytesToHexString(repository.addContent(stream)), is(HashUtil.bytesToHexString(expected)));
+            // Still open, at the end of the file
+            assertThat(stream.read(), is(-1));
+        }
+    }
+
     /**
      * Test of explodeContent method, of class ContentRepository.
      */
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2023 Red Hat, inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package org.jboss.as.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jboss.as.repository.PathUtil.deleteRecursively;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ExplodedContentFileIndex}.
+ */
+public class ExplodedContentFileIndexTest {
+
+    private final File rootDir = new File("target", "exploded-index");
+
+    @Before
+    public void createRoot() throws IOException {
+        if (rootDir.exists()) {
+            deleteRecursively(rootDir.toPath());
+        }
+        rootDir.mkdirs();
+    }
+
+    @After
+    public void deleteRoot() throws IOException {
+        deleteRecursively(rootDir.toPath());
+    }
+
+    @Test
+    public void testIndexesExplodedContentOnly() throws Exception {
+        Path exploded = rootDir.toPath().resolve("ab").resolve("cdef").resolve(ContentRepositoryImpl.CONTENT);
+        Files.createDirectories(exploded.resolve("WEB-INF"));
+        Files.write(exploded.resolve("index.jsp"), "index".getBytes(UTF_8));
+        Files.write(exploded.resolve("WEB-INF").resolve("web.xml"), "web".getBytes(UTF_8));
+        Path archive = rootDir.toPath().resolve("12").resolve("3456").resolve(ContentRepositoryImpl.CONTENT);
+        Files.createDirectories(archive.getParent());
+        Files.write(archive, "archive".getBytes(UTF_8));
+
+        ExplodedContentFileIndex index = new ExplodedContentFileIndex(rootDir);
+        Map<String, File> files = index.getFiles();
+        assertEquals(2, files.size());
+        assertEquals(exploded.resolve("index.jsp").toFile(), files.get(sha1("index")));
+        assertEquals(exploded.resolve("WEB-INF").resolve("web.xml").toFile(), files.get(sha1("web")));
+
+        deleteRecursively(exploded.getParent());
+        assertTrue(index.getFiles().isEmpty());
+    }
+
+    private static String sha1(String content) throws Exception {
+        return HashUtil.bytesToHexString(MessageDigest.getInstance("SHA-1").digest(content.getBytes(UTF_8)));
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2023 Red Hat, inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package org.jboss.as.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.jboss.as.repository.PathUtil.deleteRecursively;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.Map;
+
+import org.jboss.as.protocol.mgmt.ActiveOperation;
+import org.jboss.as.repository.RemoteFileRequestAndHandler.LocalFileMissingException;
+import org.jboss.logging.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link RemoteFileRequestAndHandler} reusing local files.
+ */
+public class RemoteFileRequestAndHandlerTest {
+
+    private static final RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper PROTOCOL = new RemoteFileRequestAndHandler.RemoteFileProtocolIdMapper() {
+        public byte paramRootId() {
+            return 1;
+        }
+
+        public byte paramNumFiles() {
+            return 2;
+        }
+
+        public byte fileStart() {
+            return 3;
+        }
+
+        public byte paramFilePath() {
+            return 4;
+        }
+
+        public byte paramFileSize() {
+            return 5;
+        }
+
+        public byte fileEnd() {
+            return 6;
+        }
+
+        public byte paramFileHashes() {
+            return 7;
+        }
+
+        public byte paramFileUnchanged() {
+            return 8;
+        }
+    };
+
+    private final File rootDir = new File("target", "remote-file-request");
+    private final RemoteFileRequestAndHandler handler = new RemoteFileRequestAndHandler(PROTOCOL) { };
+
+    @Before
+    public void createRoot() throws IOException {
+        if (rootDir.exists()) {
+            deleteRecursively(rootDir.toPath());
+        }
+        rootDir.mkdirs();
+    }
+
+    @After
+    public void deleteRoot() throws IOException {
+        deleteRecursively(rootDir.toPath());
+    }
+
+    @Test
+    public void testReusesLocalFiles() throws Exception {
+        Path local = Files.write(rootDir.toPath().resolve("local.txt"), "unchanged".getBytes(UTF_8));
+        byte[] hash = hash("unchanged");
+        File target = new File(rootDir, "target");
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(response);
+        output.writeByte(PROTOCOL.paramNumFiles());
+        output.writeInt(2);
+        writeUnchanged(output, "a/unchanged.txt", hash);
+        writeFile(output, "b/changed.txt", "changed");
+
+        RecordingResultHandler resultHandler = new RecordingResultHandler();
+        handler.handleResponse(new DataInputStream(new ByteArrayInputStream(response.toByteArray())), target,
+                Collections.singletonMap(HashUtil.bytesToHexString(hash), local.toFile()), Logger.getLogger(getClass()), resultHandler, null);
+        assertEquals(target, resultHandler.result);
+        assertArrayEquals("unchanged".getBytes(UTF_8), Files.readAllBytes(target.toPath().resolve("a/unchanged.txt")));
+        assertArrayEquals("changed".getBytes(UTF_8), Files.readAllBytes(target.toPath().resolve("b/changed.txt")));
+    }
+
+    @Test
+    public void testMissingLocalFileReported() throws Exception {
+        Path local = rootDir.toPath().resolve("gone.txt");
+        byte[] hash = hash("gone");
+        File target = new File(rootDir, "target");
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(response);
+        output.writeByte(PROTOCOL.paramNumFiles());
+        output.writeInt(2);
+        writeUnchanged(output, "gone.txt", hash);
+        writeFile(output, "changed.txt", "changed");
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(response.toByteArray()));
+
+        RecordingResultHandler resultHandler = new RecordingResultHandler();
+        Map<String, File> localFiles = Collections.singletonMap(HashUtil.bytesToHexString(hash), local.toFile());
+        try {
+            handler.handleResponse(input, target, localFiles, Logger.getLogger(getClass()), resultHandler, null);
+            fail("the missing local file was not reported");
+        } catch (LocalFileMissingException e) {
+            assertEquals(Collections.singletonList("gone.txt"), e.getPaths());
+        }
+        // The whole response was read
+        assertEquals(0, input.available());
+        assertFalse(resultHandler.done);
+    }
+
+    private static void writeUnchanged(DataOutputStream output, String path, byte[] hash) throws IOException {
+        output.writeByte(PROTOCOL.fileStart());
+        output.writeByte(PROTOCOL.paramFilePath());
+        output.writeUTF(path);
+        output.writeByte(PROTOCOL.paramFileUnchanged());
+        output.writeByte(hash.length);
+        output.write(hash);
+        output.writeByte(PROTOCOL.fileEnd());
+    }
+
+    private static void writeFile(DataOutputStream output, String path, String content) throws IOException {
+        byte[] bytes = content.getBytes(UTF_8);
+        output.writeByte(PROTOCOL.fileStart());
+        output.writeByte(PROTOCOL.paramFilePath());
+        output.writeUTF(path);
+        output.writeByte(PROTOCOL.paramFileSize());
+        output.writeLong(bytes.length);
+        output.write(bytes);
+        output.writeByte(PROTOCOL.fileEnd());
+    }
+
+    private static byte[] hash(String content) throws Exception {
+        return MessageDigest.getInstance("SHA-1").digest(content.getBytes(UTF_8));
+    }
+
+    private static class RecordingResultHandler implements ActiveOperation.ResultHandler<File> {
+        private boolean done;
+        private File result;
+
+        @Override
+        public boolean done(File result) {
+            this.done = true;
+            this.result = result;
+            return true;
+        }
+
+        @Override
+        public boolean failed(Throwable t) {
+            return false;
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger;
+import org.wildfly.common.xml.XMLInputFactoryUtil;
+
+/**
+ * Splits the deployments found by a scan into batches that do not depend on each other, so a deployment that
+ * fails only affects the other deployments in its batch.
+ * <p>
+ * Deployments that may depend on each other are always put in the same batch, and after the deployments they
+ * depend on. A deployment depends on another one if its manifest has the other one in its {@code Class-Path} or
+ * has a {@code deployment.<name>} module in its {@code Dependencies}, or if its {@code jboss-deployment-structure.xml}
+ * has such a module dependency.
+ */
+final class DeploymentBatches {
+
+    private static final String MANIFEST = JarFile.MANIFEST_NAME;
+
+    /** The descriptors of a deployment besides the manifest that can declare dependencies on other deployments */
+    private static final String[] STRUCTURE_DESCRIPTORS = {
+        "META-INF/jboss-deployment-structure.xml",
+        "WEB-INF/jboss-deployment-structure.xml"
+    };
+
+    private static final String DEPLOYMENT_MODULE_PREFIX = "deployment.";
+    private static final Attributes.Name DEPENDENCIES_ATTRIBUTE = new Attributes.Name("Dependencies");
+    private static final String DEPENDENCIES = "dependencies";
+    private static final String MODULE = "module";
+    private static final String NAME = "name";
+
+    private DeploymentBatches() {
+    }
+
+    /**
+     * Splits deployments into batches.
+     *
+     * @param deployments the deployments, keyed by their name, with the file or directory holding their content.
+     *                    The values may be {@code null} for deployments whose content is not available
+     * @param batchSize the number of deployments after which a batch is closed. Batches can be bigger if
+     *                  more deployments depend on each other
+     * @return the names of the deployments in each batch. A batch lists the deployments after the ones they depend
+     *         on, and otherwise in the iteration order of {@code deployments}
+     */
+    static List<List<String>> partition(final Map<String, File> deployments, final int batchSize) {
+        final List<String> names = new ArrayList<>(deployments.keySet());
+        final List<List<Integer>> dependencies = new ArrayList<>(names.size());
+        final int[] group = new int[names.size()];
+        for (int i = 0; i < group.length; i++) {
+            group[i] = i;
+        }
+        int i = 0;
+        for (File file : deployments.values()) {
+            final Set<String> references = file == null ? new HashSet<>() : readReferences(file);
+            final List<Integer> dependsOn = new ArrayList<>();
+            for (int j = 0; j < names.size() && !references.isEmpty(); j++) {
+                if (j != i && isReferenced(names.get(j), references)) {
+                    dependsOn.add(j);
+                    group[find(group, i)] = find(group, j);
+                }
+            }
+            dependencies.add(dependsOn);
+            i++;
+        }
+
+        // Collect the groups of dependent deployments, then fill the batches with whole groups
+        final Map<Integer, List<String>> groups = new LinkedHashMap<>();
+        final boolean[] visited = new boolean[names.size()];
+        for (i = 0; i < group.length; i++) {
+            addInOrder(i, names, dependencies, visited, groups.computeIfAbsent(find(group, i), k -> new ArrayList<>()));
+        }
+        final List<List<String>> batches = new ArrayList<>();
+        List<String> batch = new ArrayList<>();
+        for (List<String> members : groups.values()) {
+            batch.addAll(members);
+            if (batch.size() >= batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Adds a deployment to its group after the deployments it depends on. A deployment is only added once, which
+     * also ends cycles of dependencies.
+     */
+    private static void addInOrder(final int i, final List<String> names, final List<List<Integer>> dependencies,
+                                   final boolean[] visited, final List<String> members) {
+        if (!visited[i]) {
+            visited[i] = true;
+            for (int j : dependencies.get(i)) {
+                addInOrder(j, names, dependencies, visited, members);
+            }
+            members.add(names.get(i));
+        }
+    }
+
+    /**
+     * Whether a deployment is referenced, either by its name or by the name of one of its sub-deployments, which
+     * is the deployment name followed by a dot and the sub-deployment name.
+     */
+    private static boolean isReferenced(final String name, final Set<String> references) {
+        if (references.contains(name)) {
+            return true;
+        }
+        for (String reference : references) {
+            if (reference.length() > name.length() && reference.startsWith(name) && reference.charAt(name.length()) == '.') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int find(final int[] group, int i) {
+        while (group[i] != i) {
+            group[i] = group[group[i]];
+            i = group[i];
+        }
+        return i;
+    }
+
+    /**
+     * Reads the names of the deployments a deployment refers to.
+     */
+    private static Set<String> readReferences(final File deployment) {
+        final Set<String> references = new HashSet<>();
+        try {
+            if (deployment.isDirectory()) {
+                final File manifest = new File(deployment, MANIFEST);
+                if (manifest.isFile()) {
+                    try (InputStream in = new FileInputStream(manifest)) {
+                        addManifestReferences(in, references);
+                    }
+                }
+                for (String descriptor : STRUCTURE_DESCRIPTORS) {
+                    final File file = new File(deployment, descriptor);
+                    if (file.isFile()) {
+                        try (InputStream in = new FileInputStream(file)) {
+                            addStructureReferences(in, references);
+                        }
+                    }
+                }
+            } else if (deployment.isFile()) {
+                try (ZipFile zip = new ZipFile(deployment)) {
+                    final ZipEntry manifest = zip.getEntry(MANIFEST);
+                    if (manifest != null) {
+                        try (InputStream in = zip.getInputStream(manifest)) {
+                            addManifestReferences(in, references);
+                        }
+                    }
+                    for (String descriptor : STRUCTURE_DESCRIPTORS) {
+                        final ZipEntry entry = zip.getEntry(descriptor);
+                        if (entry != null) {
+                            try (InputStream in = zip.getInputStream(entry)) {
+                                addStructureReferences(in, references);
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            // Not something we can deploy anyway, so let the deployment report the problem
+            DeploymentScannerLogger.ROOT_LOGGER.debugf(e, "Failed reading the descriptors of %s", deployment);
+        }
+        return references;
+    }
+
+    private static void addManifestReferences(final InputStream in, final Set<String> references) throws IOException {
+        final Attributes attributes = new Manifest(in).getMainAttributes();
+        final String classPath = attributes.getValue(Attributes.Name.CLASS_PATH);
+        if (classPath != null) {
+            for (String entry : classPath.trim().split("\\s+")) {
+                // Class-Path entries are relative URLs; a deployment is referred to by its file name
+                final String fileName = entry.substring(entry.lastIndexOf('/') + 1);
+                if (!fileName.isEmpty()) {
+                    references.add(fileName);
+                }
+            }
+        }
+        final String dependencies = attributes.getValue(DEPENDENCIES_ATTRIBUTE);
+        if (dependencies != null) {
+            for (String dependency : dependencies.split(",")) {
+                // A module name followed by optional flags, such as "deployment.lib.jar export"
+                final String module = dependency.trim().split("\\s+")[0];
+                if (module.startsWith(DEPLOYMENT_MODULE_PREFIX)) {
+                    references.add(module.substring(DEPLOYMENT_MODULE_PREFIX.length()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the deployments named by the {@code deployment.<name>} module dependencies of a
+     * {@code jboss-deployment-structure.xml}, that is the {@code module} elements directly within a
+     * {@code dependencies} element, of the deployment or any of its sub-deployments.
+     */
+    private static void addStructureReferences(final InputStream in, final Set<String> references) throws XMLStreamException {
+        final XMLStreamReader reader = XMLInputFactoryUtil.create().createXMLStreamReader(in);
+        try {
+            final Deque<String> elements = new ArrayDeque<>();
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        if (MODULE.equals(reader.getLocalName()) && DEPENDENCIES.equals(elements.peek())) {
+                            final String name = reader.getAttributeValue(null, NAME);
+                            if (name != null && name.startsWith(DEPLOYMENT_MODULE_PREFIX)) {
+                                references.add(name.substring(DEPLOYMENT_MODULE_PREFIX.length()));
+                            }
+                        }
+                        elements.push(reader.getLocalName());
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        elements.pop();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Watches a deployment directory, and the subdirectories relevant to the scanner, for changes using a
+ * {@link WatchService}, so the directory only needs to be scanned when something in it has changed.
+ * <p>
+ * The watcher does not interpret the changes; callers are expected to do a full scan of the directory
+ * whenever {@link #pollChanges()} reports that something changed. Once the deployment directory itself can
+ * no longer be watched, e.g. because it was removed, {@link #isWatching()} returns {@code false} and callers
+ * should go back to scanning it periodically.
+ */
+final class DeploymentDirectoryWatcher implements Closeable {
+
+    private final Path root;
+    private final Predicate<Path> watchDirectory;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> keys = new HashMap<>();
+    private WatchKey rootKey;
+
+    /**
+     * Creates a watcher for a deployment directory.
+     *
+     * @param root the deployment directory
+     * @param watchDirectory tests whether a subdirectory of {@code root}, and the directories below it, should be watched
+     * @return the watcher
+     * @throws IOException if the directory cannot be watched
+     * @throws UnsupportedOperationException if the file system of the directory does not support watching it
+     */
+    static DeploymentDirectoryWatcher create(final Path root, final Predicate<Path> watchDirectory) throws IOException {
+        final WatchService watchService = root.getFileSystem().newWatchService();
+        final DeploymentDirectoryWatcher watcher = new DeploymentDirectoryWatcher(root, watchDirectory, watchService);
+        try {
+            watcher.registerTree(root);
+        } catch (IOException | RuntimeException e) {
+            watcher.close();
+            throw e;
+        }
+        return watcher;
+    }
+
+    private DeploymentDirectoryWatcher(final Path root, final Predicate<Path> watchDirectory, final WatchService watchService) {
+        this.root = root;
+        this.watchDirectory = watchDirectory;
+        this.watchService = watchService;
+    }
+
+    /**
+     * Drains the pending change events, starting to watch any new directories that should be watched.
+     *
+     * @return {@code true} if anything changed in the watched directories since the last call, or if changes
+     *         may have been missed
+     */
+    synchronized boolean pollChanges() {
+        boolean changed = false;
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            final Path dir = keys.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                changed = true;
+                if (event.kind() == OVERFLOW) {
+                    // Events were lost, possibly including the creation of directories we should watch
+                    refresh();
+                } else if (event.kind() == ENTRY_CREATE && dir != null) {
+                    final Path child = dir.resolve((Path) event.context());
+                    if (Files.isDirectory(child) && watchDirectory.test(child)) {
+                        registerTreeQuietly(child);
+                    }
+                }
+            }
+            if (!key.reset()) {
+                keys.remove(key);
+                if (key == rootKey) {
+                    rootKey = null;
+                }
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Gets whether the deployment directory is still being watched. Changes are no longer detected once this
+     * returns {@code false}.
+     *
+     * @return {@code true} if the deployment directory is being watched
+     */
+    synchronized boolean isWatching() {
+        return rootKey != null && rootKey.isValid();
+    }
+
+    /**
+     * Starts watching any directories that should be watched but currently are not, e.g. because the
+     * criteria used to select them have changed.
+     */
+    synchronized void refresh() {
+        if (isWatching()) {
+            registerTreeQuietly(root);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        keys.clear();
+        rootKey = null;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            ROOT_LOGGER.tracef(e, "Failed closing watch service for %s", root);
+        }
+    }
+
+    private void registerTreeQuietly(final Path dir) {
+        try {
+            registerTree(dir);
+        } catch (IOException | RuntimeException e) {
+            // The next full scan will pick up whatever we failed to watch
+            ROOT_LOGGER.debugf(e, "Failed watching %s for changes", dir);
+        }
+    }
+
+    private void registerTree(final Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(root) && !watchDirectory.test(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                final WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                keys.put(key, dir);
+                if (dir.equals(root)) {
+                    rootKey = key;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                // Probably removed while walking; its parent's events will tell us
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
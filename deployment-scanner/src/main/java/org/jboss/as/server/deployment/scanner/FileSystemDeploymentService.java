@@ -53,14 +53,17 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.DirectoryStream.Filter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
@@ -78,6 +81,7 @@ import java.util.regex.Pattern;
 import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.ProcessStateNotifier;
 import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.SystemPropertyUtil;
 import org.jboss.as.controller.notification.Notification;
 import org.jboss.as.controller.notification.NotificationHandler;
 import org.jboss.as.controller.operations.common.Util;
@@ -126,6 +130,27 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * System property setting the minimum period in ms between full scans of a watched deployment directory,
+     * which are done in case a change was not detected
+     */
+    static final String WATCH_FULL_SCAN_INTERVAL_PROPERTY = "org.jboss.as.server.deployment.scanner.watch-full-scan-interval";
+
+    /**
+     * Period in ms at which a watched deployment directory is checked for changes. Changes are only acted
+     * upon once no more have been detected for this period, or once they have been pending for the scan interval
+     */
+    static final long WATCH_POLL_INTERVAL = 250;
+
+    /**
+     * System property setting the size of the batches the deployments found by a scan are split into. Each batch is
+     * deployed by its own composite operation, so a failed deployment only rolls back the deployments in its own
+     * batch. Deployments that may depend on each other are kept in the same batch. The operations of all batches are
+     * submitted at once, but they take the controller's write lock in turn, so batching isolates failures rather than
+     * making deployment faster. The deployments within a batch are still installed concurrently.
+     */
+    static final String DEPLOYMENT_BATCH_SIZE_PROPERTY = "org.jboss.as.server.deployment.scanner.deployment-batch-size";
+
     private File deploymentDir;
     private long scanInterval = 0;
     private volatile boolean scanEnabled = false;
@@ -134,6 +159,13 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private ScheduledFuture<?> scanTask;
     private ScheduledFuture<?> rescanIncompleteTask;
     private ScheduledFuture<?> rescanUndeployTask;
+    private ScheduledFuture<?> watchTask;
+    private volatile DeploymentDirectoryWatcher watcher;
+    private volatile boolean watchEnabled;
+    private final long watchFullScanInterval;
+    private final int deploymentBatchSize;
+    /** Whether the scan in progress is the boot time scan, whose deployment operation is added to the boot operation */
+    private volatile boolean inBootTimeScan;
     private final Lock scanLock = new ReentrantLock();
 
     private final Map<String, DeploymentMarker> deployed = new HashMap<String, DeploymentMarker>();
@@ -269,6 +301,45 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private final DeploymentScanRunnable scanRunnable = new DeploymentScanRunnable();
 
+    private class DeploymentWatchRunnable implements Runnable {
+
+        private long firstPendingChange = -1;
+        private long lastPendingChange;
+
+        @Override
+        public void run() {
+            final DeploymentDirectoryWatcher watcher = FileSystemDeploymentService.this.watcher;
+            if (watcher == null) {
+                return;
+            }
+            try {
+                final long now = System.currentTimeMillis();
+                final boolean changed = watcher.pollChanges();
+                if (!watcher.isWatching()) {
+                    stopWatch(watcher);
+                    return;
+                }
+                if (changed) {
+                    if (firstPendingChange < 0) {
+                        firstPendingChange = now;
+                    }
+                    lastPendingChange = now;
+                }
+                // Wait for files being copied in to settle, unless they have been changing for too long
+                if (firstPendingChange >= 0 && (now - lastPendingChange >= WATCH_POLL_INTERVAL || now - firstPendingChange >= scanInterval)) {
+                    firstPendingChange = -1;
+                    scan();
+                }
+            } catch (ClosedWatchServiceException e) {
+                // Scanning was stopped
+            } catch (RejectedExecutionException e) {
+                //Do nothing as this happens if a scan occurs during a reload of shutdown of a server.
+            } catch (Exception e) {
+                ROOT_LOGGER.scanException(e, deploymentDir.getAbsolutePath());
+            }
+        }
+    }
+
     FileSystemDeploymentService(final PathAddress resourceAddress, final String relativeTo, final File deploymentDir, final File relativeToDir,
                                 final DeploymentOperations.Factory deploymentOperationsFactory,
                                 final ScheduledExecutorService scheduledExecutor) {
@@ -296,6 +367,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             relativePath = null;
         }
         this.deploymentTransformer = loadDeploymentTransformer();
+        this.watchFullScanInterval = SystemPropertyUtil.getLong(WATCH_FULL_SCAN_INTERVAL_PROPERTY, 60000, 0);
+        this.deploymentBatchSize = SystemPropertyUtil.getInt(DEPLOYMENT_BATCH_SIZE_PROPERTY, 0, 0);
     }
 
     @Override
@@ -318,7 +391,13 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         if (autoDeployExploded && !this.autoDeployExploded) {
             ROOT_LOGGER.explodedAutoDeploymentContentWarning(DO_DEPLOY, CommonAttributes.AUTO_DEPLOY_EXPLODED);
         }
+        final boolean changed = autoDeployExploded != this.autoDeployExploded;
         this.autoDeployExploded = autoDeployExploded;
+        final DeploymentDirectoryWatcher watcher = this.watcher;
+        if (changed && watcher != null) {
+            // Exploded deployments are only watched if their content can trigger a deployment
+            watcher.refresh();
+        }
     }
 
     @Override
@@ -350,6 +429,17 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         startScan();
     }
 
+    @Override
+    public synchronized void setWatchEnabled(boolean watchEnabled) {
+        if (watchEnabled != this.watchEnabled) {
+            this.watchEnabled = watchEnabled;
+            if (scanEnabled) {
+                cancelScan();
+                startScan();
+            }
+        }
+    }
+
     @Override
     public void setDeploymentTimeout(long deploymentTimeout) {
         this.deploymentTimeout = deploymentTimeout;
@@ -484,9 +574,11 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         this.establishDeployedContentList(this.deploymentDir, deploymentOperations);
         deployedContentEstablished = true;
         if (acquireScanLock()) {
+            inBootTimeScan = true;
             try {
                 scan(true, deploymentOperations);
             } finally {
+                inBootTimeScan = false;
                 releaseScanLock();
             }
         }
@@ -677,8 +769,85 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                                      boolean oneOffScan) throws InterruptedException {
         // Process the tasks
         if (!scannerTasks.isEmpty()) {
-            List<ModelNode> updates = new ArrayList<ModelNode>(scannerTasks.size());
+            List<ScannerTaskBatch> batches = new ArrayList<ScannerTaskBatch>();
+            for (List<ScannerTask> tasks : getBatches(scannerTasks)) {
+                batches.add(new ScannerTaskBatch(tasks));
+            }
+
+            boolean first = true;
+            while (!batches.isEmpty() && (first || !oneOffScan)) {
+                first = false;
+                // Submit the operations of all batches before waiting for any of them
+                final List<ScannerTaskBatch> submitted = new ArrayList<ScannerTaskBatch>(batches.size());
+                for (ScannerTaskBatch batch : batches) {
+                    if (batch.deploy(deploymentOperations)) {
+                        submitted.add(batch);
+                    }
+                }
+                final List<ScannerTaskBatch> toRetry = new ArrayList<ScannerTaskBatch>();
+                for (int i = 0; i < submitted.size(); i++) {
+                    final ScannerTaskBatch batch = submitted.get(i);
+                    try {
+                        if (batch.handleResults()) {
+                            toRetry.add(batch);
+                        }
+                    } catch (InterruptedException e) {
+                        for (ScannerTaskBatch notHandled : submitted.subList(i + 1, submitted.size())) {
+                            notHandled.cancel();
+                        }
+                        throw e;
+                    }
+                }
+                batches = toRetry;
+            }
+        }
+    }
+
+    /**
+     * Splits the tasks into batches of deployments that do not depend on each other, if so configured. Each batch
+     * is deployed by its own composite operation, so it succeeds or fails independently of the other batches.
+     * The tasks of a boot time scan are never split, as the boot operation only takes one deployment operation and
+     * does not roll back deployments that fail at boot anyway.
+     *
+     * @return the batches, with the deployments ordered after the deployments they depend on
+     */
+    private List<List<ScannerTask>> getBatches(final List<ScannerTask> scannerTasks) {
+        if (deploymentBatchSize <= 0 || scannerTasks.size() <= deploymentBatchSize || inBootTimeScan) {
+            return Collections.singletonList(scannerTasks);
+        }
+        final Map<String, ScannerTask> tasks = new LinkedHashMap<String, ScannerTask>();
+        final Map<String, File> deploymentFiles = new LinkedHashMap<String, File>();
+        for (ScannerTask task : scannerTasks) {
+            if (tasks.put(task.deploymentName, task) != null) {
+                // More than one action for the same deployment; keep them together
+                return Collections.singletonList(scannerTasks);
+            }
+            deploymentFiles.put(task.deploymentName, task instanceof ContentAddingTask ? ((ContentAddingTask) task).deploymentFile : null);
+        }
+        final List<List<ScannerTask>> batches = new ArrayList<List<ScannerTask>>();
+        for (List<String> names : DeploymentBatches.partition(deploymentFiles, deploymentBatchSize)) {
+            final List<ScannerTask> batch = new ArrayList<ScannerTask>(names.size());
+            for (String name : names) {
+                batch.add(tasks.get(name));
+            }
+            batches.add(batch);
+        }
+        ROOT_LOGGER.debugf("Deployment scan of [%s] split %d update actions into %d batches", deploymentDir, scannerTasks.size(), batches.size());
+        return batches;
+    }
+
+    /**
+     * The tasks deployed by one composite operation, and the results of their last execution.
+     */
+    private class ScannerTaskBatch {
+
+        private List<ScannerTask> scannerTasks;
+        private List<ModelNode> updates;
+        private Future<ModelNode> futureResults;
 
+        private ScannerTaskBatch(final List<ScannerTask> scannerTasks) {
+            this.scannerTasks = scannerTasks;
+            this.updates = new ArrayList<ModelNode>(scannerTasks.size());
             for (ScannerTask task : scannerTasks) {
                 task.recordInProgress(); // puts down .isdeploying, .isundeploying
                 final ModelNode update = task.getUpdate();
@@ -687,73 +856,90 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 }
                 updates.add(update);
             }
+        }
 
-            boolean first = true;
-            while (!updates.isEmpty() && (first || !oneOffScan)) {
-                first = false;
-                final ModelNode results;
-                try {
-                    final Future<ModelNode> futureResults = deploymentOperations.deploy(getCompositeUpdate(updates), scheduledExecutor);
-                    try {
-                        results = futureResults.get(deploymentTimeout, TimeUnit.SECONDS);
-                    } catch (TimeoutException e) {
-                        futureResults.cancel(true);
-                        final ModelNode failure = new ModelNode();
-                        failure.get(OUTCOME).set(FAILED);
-                        failure.get(FAILURE_DESCRIPTION).set(DeploymentScannerLogger.ROOT_LOGGER.deploymentTimeout(deploymentTimeout));
-                        for (ScannerTask task : scannerTasks) {
-                            task.handleFailureResult(failure);
-                        }
-                        break;
-                    } catch (InterruptedException e) {
-                        futureResults.cancel(true);
-                        throw e;
-                    } catch (Exception e) {
-                        ROOT_LOGGER.fileSystemDeploymentFailed(e);
-                        futureResults.cancel(true);
-                        final ModelNode failure = new ModelNode();
-                        failure.get(OUTCOME).set(FAILED);
-                        failure.get(FAILURE_DESCRIPTION).set(e.getMessage());
-                        for (ScannerTask task : scannerTasks) {
-                            task.handleFailureResult(failure);
-                        }
-                        break;
-                    }
-                } catch(RejectedExecutionException ex) { //The executor was closed and no task could be submitted.
-                    for (ScannerTask task : scannerTasks) {
-                        task.removeInProgressMarker();
-                    }
-                    break;
+        /**
+         * Submits the composite operation for the tasks that are not done yet.
+         *
+         * @return {@code false} if the operation could not be submitted
+         */
+        private boolean deploy(final DeploymentOperations deploymentOperations) {
+            try {
+                futureResults = deploymentOperations.deploy(getCompositeUpdate(updates), scheduledExecutor);
+                return true;
+            } catch(RejectedExecutionException ex) { //The executor was closed and no task could be submitted.
+                for (ScannerTask task : scannerTasks) {
+                    task.removeInProgressMarker();
                 }
-                final List<ModelNode> toRetry = new ArrayList<ModelNode>();
-                final List<ScannerTask> retryTasks = new ArrayList<ScannerTask>();
-                if (results.hasDefined(RESULT)) {
-                    final List<Property> resultList = results.get(RESULT).asPropertyList();
-                    for (int i = 0; i < resultList.size(); i++) {
-                        final ModelNode result = resultList.get(i).getValue();
-                        final ScannerTask task = scannerTasks.get(i);
-                        final ModelNode outcome = result.get(OUTCOME);
-                        StringBuilder failureDesc = new StringBuilder();
-                        if (outcome.isDefined() && SUCCESS.equals(outcome.asString()) && handleCompositeResult(result, failureDesc)){
-                            task.handleSuccessResult();
-                        } else if (outcome.isDefined() && CANCELLED.equals(outcome.asString())) {
-                            toRetry.add(updates.get(i));
-                            retryTasks.add(task);
-                        } else {
-                            if (failureDesc.length() > 0) {
-                                result.get(FAILURE_DESCRIPTION).set(failureDesc.toString());
-                            }
-                            task.handleFailureResult(result);
+                return false;
+            }
+        }
+
+        private void cancel() {
+            futureResults.cancel(true);
+        }
+
+        /**
+         * Waits for the results of the submitted operation and completes the tasks accordingly.
+         *
+         * @return {@code true} if some tasks were cancelled and should be executed again
+         */
+        private boolean handleResults() throws InterruptedException {
+            final ModelNode results;
+            try {
+                results = futureResults.get(deploymentTimeout, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                futureResults.cancel(true);
+                final ModelNode failure = new ModelNode();
+                failure.get(OUTCOME).set(FAILED);
+                failure.get(FAILURE_DESCRIPTION).set(DeploymentScannerLogger.ROOT_LOGGER.deploymentTimeout(deploymentTimeout));
+                for (ScannerTask task : scannerTasks) {
+                    task.handleFailureResult(failure);
+                }
+                return false;
+            } catch (InterruptedException e) {
+                futureResults.cancel(true);
+                throw e;
+            } catch (Exception e) {
+                ROOT_LOGGER.fileSystemDeploymentFailed(e);
+                futureResults.cancel(true);
+                final ModelNode failure = new ModelNode();
+                failure.get(OUTCOME).set(FAILED);
+                failure.get(FAILURE_DESCRIPTION).set(e.getMessage());
+                for (ScannerTask task : scannerTasks) {
+                    task.handleFailureResult(failure);
+                }
+                return false;
+            }
+            final List<ModelNode> toRetry = new ArrayList<ModelNode>();
+            final List<ScannerTask> retryTasks = new ArrayList<ScannerTask>();
+            if (results.hasDefined(RESULT)) {
+                final List<Property> resultList = results.get(RESULT).asPropertyList();
+                for (int i = 0; i < resultList.size(); i++) {
+                    final ModelNode result = resultList.get(i).getValue();
+                    final ScannerTask task = scannerTasks.get(i);
+                    final ModelNode outcome = result.get(OUTCOME);
+                    StringBuilder failureDesc = new StringBuilder();
+                    if (outcome.isDefined() && SUCCESS.equals(outcome.asString()) && handleCompositeResult(result, failureDesc)){
+                        task.handleSuccessResult();
+                    } else if (outcome.isDefined() && CANCELLED.equals(outcome.asString())) {
+                        toRetry.add(updates.get(i));
+                        retryTasks.add(task);
+                    } else {
+                        if (failureDesc.length() > 0) {
+                            result.get(FAILURE_DESCRIPTION).set(failureDesc.toString());
                         }
+                        task.handleFailureResult(result);
                     }
-                    updates = toRetry;
-                    scannerTasks = retryTasks;
-                } else {
-                    for (ScannerTask current : scannerTasks) {
-                        current.handleFailureResult(results);
-                    }
+                }
+                updates = toRetry;
+                scannerTasks = retryTasks;
+            } else {
+                for (ScannerTask current : scannerTasks) {
+                    current.handleFailureResult(results);
                 }
             }
+            return !updates.isEmpty();
         }
     }
 
@@ -1269,7 +1455,12 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private synchronized void startScan() {
         if (scanEnabled) {
-            if (scanInterval > 0) {
+            if (scanInterval > 0 && watchEnabled && startWatch()) {
+                // Full scans are only a safety net for changes the watcher missed
+                final long fullScanInterval = Math.max(scanInterval, watchFullScanInterval);
+                scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, fullScanInterval, TimeUnit.MILLISECONDS);
+                watchTask = scheduledExecutor.scheduleWithFixedDelay(new DeploymentWatchRunnable(), WATCH_POLL_INTERVAL, WATCH_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            } else if (scanInterval > 0) {
                 scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
             } else {
                 scanTask = scheduledExecutor.schedule(scanRunnable, scanInterval, TimeUnit.MILLISECONDS);
@@ -1277,6 +1468,57 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Invoke with the object monitor held
+     *
+     * @return {@code true} if the deployment directory is being watched for changes
+     */
+    private boolean startWatch() {
+        try {
+            watcher = DeploymentDirectoryWatcher.create(deploymentDir.toPath(), this::isWatchedDirectory);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            ROOT_LOGGER.cannotWatchDeploymentDirectory(e, deploymentDir.getAbsolutePath(), scanInterval);
+            return false;
+        }
+    }
+
+    /**
+     * Stops watching the deployment directory, e.g. because it was removed, and scans it every scan interval instead.
+     *
+     * @param watcher the watcher that can no longer watch the directory
+     */
+    private synchronized void stopWatch(final DeploymentDirectoryWatcher watcher) {
+        if (watcher != this.watcher) {
+            // Scanning was stopped or restarted in the meantime
+            return;
+        }
+        ROOT_LOGGER.deploymentDirectoryNoLongerWatched(deploymentDir.getAbsolutePath(), scanInterval);
+        watchTask.cancel(false);
+        watchTask = null;
+        watcher.close();
+        this.watcher = null;
+        scanTask.cancel(false);
+        scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets whether changes in a directory below the deployment directory can affect a scan, i.e. whether
+     * {@link #scanDirectory} would descend into it or it belongs to exploded content that is auto-deployed.
+     */
+    private boolean isWatchedDirectory(final Path dir) {
+        for (Path name : deploymentDir.toPath().relativize(dir)) {
+            final String fileName = name.toString();
+            if (isEEArchive(fileName)) {
+                return autoDeployExploded;
+            }
+            if (WEB_INF.equalsIgnoreCase(fileName) || META_INF.equalsIgnoreCase(fileName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Invoke with the object monitor held
      */
@@ -1293,6 +1535,14 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             scanTask.cancel(true);
             scanTask = null;
         }
+        if (watchTask != null) {
+            watchTask.cancel(true);
+            watchTask = null;
+        }
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
     }
 
     private ModelNode getCompositeUpdate(final List<ModelNode> updates) {
@@ -140,4 +140,12 @@ public interface DeploymentScanner {
      */
     void setRuntimeFailureCausesRollback(boolean rollback);
 
+    /**
+     * Sets whether the deployment directory is watched for changes, so it is only scanned when something in it has
+     * changed instead of every scan interval.
+     *
+     * @param watchEnabled true if the deployment directory should be watched
+     */
+    void setWatchEnabled(boolean watchEnabled);
+
 }
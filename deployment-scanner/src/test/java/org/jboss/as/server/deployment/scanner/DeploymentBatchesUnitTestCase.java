@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DeploymentBatches}
+ */
+public class DeploymentBatchesUnitTestCase {
+
+    private static AutoDeployTestSupport testSupport;
+
+    @BeforeClass
+    public static void setupClass() {
+        testSupport = new AutoDeployTestSupport(DeploymentBatchesUnitTestCase.class.getSimpleName());
+    }
+
+    @AfterClass
+    public static void teardownClass() {
+        if (testSupport != null) {
+            testSupport.cleanupFiles();
+        }
+    }
+
+    @Test
+    public void testIndependentDeployments() throws Exception {
+        Map<String, File> deployments = new LinkedHashMap<>();
+        for (String name : new String[] {"a.war", "b.war", "c.war", "d.war", "e.war"}) {
+            deployments.put(name, createExploded(name, null, null));
+        }
+        List<List<String>> batches = DeploymentBatches.partition(deployments, 2);
+        Assert.assertEquals(Arrays.asList(Arrays.asList("a.war", "b.war"), Arrays.asList("c.war", "d.war"),
+                Arrays.asList("e.war")), batches);
+    }
+
+    @Test
+    public void testDependentDeploymentsShareBatch() throws Exception {
+        Map<String, File> deployments = new LinkedHashMap<>();
+        deployments.put("web1.war", createExploded("web1.war", null,
+                "<jboss-deployment-structure><deployment><dependencies><module name=\"deployment.lib1.jar\"/></dependencies></deployment></jboss-deployment-structure>"));
+        deployments.put("web2.war", createExploded("web2.war", null, null));
+        deployments.put("web3.war", createExploded("web3.war", "Manifest-Version: 1.0\nClass-Path: lib2.ja\n r\n", null));
+        deployments.put("lib1.jar", createExploded("lib1.jar", null, null));
+        deployments.put("lib2.jar", createExploded("lib2.jar", null, null));
+        List<List<String>> batches = DeploymentBatches.partition(deployments, 1);
+        Assert.assertEquals(3, batches.size());
+        Assert.assertTrue(batches.contains(Arrays.asList("lib1.jar", "web1.war")));
+        Assert.assertTrue(batches.contains(Arrays.asList("web2.war")));
+        Assert.assertTrue(batches.contains(Arrays.asList("lib2.jar", "web3.war")));
+    }
+
+    @Test
+    public void testExactNames() throws Exception {
+        Map<String, File> deployments = new LinkedHashMap<>();
+        deployments.put("a.jar", createExploded("a.jar", null, null));
+        deployments.put("aa.jar", createExploded("aa.jar", null, null));
+        deployments.put("client.war", createExploded("client.war", "Manifest-Version: 1.0\nClass-Path: lib/aa.jar\n", null));
+        deployments.put("ba.jar", createExploded("ba.jar", null, null));
+        deployments.put("other.war", createExploded("other.war", "Manifest-Version: 1.0\nDependencies: deployment.ba.jar export, org.a.jar\n", null));
+        List<List<String>> batches = DeploymentBatches.partition(deployments, 1);
+        Assert.assertEquals(Arrays.asList(Arrays.asList("a.jar"), Arrays.asList("aa.jar", "client.war"),
+                Arrays.asList("ba.jar", "other.war")), batches);
+    }
+
+    @Test
+    public void testStructureModuleDependenciesOnly() throws Exception {
+        Map<String, File> deployments = new LinkedHashMap<>();
+        deployments.put("portal.war", createExploded("portal.war", null,
+                "<jboss-deployment-structure xmlns='urn:jboss:deployment-structure:1.2'>"
+                        + "<!-- <dependencies><module name='deployment.commented.jar'/></dependencies> -->"
+                        + "<deployment><exclusions><module name='deployment.excluded.jar'/></exclusions>"
+                        + "<dependencies><module name=\"deployment.util.jar\" export='true'/></dependencies></deployment>"
+                        + "<module name='deployment.defined.jar'/>"
+                        + "</jboss-deployment-structure>"));
+        deployments.put("util.jar", createExploded("util.jar", null, null));
+        deployments.put("commented.jar", createExploded("commented.jar", null, null));
+        deployments.put("excluded.jar", createExploded("excluded.jar", null, null));
+        deployments.put("defined.jar", createExploded("defined.jar", null, null));
+        Assert.assertEquals(Arrays.asList(Arrays.asList("util.jar", "portal.war"), Arrays.asList("commented.jar"),
+                Arrays.asList("excluded.jar"), Arrays.asList("defined.jar")), DeploymentBatches.partition(deployments, 1));
+    }
+
+    @Test
+    public void testDependenciesFirst() throws Exception {
+        Map<String, File> deployments = new LinkedHashMap<>();
+        deployments.put("web.war", createExploded("web.war", null,
+                "<jboss-deployment-structure><deployment><dependencies><module name='deployment.app.ear.ejb.jar'/></dependencies></deployment></jboss-deployment-structure>"));
+        deployments.put("app.ear", createExploded("app.ear", "Manifest-Version: 1.0\nClass-Path: lib.jar\n", null));
+        deployments.put("lib.jar", createExploded("lib.jar", null, null));
+        Assert.assertEquals(Arrays.asList(Arrays.asList("lib.jar", "app.ear", "web.war")),
+                DeploymentBatches.partition(deployments, 1));
+    }
+
+    @Test
+    public void testMissingContent() throws Exception {
+        Map<String, File> deployments = new LinkedHashMap<>();
+        deployments.put("gone.war", null);
+        deployments.put("x.war", createExploded("x.war", null, null));
+        Assert.assertEquals(Arrays.asList(Arrays.asList("gone.war"), Arrays.asList("x.war")),
+                DeploymentBatches.partition(deployments, 1));
+    }
+
+    private static File createExploded(String name, String manifest, String structure) throws IOException {
+        File dir = new File(testSupport.getTempDir(), name);
+        File metaInf = new File(dir, "META-INF");
+        Assert.assertTrue(metaInf.mkdirs());
+        if (manifest != null) {
+            Files.write(new File(metaInf, "MANIFEST.MF").toPath(), manifest.getBytes(UTF_8));
+        }
+        if (structure != null) {
+            Files.write(new File(metaInf, "jboss-deployment-structure.xml").toPath(), structure.getBytes(UTF_8));
+        }
+        return dir;
+    }
+}
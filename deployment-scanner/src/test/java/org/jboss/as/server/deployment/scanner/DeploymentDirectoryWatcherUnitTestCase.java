@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.server.deployment.scanner;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link DeploymentDirectoryWatcher}.
+ */
+public class DeploymentDirectoryWatcherUnitTestCase {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    private Path root;
+    private DeploymentDirectoryWatcher watcher;
+
+    @Before
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("deployment-directory-watcher");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (watcher != null) {
+            watcher.close();
+        }
+        if (Files.exists(root)) {
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    public void testCreate() throws Exception {
+        watcher = DeploymentDirectoryWatcher.create(root, dir -> true);
+        assertFalse(watcher.pollChanges());
+        write(root.resolve("foo.war"), "foo");
+        awaitChange();
+    }
+
+    @Test
+    public void testModify() throws Exception {
+        final Path war = write(root.resolve("foo.war"), "foo");
+        watcher = DeploymentDirectoryWatcher.create(root, dir -> true);
+        assertFalse(watcher.pollChanges());
+        write(war, "bar");
+        awaitChange();
+    }
+
+    @Test
+    public void testDelete() throws Exception {
+        final Path war = write(root.resolve("foo.war"), "foo");
+        watcher = DeploymentDirectoryWatcher.create(root, dir -> true);
+        assertFalse(watcher.pollChanges());
+        Files.delete(war);
+        awaitChange();
+    }
+
+    @Test
+    public void testNewSubdirectory() throws Exception {
+        watcher = DeploymentDirectoryWatcher.create(root, dir -> true);
+        final Path sub = Files.createDirectory(root.resolve("sub"));
+        awaitChange();
+        awaitQuiet();
+        write(sub.resolve("foo.war"), "foo");
+        awaitChange();
+    }
+
+    @Test
+    public void testRootRemoved() throws Exception {
+        watcher = DeploymentDirectoryWatcher.create(root, dir -> true);
+        assertTrue(watcher.isWatching());
+        Files.delete(root);
+        await(() -> {
+            watcher.pollChanges();
+            return !watcher.isWatching();
+        }, "the deployment directory to no longer be watched");
+
+        // Recreating the directory does not resume watching it
+        Files.createDirectory(root);
+        watcher.refresh();
+        assertFalse(watcher.isWatching());
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        watcher = DeploymentDirectoryWatcher.create(root, dir -> true);
+        watcher.close();
+        assertFalse(watcher.isWatching());
+    }
+
+    private void awaitChange() throws InterruptedException {
+        await(watcher::pollChanges, "a change to be detected");
+    }
+
+    /**
+     * Waits for late events to be delivered, then checks no more changes are pending.
+     */
+    private void awaitQuiet() throws InterruptedException {
+        Thread.sleep(500);
+        watcher.pollChanges();
+        Thread.sleep(500);
+        assertFalse(watcher.pollChanges());
+    }
+
+    private static void await(final BooleanSupplier condition, final String description) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for " + description);
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static Path write(final Path file, final String content) throws IOException {
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
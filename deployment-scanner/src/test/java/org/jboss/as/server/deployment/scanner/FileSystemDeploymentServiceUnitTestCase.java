@@ -65,6 +65,7 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
@@ -332,6 +333,44 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertTrue(failed2.exists());
     }
 
+    @Test
+    public void testBatchFailure() throws Exception {
+        String[] names = {"foo.war", "bar.war", "baz.war"};
+        for (String name : names) {
+            createFile(name);
+            createFile(name + FileSystemDeploymentService.DO_DEPLOY);
+        }
+        TesteeSet ts;
+        System.setProperty(FileSystemDeploymentService.DEPLOYMENT_BATCH_SIZE_PROPERTY, "1");
+        try {
+            ts = createTestee();
+        } finally {
+            System.clearProperty(FileSystemDeploymentService.DEPLOYMENT_BATCH_SIZE_PROPERTY);
+        }
+        // Each deployment is deployed by its own operation, and only the second one fails
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.controller.addCompositeFailureResponse(1, 1);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+        List<Integer> compositeSizes = new ArrayList<>();
+        for (ModelNode request : ts.controller.requests) {
+            if (COMPOSITE.equals(request.get(OP).asString())) {
+                compositeSizes.add(request.get(STEPS).asList().size());
+            }
+        }
+        assertEquals(Arrays.asList(1, 1, 1), compositeSizes);
+        int failed = 0;
+        for (String name : names) {
+            assertFalse(new File(tmpDir, name + FileSystemDeploymentService.DO_DEPLOY).exists());
+            if (new File(tmpDir, name + FileSystemDeploymentService.FAILED_DEPLOY).exists()) {
+                failed++;
+            } else {
+                assertTrue(new File(tmpDir, name + FileSystemDeploymentService.DEPLOYED).exists());
+            }
+        }
+        assertEquals(1, failed);
+    }
+
     @Test
     // WFLY-364 Test a partial failure, where a runtime failure does not trigger a complete rollback
     public void testPartialCompositeFailure() throws Exception {
@@ -1949,6 +1988,56 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertEquals(bytes, ts.controller.deployed.get("external.war"));
     }
 
+    @Test
+    public void testWatchEnabled() throws Exception {
+        PeriodicTaskExecutor executor = new PeriodicTaskExecutor();
+        TesteeSet ts = createTestee(executor);
+        ts.testee.setScanInterval(100);
+        assertEquals(1, executor.periodicTasks.size());
+        PeriodicTask scan = executor.periodicTasks.get(0);
+        assertEquals(100, scan.delay);
+
+        // Full scans are only done as a safety net, in addition to watching the directory for changes
+        ts.testee.setWatchEnabled(true);
+        assertEquals(3, executor.periodicTasks.size());
+        assertTrue(scan.isCancelled());
+        PeriodicTask fullScan = executor.periodicTasks.get(1);
+        PeriodicTask watch = executor.periodicTasks.get(2);
+        assertTrue(fullScan.delay > 100);
+        assertEquals(FileSystemDeploymentService.WATCH_POLL_INTERVAL, watch.delay);
+
+        ts.testee.setWatchEnabled(false);
+        assertEquals(4, executor.periodicTasks.size());
+        assertTrue(fullScan.isCancelled());
+        assertTrue(watch.isCancelled());
+        assertEquals(100, executor.periodicTasks.get(3).delay);
+    }
+
+    @Test
+    public void testWatchFallsBackToPolling() throws Exception {
+        PeriodicTaskExecutor executor = new PeriodicTaskExecutor();
+        TesteeSet ts = createTestee(executor);
+        ts.testee.setWatchEnabled(true);
+        ts.testee.setScanInterval(100);
+        assertEquals(2, executor.periodicTasks.size());
+        PeriodicTask fullScan = executor.periodicTasks.get(0);
+        PeriodicTask watch = executor.periodicTasks.get(1);
+
+        // The deployment directory can no longer be watched once it is removed
+        assertTrue(tmpDir.delete());
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (executor.periodicTasks.size() == 2 && System.currentTimeMillis() < deadline) {
+            watch.command.run();
+            Thread.sleep(20);
+        }
+        assertEquals(3, executor.periodicTasks.size());
+        assertTrue(fullScan.isCancelled());
+        assertTrue(watch.isCancelled());
+        PeriodicTask scan = executor.periodicTasks.get(2);
+        assertEquals(100, scan.delay);
+        assertFalse(scan.isCancelled());
+    }
+
     private TesteeSet createTestee(String... existingContent) throws OperationFailedException {
         return createTestee(new MockServerController(existingContent));
     }
@@ -2317,6 +2406,68 @@ public class FileSystemDeploymentServiceUnitTestCase {
         }
     }
 
+    /**
+     * Records the periodic tasks instead of running them.
+     */
+    private static class PeriodicTaskExecutor extends DiscardTaskExecutor {
+
+        private final List<PeriodicTask> periodicTasks = new ArrayList<>();
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            PeriodicTask task = new PeriodicTask(command, unit.toMillis(delay));
+            periodicTasks.add(task);
+            return task;
+        }
+    }
+
+    private static class PeriodicTask implements ScheduledFuture<Object> {
+        private final Runnable command;
+        private final long delay;
+        private volatile boolean cancelled;
+
+        private PeriodicTask(Runnable command, long delay) {
+            this.command = command;
+            this.delay = delay;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(delay, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), o.getDelay(TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            cancelled = true;
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return cancelled;
+        }
+
+        @Override
+        public Object get() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     private static class CallOnGetFuture<T> implements AsyncFuture<T> {
         final Callable<T> callable;
 
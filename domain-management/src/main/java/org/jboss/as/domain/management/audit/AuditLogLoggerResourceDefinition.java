@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.jboss.as.controller.AbstractRemoveStepHandler;
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
@@ -75,6 +76,23 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
 
     static final List<SimpleAttributeDefinition> ATTRIBUTE_DEFINITIONS = Arrays.asList(LOG_BOOT, LOG_READ_ONLY, ENABLED);
 
+    public static final SimpleAttributeDefinition ASYNC_QUEUE_DEPTH = new SimpleAttributeDefinitionBuilder("async-queue-depth", ModelType.INT)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    public static final SimpleAttributeDefinition ASYNC_MAX_QUEUE_DEPTH = new SimpleAttributeDefinitionBuilder("async-max-queue-depth", ModelType.INT)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    public static final SimpleAttributeDefinition ASYNC_DROPPED_COUNT = new SimpleAttributeDefinitionBuilder("async-dropped-count", ModelType.LONG)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    private static final AttributeDefinition[] METRICS = new AttributeDefinition[] {ASYNC_QUEUE_DEPTH, ASYNC_MAX_QUEUE_DEPTH, ASYNC_DROPPED_COUNT};
+
     private final ManagedAuditLogger auditLogger;
 
     private AuditLogLoggerResourceDefinition(final PathElement pathElement, final ManagedAuditLogger auditLogger) {
@@ -100,6 +118,12 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
 
         resourceRegistration.registerReadWriteAttribute(LOG_READ_ONLY, null, new AuditLogReadOnlyWriteAttributeHandler(auditLogger));
         resourceRegistration.registerReadWriteAttribute(ENABLED, null, new AuditLogEnabledWriteAttributeHandler(auditLogger));
+
+        if (auditLogger != null) {
+            for (AttributeDefinition def : METRICS) {
+                resourceRegistration.registerMetric(def, new AsyncWriterMetricHandler(auditLogger));
+            }
+        }
     }
 
     @Override
@@ -207,6 +231,27 @@ public class AuditLogLoggerResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    private static class AsyncWriterMetricHandler extends AbstractRuntimeOnlyHandler {
+
+        private final ManagedAuditLogger auditLogger;
+
+        AsyncWriterMetricHandler(ManagedAuditLogger auditLogger) {
+            this.auditLogger = auditLogger;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            String attr = operation.require(ModelDescriptionConstants.NAME).asString();
+            if (attr.equals(ASYNC_QUEUE_DEPTH.getName())) {
+                context.getResult().set(auditLogger.getAsyncQueueDepth());
+            } else if (attr.equals(ASYNC_MAX_QUEUE_DEPTH.getName())) {
+                context.getResult().set(auditLogger.getAsyncMaxQueueDepth());
+            } else if (attr.equals(ASYNC_DROPPED_COUNT.getName())) {
+                context.getResult().set(auditLogger.getAsyncDroppedCount());
+            }
+        }
+    }
+
     private static class AuditLogEnabledWriteAttributeHandler extends AbstractWriteAttributeHandler<ManagedAuditLogger.Status> {
 
         private final ManagedAuditLogger auditLogger;
@@ -147,6 +147,15 @@ public class AuditLogHandlerBootEnabledTestCase extends AbstractAuditLogHandlerT
         }
     }
 
+    @Test
+    public void testAsyncWriterMetrics() throws Exception {
+        // Items are written synchronously unless enabled by a system property
+        PathAddress loggerAddress = AUDIT_ADDR.append(AuditLogLoggerResourceDefinition.PATH_ELEMENT);
+        for (String metric : new String[] {"async-queue-depth", "async-max-queue-depth", "async-dropped-count"}) {
+            Assert.assertEquals(0, executeForResult(Util.getReadAttributeOperation(loggerAddress, metric)).asLong());
+        }
+    }
+
     @Test
     public void testCannotRemoveReferencedHandler() throws Exception {
         File file = new File(logDir, "test-file.log");
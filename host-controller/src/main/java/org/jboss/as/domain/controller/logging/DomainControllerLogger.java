@@ -805,4 +805,7 @@ public interface DomainControllerLogger extends BasicLogger {
 
     @Message(id = 98, value = "The following servers %s are starting; execution of remote management operations is not currently available")
     OperationFailedException serverManagementUnavailableDuringBoot(String serverNames);
+
+    @Message(id = 99, value = "Invalid rollout plan. Server group %s has both %s and %s; only one of them can be set.")
+    String invalidRolloutPlanExclusive(String name, String propertyName, String otherName);
 }
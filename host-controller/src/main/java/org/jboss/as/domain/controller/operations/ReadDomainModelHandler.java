@@ -25,7 +25,9 @@ package org.jboss.as.domain.controller.operations;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.host.controller.mgmt.DomainModelDigest;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -38,11 +40,18 @@ class ReadDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
     private final boolean lock;
+    private final TransformedDomainModelCache cache;
 
     public ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock) {
+        this(ignoredTransformationRegistry, transformers, lock, null);
+    }
+
+    ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers,
+                           final boolean lock, final TransformedDomainModelCache cache) {
         this.transformers = transformers;
         this.ignoredTransformationRegistry = ignoredTransformationRegistry != null ? ignoredTransformationRegistry : Transformers.DEFAULT;
         this.lock = lock;
+        this.cache = cache != null && cache.isEnabled() ? cache : null;
     }
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -53,9 +62,24 @@ class ReadDomainModelHandler implements OperationStepHandler {
         }
 
         final Transformers.TransformationInputs transformationInputs = new Transformers.TransformationInputs(context);
+        final Resource root = transformationInputs.getRootResource();
+        byte[] modelDigest = null;
+        ModelNode key = null;
+        if (cache != null) {
+            modelDigest = DomainModelDigest.digestDomainResources(root);
+            key = TransformedDomainModelCache.createKey(transformers, ignoredTransformationRegistry, root);
+            final ModelNode described = cache.get(modelDigest, key);
+            if (described != null) {
+                context.getResult().set(described);
+                return;
+            }
+        }
         final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(transformers,
-                transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource());
+                transformationInputs, ignoredTransformationRegistry, root);
         context.getResult().set(readUtil.getDescribedResources());
+        if (cache != null) {
+            cache.put(modelDigest, key, context.getResult());
+        }
     }
 
 }
@@ -0,0 +1,152 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.TransformationTarget;
+import org.jboss.as.controller.transform.Transformers;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Keeps the domain model as it was transformed for registering slave hosts, so hosts that need the same
+ * transformation of the same model share the result.
+ * <p>
+ * The result of transforming the domain model for a host only depends on the management version of the host, the
+ * versions of the subsystems used in the model and the top level resources the host ignores. Those make up the key
+ * of an entry. The entries are only valid for one version of the domain model, identified by its digest, and are
+ * dropped as soon as a host registers against a different version. Transformation warnings are only logged for the
+ * host the model was transformed for.
+ */
+public final class TransformedDomainModelCache {
+
+    /** System property setting how many transformed models are kept, {@code 0} disables the cache. */
+    static final String SIZE_PROPERTY = "org.jboss.as.domain.controller.transformed-model-cache-size";
+
+    private static final int DEFAULT_SIZE = 8;
+
+    private static final String MANAGEMENT_VERSION = "management-version";
+    private static final String IGNORED = "ignored";
+
+    private final int maxSize;
+    // guarded by this
+    private byte[] modelDigest;
+    // guarded by this
+    private final Map<ModelNode, ModelNode> entries;
+
+    public TransformedDomainModelCache() {
+        this(Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(SIZE_PROPERTY, Integer.toString(DEFAULT_SIZE))));
+    }
+
+    TransformedDomainModelCache(final int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<ModelNode, ModelNode>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<ModelNode, ModelNode> eldest) {
+                return size() > TransformedDomainModelCache.this.maxSize;
+            }
+        };
+    }
+
+    boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Gets the transformed model for a key.
+     *
+     * @param modelDigest the digest of the domain model
+     * @param key the key created by {@link #createKey(Transformers, Transformers.ResourceIgnoredTransformationRegistry, Resource)}
+     * @return a copy of the described resources of the transformed model, or {@code null} if there is none
+     */
+    synchronized ModelNode get(final byte[] modelDigest, final ModelNode key) {
+        if (!Arrays.equals(this.modelDigest, modelDigest)) {
+            return null;
+        }
+        final ModelNode described = entries.get(key);
+        return described == null ? null : described.clone();
+    }
+
+    /**
+     * Stores the transformed model for a key, dropping the entries for any other version of the domain model.
+     *
+     * @param modelDigest the digest of the domain model
+     * @param key the key created by {@link #createKey(Transformers, Transformers.ResourceIgnoredTransformationRegistry, Resource)}
+     * @param described the described resources of the transformed model
+     */
+    synchronized void put(final byte[] modelDigest, final ModelNode key, final ModelNode described) {
+        if (!Arrays.equals(this.modelDigest, modelDigest)) {
+            entries.clear();
+            this.modelDigest = modelDigest;
+        }
+        entries.put(key, described.clone());
+    }
+
+    /**
+     * Creates the key of the transformation of a domain model.
+     *
+     * @param transformers the transformers for the host
+     * @param ignoredTransformationRegistry the resources the host ignores
+     * @param domainRoot the domain model
+     * @return the key
+     */
+    static ModelNode createKey(final Transformers transformers, final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry,
+                               final Resource domainRoot) {
+        final TransformationTarget target = transformers.getTarget();
+        final ModelNode key = new ModelNode();
+        key.get(MANAGEMENT_VERSION).set(target.getVersion().toString());
+
+        final Set<String> subsystems = new TreeSet<>();
+        for (Resource.ResourceEntry profile : domainRoot.getChildren(PROFILE)) {
+            subsystems.addAll(profile.getChildrenNames(SUBSYSTEM));
+        }
+        final ModelNode subsystemVersions = key.get(SUBSYSTEM).setEmptyObject();
+        for (String subsystem : subsystems) {
+            final ModelVersion version = target.getSubsystemVersion(subsystem);
+            subsystemVersions.get(subsystem).set(version == null ? new ModelNode() : new ModelNode(version.toString()));
+        }
+
+        // Ignoring a resource is decided by its top level element, so the ignored top level resources cover it
+        final ModelNode ignored = key.get(IGNORED).setEmptyList();
+        for (String type : new TreeSet<>(domainRoot.getChildTypes())) {
+            for (String name : new TreeSet<>(domainRoot.getChildrenNames(type))) {
+                final PathAddress address = PathAddress.pathAddress(type, name);
+                if (ignoredTransformationRegistry.isResourceTransformationIgnored(address)) {
+                    ignored.add(address.toModelNode());
+                }
+            }
+        }
+        return key;
+    }
+}
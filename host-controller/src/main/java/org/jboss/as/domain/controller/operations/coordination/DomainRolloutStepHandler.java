@@ -33,6 +33,8 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOS
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IN_SERIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILED_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILURE_PERCENTAGE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_IN_FLIGHT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_IN_FLIGHT_PERCENTAGE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
@@ -492,6 +494,21 @@ public class DomainRolloutStepHandler implements OperationStepHandler {
                 throw new OperationFailedException(DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidRolloutPlanLess(prop.getName(), MAX_FAILED_SERVERS, max));
             }
         }
+        if (plan.hasDefined(MAX_IN_FLIGHT)) {
+            if (plan.hasDefined(MAX_IN_FLIGHT_PERCENTAGE)) {
+                throw new OperationFailedException(DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidRolloutPlanExclusive(prop.getName(), MAX_IN_FLIGHT, MAX_IN_FLIGHT_PERCENTAGE));
+            }
+            int max = plan.get(MAX_IN_FLIGHT).asInt();
+            if (max < 1) {
+                throw new OperationFailedException(DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidRolloutPlanLess(prop.getName(), MAX_IN_FLIGHT, max));
+            }
+        }
+        if (plan.hasDefined(MAX_IN_FLIGHT_PERCENTAGE)) {
+            int max = plan.get(MAX_IN_FLIGHT_PERCENTAGE).asInt();
+            if (max < 1 || max > 100) {
+                throw new OperationFailedException(DomainControllerLogger.HOST_CONTROLLER_LOGGER.invalidRolloutPlanRange(prop.getName(), MAX_IN_FLIGHT_PERCENTAGE, max));
+            }
+        }
     }
 
     private ModelNode getDefaultRolloutPlan(Map<String, Map<ServerIdentity, ModelNode>> opsByGroup) {
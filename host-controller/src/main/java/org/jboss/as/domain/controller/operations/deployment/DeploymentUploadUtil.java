@@ -256,7 +256,7 @@ class DeploymentUploadUtil {
         ModelNode operationContentItem = operation.get(DeploymentAttributes.CONTENT_RESOURCE_ALL.getName()).get(0);
         byte[] newHash = operationContentItem.require(CONTENT_HASH.getName()).asBytes();
         if (needRemoteContent(fileRepository, contentRepository, backup, oldHash)) {  // backup DC needs to  pull the content
-            fileRepository.getDeploymentFiles(ModelContentReference.fromModelAddress(address, newHash));
+            fileRepository.getExplodedDeploymentFiles(ModelContentReference.fromModelAddress(address, newHash));
         }
         return newHash;
     }
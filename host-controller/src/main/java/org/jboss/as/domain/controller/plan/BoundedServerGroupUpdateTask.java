@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.plan;
+
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.BlockingTimeout;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.domain.controller.ServerIdentity;
+import org.jboss.as.domain.controller.logging.DomainControllerLogger;
+import org.wildfly.security.auth.server.SecurityIdentity;
+
+/**
+ * Updates the servers of a group with at most a given number of servers awaiting their prepared response at a time.
+ * As soon as one of them responds, the update of the next server is started. Once the failed servers exceed what
+ * the {@link ServerUpdatePolicy} allows, no more servers are updated.
+ */
+class BoundedServerGroupUpdateTask extends AbstractServerGroupRolloutTask implements Runnable {
+
+    private final int maxInFlight;
+
+    BoundedServerGroupUpdateTask(List<ServerUpdateTask> tasks, ServerUpdatePolicy updatePolicy, ServerTaskExecutor executor,
+                                 SecurityIdentity securityIdentity, InetAddress sourceAddress, BlockingTimeout blockingTimeout,
+                                 int maxInFlight) {
+        super(tasks, updatePolicy, executor, securityIdentity, sourceAddress, blockingTimeout);
+        assert maxInFlight > 0 : "maxInFlight must be positive";
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void execute() {
+        final Map<ServerIdentity, InFlight> outstanding = new HashMap<>();
+        final ServerTaskExecutor.ServerOperationListener listener = new ServerTaskExecutor.ServerOperationListener();
+        final Iterator<ServerUpdateTask> pending = tasks.iterator();
+        boolean interrupted = false;
+        while (!interrupted) {
+            while (outstanding.size() < maxInFlight && pending.hasNext()) {
+                final ServerUpdateTask task = pending.next();
+                final ServerIdentity identity = task.getServerIdentity();
+                if (updatePolicy.canUpdateServer(identity) && !Thread.currentThread().isInterrupted()) {
+                    // Execute the task
+                    final int serverTimeout = executor.executeTask(listener, task);
+                    if (serverTimeout > -1) {
+                        outstanding.put(identity, new InFlight(task, serverTimeout));
+                    }
+                } else {
+                    DomainControllerLogger.HOST_CONTROLLER_LOGGER.tracef("Skipping server update task for %s", identity);
+                }
+            }
+            if (outstanding.isEmpty()) {
+                break;
+            }
+            long deadline = Long.MAX_VALUE;
+            for (InFlight inFlight : outstanding.values()) {
+                deadline = Math.min(deadline, inFlight.deadline);
+            }
+            try {
+                // Wait for the next prepared result. Once a deadline passed, still take a result that already arrived
+                // rather than cancelling a server that responded in time
+                final long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                final TransactionalProtocolClient.PreparedOperation<ServerTaskExecutor.ServerOperation> prepared =
+                        listener.retrievePreparedOperation(remaining, TimeUnit.MILLISECONDS);
+                if (prepared != null) {
+                    final ServerIdentity identity = prepared.getOperation().getIdentity();
+                    // A server that timed out was already cancelled and recorded as failed
+                    if (outstanding.remove(identity) != null) {
+                        recordPreparedOperation(identity, prepared);
+                    }
+                } else {
+                    cancelTimedOut(outstanding);
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            if (!outstanding.isEmpty()) {
+                DomainControllerLogger.HOST_CONTROLLER_LOGGER.interruptedAwaitingPreparedResponse(getClass().getSimpleName(), outstanding.keySet());
+                for (ServerIdentity identity : outstanding.keySet()) {
+                    executor.cancelTask(identity);
+                }
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void cancelTimedOut(final Map<ServerIdentity, InFlight> outstanding) {
+        final long now = System.currentTimeMillis();
+        final Iterator<Map.Entry<ServerIdentity, InFlight>> it = outstanding.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<ServerIdentity, InFlight> entry = it.next();
+            final InFlight inFlight = entry.getValue();
+            if (inFlight.deadline <= now) {
+                final ServerIdentity identity = entry.getKey();
+                DomainControllerLogger.HOST_CONTROLLER_LOGGER.timedOutAwaitingPreparedResponse(getClass().getSimpleName(), inFlight.timeout, Collections.singleton(identity));
+                executor.cancelTask(identity);
+                handlePreparePhaseTimeout(identity, inFlight.task, inFlight.timeout);
+                it.remove();
+            }
+        }
+    }
+
+    private static final class InFlight {
+        private final ServerUpdateTask task;
+        private final int timeout;
+        private final long deadline;
+
+        private InFlight(final ServerUpdateTask task, final int timeout) {
+            this.task = task;
+            this.timeout = timeout;
+            this.deadline = System.currentTimeMillis() + timeout;
+        }
+    }
+}
@@ -31,6 +31,8 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.GRA
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IN_SERIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILED_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILURE_PERCENTAGE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_IN_FLIGHT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_IN_FLIGHT_PERCENTAGE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ACROSS_GROUPS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLING_TO_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
@@ -141,8 +143,15 @@ public class RolloutPlanController {
 
                     SecurityIdentity securityIdentity = accessAuditContext != null ?  accessAuditContext.getSecurityIdentity() : null;
                     InetAddress sourceAddress = accessAuditContext != null ?  accessAuditContext.getRemoteAddress() : null;
-                    seriesTasks.add(rollingGroup ? new RollingServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout)
-                        : new ConcurrentServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout));
+                    final int maxInFlight = getMaxInFlight(policyNode, servers.size());
+                    final boolean rolling = maxInFlight < 0 ? rollingGroup : maxInFlight == 1;
+                    if (rolling) {
+                        seriesTasks.add(new RollingServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout));
+                    } else if (maxInFlight < 0 || maxInFlight >= servers.size()) {
+                        seriesTasks.add(new ConcurrentServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout));
+                    } else {
+                        seriesTasks.add(new BoundedServerGroupUpdateTask(groupTasks, policy, taskExecutor, securityIdentity, sourceAddress, blockingTimeout, maxInFlight));
+                    }
 
                     updatePolicies.put(serverGroupName, policy);
 
@@ -175,6 +184,23 @@ public class RolloutPlanController {
         return result;
     }
 
+    /**
+     * Gets how many servers of a group may be awaiting their prepared response at the same time. If set,
+     * {@code max-in-flight} or {@code max-in-flight-percentage} take precedence over {@code rolling-to-servers}. Their
+     * values were already validated along with the rest of the rollout plan.
+     *
+     * @return the number of servers, at least 1, or {@code -1} if the policy does not limit it
+     */
+    static int getMaxInFlight(final ModelNode policyNode, final int serverCount) {
+        if (policyNode.hasDefined(MAX_IN_FLIGHT)) {
+            return policyNode.get(MAX_IN_FLIGHT).asInt();
+        } else if (policyNode.hasDefined(MAX_IN_FLIGHT_PERCENTAGE)) {
+            int pct = policyNode.get(MAX_IN_FLIGHT_PERCENTAGE).asInt();
+            return Math.max(1, (serverCount * pct + 99) / 100);
+        }
+        return -1;
+    }
+
     private ServerUpdateTask createServerTask(final ServerIdentity serverIdentity, final ModelNode serverOp,
                                               final ServerUpdatePolicy policy) {
         ServerUpdateTask result;
@@ -76,6 +76,9 @@ public class ConfigurationPersisterFactory {
         HostXml hostXml = new HostXml(defaultHostname, environment.getRunningModeControl().getRunningMode(),
                 environment.isUseCachedDc(), Module.getBootModuleLoader(), executorService, hostExtensionRegistry);
         BackupXmlConfigurationPersister persister = new BackupXmlConfigurationPersister(file, new QName(Namespace.CURRENT.getUriString(), "host"), hostXml, hostXml, false);
+        // The parsed operations depend on the constructor arguments of HostXml as well as on the file
+        persister.enableBootOperationCache(hostXml::handleCachedOperations, defaultHostname, environment.getRunningModeControl().getRunningMode().name(),
+                Boolean.toString(environment.isUseCachedDc()));
         for (Namespace namespace : Namespace.domainValues()) {
             if (!namespace.equals(Namespace.CURRENT)) {
                 persister.registerAdditionalRootElement(new QName(namespace.getUriString(), "host"), hostXml);
@@ -102,6 +105,7 @@ public class ConfigurationPersisterFactory {
         }
 
         BackupXmlConfigurationPersister persister = new BackupXmlConfigurationPersister(file, new QName(Namespace.CURRENT.getUriString(), "domain"), domainXml, domainXml, suppressLoad);
+        persister.enableBootOperationCache(domainXml::handleCachedOperations);
         for (Namespace namespace : Namespace.domainValues()) {
             if (!namespace.equals(Namespace.CURRENT)) {
                 persister.registerAdditionalRootElement(new QName(namespace.getUriString(), "domain"), domainXml);
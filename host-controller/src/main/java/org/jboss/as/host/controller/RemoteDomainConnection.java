@@ -28,6 +28,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -49,6 +50,7 @@ import org.jboss.as.host.controller.discovery.DiscoveryOption;
 import org.jboss.as.host.controller.discovery.RemoteDomainControllerConnectionConfiguration;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.host.controller.mgmt.DomainControllerProtocol;
+import org.jboss.as.host.controller.mgmt.DomainModelDigest;
 import org.jboss.as.protocol.ProtocolConnectionConfiguration;
 import org.jboss.as.protocol.ProtocolConnectionManager;
 import org.jboss.as.protocol.ProtocolConnectionUtils;
@@ -112,6 +114,9 @@ class RemoteDomainConnection extends FutureManagementChannel {
     private final List<DiscoveryOption> discoveryOptions;
     private final RunningMode runningMode;
     private URI uri;
+    // The digest of the last domain model applied from the master, and of the local domain resources right after
+    private volatile byte[] appliedDomainModelDigest;
+    private volatile byte[] localDomainModelDigest;
 
     RemoteDomainConnection(final String localHostName, final ProtocolConnectionConfiguration configuration, final AuthenticationContext authenticationContext,
                            final List<DiscoveryOption> discoveryOptions,
@@ -308,11 +313,35 @@ class RemoteDomainConnection extends FutureManagementChannel {
      * @return whether it was applied successfully or not
      */
     boolean applyDomainModel(ModelNode result) {
+        if (DomainModelDigest.isUnchanged(result)) {
+            // The master found that we already have the model it would have sent
+            HostControllerLogger.ROOT_LOGGER.debug("Domain model unchanged since it was last applied");
+            return true;
+        }
+        appliedDomainModelDigest = null;
         if(! result.hasDefined(ModelDescriptionConstants.RESULT)) {
             return false;
         }
         final List<ModelNode> bootOperations= result.get(ModelDescriptionConstants.RESULT).asList();
-        return callback.applyDomainModel(bootOperations);
+        if (!callback.applyDomainModel(bootOperations)) {
+            return false;
+        }
+        localDomainModelDigest = callback.getLocalDomainModelDigest();
+        appliedDomainModelDigest = DomainModelDigest.digest(result.get(ModelDescriptionConstants.RESULT));
+        return true;
+    }
+
+    /**
+     * Gets the digest of the domain model that was last applied, if the local domain model did not change since.
+     *
+     * @return the digest or {@code null}
+     */
+    private byte[] getAppliedDomainModelDigest() {
+        final byte[] applied = appliedDomainModelDigest;
+        if (applied != null && Arrays.equals(localDomainModelDigest, callback.getLocalDomainModelDigest())) {
+            return applied;
+        }
+        return null;
     }
 
     void registered() {
@@ -354,6 +383,13 @@ class RemoteDomainConnection extends FutureManagementChannel {
          * @return the current host metadata
          */
         ModelNode createLocalHostInfo();
+
+        /**
+         * Computes the digest of the local domain wide resources, to find out whether they changed.
+         *
+         * @return the digest
+         */
+        byte[] getLocalDomainModelDigest();
     }
 
     /**
@@ -367,6 +403,10 @@ class RemoteDomainConnection extends FutureManagementChannel {
              output.writeUTF(localHostName);
              ModelNode hostInfo = callback.createLocalHostInfo();
              hostInfo.get(RemoteDomainConnectionService.DOMAIN_CONNECTION_ID).set(pongHandler.getConnectionId());
+             final byte[] domainModelDigest = getAppliedDomainModelDigest();
+             if (domainModelDigest != null) {
+                 hostInfo.get(DomainModelDigest.DOMAIN_MODEL_DIGEST).set(domainModelDigest);
+             }
              hostInfo.writeExternal(output);
          }
 
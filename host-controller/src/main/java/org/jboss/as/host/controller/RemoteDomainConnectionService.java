@@ -42,9 +42,11 @@ import java.io.DataInput;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
@@ -91,6 +93,7 @@ import org.jboss.as.host.controller.discovery.RemoteDomainControllerConnectionCo
 import org.jboss.as.host.controller.ignored.IgnoredDomainResourceRegistry;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.host.controller.mgmt.DomainControllerProtocol;
+import org.jboss.as.host.controller.mgmt.DomainModelDigest;
 import org.jboss.as.host.controller.mgmt.DomainRemoteFileRequestAndHandler;
 import org.jboss.as.host.controller.mgmt.HostControllerRegistrationHandler;
 import org.jboss.as.host.controller.mgmt.HostInfo;
@@ -104,9 +107,11 @@ import org.jboss.as.protocol.mgmt.ManagementRequestContext;
 import org.jboss.as.remoting.management.ManagementRemotingServices;
 import org.jboss.as.repository.ContentReference;
 import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.repository.ExplodedContentFileIndex;
 import org.jboss.as.repository.HostFileRepository;
 import org.jboss.as.repository.RemoteFileRequestAndHandler.CannotCreateLocalDirectoryException;
 import org.jboss.as.repository.RemoteFileRequestAndHandler.DidNotReadEntireFileException;
+import org.jboss.as.repository.RemoteFileRequestAndHandler.LocalFileMissingException;
 import org.jboss.as.version.ProductConfig;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.Service;
@@ -194,6 +199,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private ManagementChannelHandler handler;
     private volatile ResponseAttachmentInputStreamSupport responseAttachmentSupport;
     private volatile RemoteDomainConnection connection;
+    private volatile ExplodedContentFileIndex explodedContentFileIndex;
 
     private RemoteDomainConnectionService(final ModelController controller,
                                           final ExtensionRegistry extensionRegistry,
@@ -542,6 +548,11 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                 public void registrationComplete(ManagementChannelHandler handler) {
                     RemoteDomainConnectionService.this.domainConfigAvailable.set(true);
                 }
+
+                @Override
+                public byte[] getLocalDomainModelDigest() {
+                    return DomainModelDigest.digestDomainResources(ReadRootResourceHandler.grabDomainResource(operationExecutor));
+                }
             }, runningMode);
             // Setup the management channel handler
             handler = connection.getChannelHandler();
@@ -691,15 +702,29 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         }
     }
 
+    /**
+     * Gets the files of the exploded contents this host already holds, so they need not be fetched again.
+     */
+    private Map<String, File> getLocalExplodedContentFiles(final File deploymentRoot) {
+        ExplodedContentFileIndex index = explodedContentFileIndex;
+        if (index == null) {
+            index = explodedContentFileIndex = new ExplodedContentFileIndex(deploymentRoot);
+        }
+        return index.getFiles();
+    }
+
     private class GetFileRequest extends AbstractManagementRequest<File, Void> {
         private final byte rootId;
         private final String filePath;
         private final HostFileRepository localFileRepository;
+        private final boolean exploded;
+        private Map<String, File> localFiles = Collections.emptyMap();
 
-        private GetFileRequest(final byte rootId, final String filePath, final HostFileRepository localFileRepository) {
+        private GetFileRequest(final byte rootId, final String filePath, final HostFileRepository localFileRepository, final boolean exploded) {
             this.rootId = rootId;
             this.filePath = filePath;
             this.localFileRepository = localFileRepository;
+            this.exploded = exploded;
         }
 
         @Override
@@ -711,7 +736,11 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         protected void sendRequest(ActiveOperation.ResultHandler<File> resultHandler, ManagementRequestContext<Void> context, FlushableDataOutput output) throws IOException {
             output.write(DomainControllerProtocol.PARAM_HOST_ID);
             output.writeUTF(localHostInfo.getLocalHostName());
-            DomainRemoteFileRequestAndHandler.INSTANCE.sendRequest(output, rootId, filePath);
+            if (exploded && rootId == DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT) {
+                final File hashDir = localFileRepository.getDeploymentRoot(new ContentReference(filePath, HashUtil.hexStringToByteArray(filePath)));
+                localFiles = getLocalExplodedContentFiles(hashDir.getParentFile().getParentFile());
+            }
+            DomainRemoteFileRequestAndHandler.INSTANCE.sendRequest(output, rootId, filePath, localFiles.keySet());
         }
 
         @Override
@@ -736,11 +765,14 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                 }
             }
             try {
-                DomainRemoteFileRequestAndHandler.INSTANCE.handleResponse(input, localPath, ROOT_LOGGER, resultHandler, context);
+                DomainRemoteFileRequestAndHandler.INSTANCE.handleResponse(input, localPath, localFiles, ROOT_LOGGER, resultHandler, context);
             } catch (CannotCreateLocalDirectoryException e) {
                 throw HostControllerLogger.ROOT_LOGGER.cannotCreateLocalDirectory(e.getDir());
             } catch (DidNotReadEntireFileException e) {
                 throw HostControllerLogger.ROOT_LOGGER.didNotReadEntireFile(e.getMissing());
+            } catch (LocalFileMissingException e) {
+                // The executor requests the whole content again
+                resultHandler.failed(e);
             }
         }
     }
@@ -778,8 +810,17 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
             return file;
         }
 
+        @Override
+        public File[] getExplodedDeploymentFiles(ContentReference reference) {
+            File root = localFileRepository.getDeploymentRoot(reference);
+            if (! root.exists()) {
+                root = remoteFileRepositoryExecutor.getFile(reference.getHexHash(), DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT, localFileRepository, true);
+            }
+            return root.listFiles();
+        }
+
         private File getFile(final String relativePath, final byte repoId) {
-            return remoteFileRepositoryExecutor.getFile(relativePath, repoId, localFileRepository);
+            return remoteFileRepositoryExecutor.getFile(relativePath, repoId, localFileRepository, false);
         }
 
         void setRemoteFileRepositoryExecutor(RemoteFileRepositoryExecutor remoteFileRepositoryExecutor) {
@@ -793,14 +834,28 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     }
 
     interface RemoteFileRepositoryExecutor {
-        File getFile(final String relativePath, final byte repoId, HostFileRepository localFileRepository);
+        /**
+         * Gets a file from the domain controller.
+         *
+         * @param exploded {@code true} if the file is the root of an exploded content, so the files of the local
+         *                 exploded contents can be reused
+         */
+        File getFile(final String relativePath, final byte repoId, HostFileRepository localFileRepository, boolean exploded);
     }
 
     private final RemoteFileRepositoryExecutor remoteFileRepositoryExecutor = new RemoteFileRepositoryExecutor() {
-        public File getFile(final String relativePath, final byte repoId, HostFileRepository localFileRepository) {
+        public File getFile(final String relativePath, final byte repoId, HostFileRepository localFileRepository, boolean exploded) {
             if(connection.isConnected()) {
                 try {
-                    return handler.executeRequest(new GetFileRequest(repoId, relativePath, localFileRepository), null).getResult().get();
+                    try {
+                        return handler.executeRequest(new GetFileRequest(repoId, relativePath, localFileRepository, exploded), null).getResult().get();
+                    } catch (ExecutionException e) {
+                        if (!(e.getCause() instanceof LocalFileMissingException)) {
+                            throw e;
+                        }
+                        ROOT_LOGGER.debugf(e.getCause(), "Local files to reuse for %s are gone, fetching all its files", relativePath);
+                        return handler.executeRequest(new GetFileRequest(repoId, relativePath, localFileRepository, false), null).getResult().get();
+                    }
                 } catch (Exception e) {
                     throw HostControllerLogger.ROOT_LOGGER.failedToGetFileFromRemoteRepository(e);
                 }
@@ -1464,6 +1464,10 @@ public interface HostControllerLogger extends BasicLogger {
     @Message(id = 217, value = "Security realms are no longer supported, please migrate references to them from the configuration.")
     XMLStreamException securityRealmReferencesUnsupported();
 
+    @LogMessage(level = Level.WARN)
+    @Message(id = 218, value = "Invalid value '%s' for system property %s, using %s instead")
+    void invalidSystemPropertyValue(String value, String property, Object defaultValue);
+
     ////////////////////////////////////////////////
     //Messages without IDs
 
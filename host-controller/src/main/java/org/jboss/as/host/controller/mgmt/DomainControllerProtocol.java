@@ -51,5 +51,7 @@ public interface DomainControllerProtocol extends ModelControllerProtocol {
     byte PARAM_FILE_SIZE = 0x31;
     byte FILE_END = 0x32;
     byte PARAM_SERVER_ID = 0x33;
+    byte PARAM_FILE_HASHES = 0x34;
+    byte PARAM_FILE_UNCHANGED = 0x35;
 
 }
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller.mgmt;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.registry.ResourceFilter;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Lets a slave Host Controller that reconnects to the master skip the domain model sync if it already has the model
+ * the master would send it.
+ * <p>
+ * The slave sends the digest of the last domain model it applied in its {@link HostInfo host info}, as long as its
+ * local domain model did not change since. If the model the master prepared for the slave has the same digest, the
+ * master sends an {@link #createUnchangedResponse() unchanged response} instead of the model. The digest only depends
+ * on the content of the model, so it also matches after the slave connects to a new master with the same domain
+ * configuration. Slaves and masters that do not know about the digest always exchange the full model.
+ */
+public final class DomainModelDigest {
+
+    /** The key of the digest in the host info. */
+    public static final String DOMAIN_MODEL_DIGEST = "domain-model-digest";
+
+    /** The key in the registration response marking that the slave already has the domain model. */
+    public static final String DOMAIN_MODEL_UNCHANGED = "domain-model-unchanged";
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final ResourceFilter DOMAIN_RESOURCES = (address, resource) -> !resource.isRuntime() && !resource.isProxy()
+            && (address.size() == 0 || !HOST.equals(address.getElement(0).getKey()));
+
+    private DomainModelDigest() {
+    }
+
+    /**
+     * Computes the digest of a model.
+     *
+     * @param model the model
+     * @return the digest
+     */
+    public static byte[] digest(final ModelNode model) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (DataOutputStream output = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+            model.writeExternal(output);
+        } catch (IOException e) {
+            // the null stream does not throw
+            throw new IllegalStateException(e);
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Computes the digest of the persistent domain wide resources of the local model, which leaves out the hosts.
+     *
+     * @param root the root resource
+     * @return the digest
+     */
+    public static byte[] digestDomainResources(final Resource root) {
+        return digest(Resource.Tools.readModel(root, -1, DOMAIN_RESOURCES));
+    }
+
+    /**
+     * Gets the response to send to a registering slave.
+     *
+     * @param response the response of the read domain model operation
+     * @param hostInfo the host info of the slave
+     * @return {@code response}, or an unchanged response if the slave already has the model
+     */
+    static ModelNode getResponseToSend(final ModelNode response, final HostInfo hostInfo) {
+        final byte[] slaveDigest = hostInfo.getDomainModelDigest();
+        if (slaveDigest != null && response.hasDefined(RESULT) && Arrays.equals(slaveDigest, digest(response.get(RESULT)))) {
+            return createUnchangedResponse();
+        }
+        return response;
+    }
+
+    /**
+     * Creates the response telling a slave that it already has the domain model.
+     *
+     * @return the response
+     */
+    static ModelNode createUnchangedResponse() {
+        final ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        response.get(DOMAIN_MODEL_UNCHANGED).set(true);
+        return response;
+    }
+
+    /**
+     * Gets whether a registration response tells the slave that it already has the domain model.
+     *
+     * @param response the response
+     * @return {@code true} if the slave does not need to apply the domain model
+     */
+    public static boolean isUnchanged(final ModelNode response) {
+        return response.hasDefined(DOMAIN_MODEL_UNCHANGED) && response.get(DOMAIN_MODEL_UNCHANGED).asBoolean();
+    }
+}
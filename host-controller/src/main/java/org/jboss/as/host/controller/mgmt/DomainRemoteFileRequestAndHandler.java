@@ -55,6 +55,14 @@ public class DomainRemoteFileRequestAndHandler extends RemoteFileRequestAndHandl
         public byte fileEnd() {
             return DomainControllerProtocol.FILE_END;
         }
+
+        public byte paramFileHashes() {
+            return DomainControllerProtocol.PARAM_FILE_HASHES;
+        }
+
+        public byte paramFileUnchanged() {
+            return DomainControllerProtocol.PARAM_FILE_UNCHANGED;
+        }
     };
 
     public static final DomainRemoteFileRequestAndHandler INSTANCE = new DomainRemoteFileRequestAndHandler(null);
@@ -0,0 +1,270 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller.operations;
+
+import static java.security.AccessController.doPrivileged;
+import static org.jboss.as.host.controller.logging.HostControllerLogger.ROOT_LOGGER;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.ProcessStateNotifier;
+import org.jboss.as.host.controller.ServerInventory;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Starts the auto-start servers of a host with at most a given number of them booting at a time.
+ * <p>
+ * The servers are started in the order of their server groups given by {@link #GROUP_ORDER_PROPERTY}, followed by the
+ * servers of the other groups, each in the order of the host configuration. A server counts as booting until it
+ * reports that it started, or failed to. Before starting another server while others are still booting, the
+ * scheduler waits for the load average of the system per available processor to drop below
+ * {@link #MAX_LOAD_PROPERTY}. On Linux, the load average includes the processes waiting for I/O, so a host whose
+ * disks are saturated by booting servers also holds back further starts.
+ * <p>
+ * Once the host controller is stopping, the servers that have not been started yet are not started anymore.
+ */
+final class ServerStartScheduler {
+
+    /** System property setting how many servers may boot at a time; {@code 0}, the default, starts all at once. */
+    static final String MAX_CONCURRENT_PROPERTY = "org.jboss.as.host.start.servers.max-concurrent";
+
+    /** System property setting the load average per processor above which no further server is started. */
+    static final String MAX_LOAD_PROPERTY = "org.jboss.as.host.start.servers.max-load";
+
+    /** System property listing the server groups whose servers are started first, comma separated. */
+    static final String GROUP_ORDER_PROPERTY = "org.jboss.as.host.start.servers.group-order";
+
+    private static final long LOAD_CHECK_INTERVAL = 1000;
+
+    private final ServerInventory serverInventory;
+    private final int maxConcurrent;
+    private final double maxLoad;
+    private final List<String> groupOrder;
+    private final DoubleSupplier loadSupplier;
+    private final AtomicInteger booting = new AtomicInteger();
+    private volatile boolean stopping;
+
+    ServerStartScheduler(final ServerInventory serverInventory) {
+        this(serverInventory,
+                getIntProperty(MAX_CONCURRENT_PROPERTY, 0),
+                getDoubleProperty(MAX_LOAD_PROPERTY, 1.0),
+                parseGroupOrder(WildFlySecurityManager.getPropertyPrivileged(GROUP_ORDER_PROPERTY, "")),
+                ServerStartScheduler::getLoadPerProcessor);
+    }
+
+    ServerStartScheduler(final ServerInventory serverInventory, final int maxConcurrent, final double maxLoad,
+                         final List<String> groupOrder, final DoubleSupplier loadSupplier) {
+        this.serverInventory = serverInventory;
+        this.maxConcurrent = maxConcurrent;
+        this.maxLoad = maxLoad;
+        this.groupOrder = groupOrder;
+        this.loadSupplier = loadSupplier;
+    }
+
+    /**
+     * Gets whether the number of booting servers is limited. If not, the servers are started as before.
+     *
+     * @return {@code true} if the servers are to be started by {@link #startServers(List, ModelNode)}
+     */
+    boolean isEnabled() {
+        return maxConcurrent > 0;
+    }
+
+    /**
+     * Starts servers in the background. This returns once all the starts are scheduled.
+     *
+     * @param servers the servers to start
+     * @param domainModel the domain model
+     * @param processStateNotifier notifier of the state of the host controller, to stop starting servers once it stops
+     */
+    void startServers(final List<ServerToStart> servers, final ModelNode domainModel, final ProcessStateNotifier processStateNotifier) {
+        final List<ServerToStart> ordered = order(servers, groupOrder);
+        if (ordered.isEmpty()) {
+            return;
+        }
+        final ThreadGroup threadGroup = new ThreadGroup("Server start threads");
+        final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(threadGroup, Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrent, ordered.size()), threadFactory);
+        final AtomicInteger remaining = new AtomicInteger(ordered.size());
+        final PropertyChangeListener stopListener = new PropertyChangeListener() {
+            @Override
+            public void propertyChange(PropertyChangeEvent evt) {
+                if (ControlledProcessState.State.STOPPING == evt.getNewValue() || ControlledProcessState.State.STOPPED == evt.getNewValue()) {
+                    stopping = true;
+                    // Drops the servers not started yet, and interrupts those waiting for the load to drop
+                    executor.shutdownNow();
+                    processStateNotifier.removePropertyChangeListener(this);
+                }
+            }
+        };
+        processStateNotifier.addPropertyChangeListener(stopListener);
+        for (final ServerToStart server : ordered) {
+            // The tasks are taken in order, so a server only starts once all the servers before it started booting
+            executor.execute(() -> {
+                try {
+                    startServer(server.getName(), domainModel);
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        processStateNotifier.removePropertyChangeListener(stopListener);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+    }
+
+    private void startServer(final String serverName, final ModelNode domainModel) {
+        try {
+            awaitLoad(serverName);
+            if (stopping) {
+                return;
+            }
+            booting.incrementAndGet();
+            try {
+                // Blocks until the server started, so the thread only takes the next server once this one booted
+                serverInventory.startServer(serverName, domainModel, true, false);
+            } finally {
+                booting.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (stopping) {
+                ROOT_LOGGER.debugf(e, "Start of server %s ended as the host controller is stopping", serverName);
+            } else {
+                ROOT_LOGGER.failedToStartServer(e, serverName);
+            }
+        }
+    }
+
+    /**
+     * Waits for the load of the system to drop below the limit, as long as other servers are booting. Once none is,
+     * the server is started regardless, as waiting would not lower the load.
+     */
+    void awaitLoad(final String serverName) throws InterruptedException {
+        double load;
+        while (booting.get() > 0 && (load = loadSupplier.getAsDouble()) > maxLoad) {
+            ROOT_LOGGER.debugf("Delaying the start of server %s, load per processor is %.2f", serverName, load);
+            TimeUnit.MILLISECONDS.sleep(LOAD_CHECK_INTERVAL);
+        }
+    }
+
+    static List<ServerToStart> order(final List<ServerToStart> servers, final List<String> groupOrder) {
+        final List<ServerToStart> ordered = new ArrayList<>(servers);
+        // List.sort is stable, so the servers of a group keep the order of the configuration
+        ordered.sort(Comparator.comparingInt(server -> {
+            final int index = groupOrder.indexOf(server.getGroup());
+            return index < 0 ? groupOrder.size() : index;
+        }));
+        return ordered;
+    }
+
+    static List<String> parseGroupOrder(final String value) {
+        final List<String> groups = new ArrayList<>();
+        for (String group : value.split(",")) {
+            if (!group.trim().isEmpty()) {
+                groups.add(group.trim());
+            }
+        }
+        return Collections.unmodifiableList(groups);
+    }
+
+    private static int getIntProperty(final String name, final int defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                ROOT_LOGGER.invalidSystemPropertyValue(value, name, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    private static double getDoubleProperty(final String name, final double defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value != null) {
+            try {
+                final double result = Double.parseDouble(value.trim());
+                if (!Double.isNaN(result)) {
+                    return result;
+                }
+            } catch (NumberFormatException e) {
+                // logged below
+            }
+            ROOT_LOGGER.invalidSystemPropertyValue(value, name, defaultValue);
+        }
+        return defaultValue;
+    }
+
+    private static double getLoadPerProcessor() {
+        final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        final double load = os.getSystemLoadAverage();
+        // Not available on all platforms
+        return load < 0 ? 0 : load / os.getAvailableProcessors();
+    }
+
+    static final class ServerToStart {
+        private final String name;
+        private final String group;
+
+        ServerToStart(final String name, final String group) {
+            this.name = name;
+            this.group = group;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getGroup() {
+            return group;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
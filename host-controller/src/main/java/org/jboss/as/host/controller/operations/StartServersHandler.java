@@ -20,10 +20,13 @@ package org.jboss.as.host.controller.operations;
 
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.AUTO_START;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.GROUP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_CONFIG;
 import static org.jboss.as.host.controller.logging.HostControllerLogger.ROOT_LOGGER;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.jboss.as.controller.AttributeDefinition;
@@ -32,6 +35,7 @@ import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProcessStateNotifier;
 import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
@@ -47,6 +51,7 @@ import org.jboss.as.process.ProcessInfo;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
+import org.jboss.msc.service.ServiceName;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
@@ -59,6 +64,8 @@ public class StartServersHandler implements OperationStepHandler {
     public static final boolean START_BLOCKING = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.host.start.servers.sequential", "false"));
     public static final String OPERATION_NAME = "start-servers";
 
+    private static final String PROCESS_STATE_NOTIFIER = "org.wildfly.management.process-state-notifier";
+
   //Private method does not need resources for description
     public static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(OPERATION_NAME, null)
         .setPrivateEntry()
@@ -120,6 +127,7 @@ public class StartServersHandler implements OperationStepHandler {
 
     private void cleanStartServers(final ModelNode servers, final ModelNode domainModel, OperationContext context) throws OperationFailedException {
         Map<String, ProcessInfo> processInfos = serverInventory.determineRunningProcesses();
+        final List<ServerStartScheduler.ServerToStart> toStart = new ArrayList<>();
         for(final Property serverProp : servers.asPropertyList()) {
             String serverName = serverProp.getName();
             if (ServerConfigResourceDefinition.AUTO_START.resolveModelAttribute(context, serverProp.getValue()).asBoolean(true)) {
@@ -127,31 +135,43 @@ public class StartServersHandler implements OperationStepHandler {
                 if ( info != null ){
                     serverInventory.reconnectServer(serverName, domainModel, info.getAuthKey(), info.isRunning(), info.isStopping());
                 } else {
-                    try {
-                        serverInventory.startServer(serverName, domainModel, START_BLOCKING, false);
-                    } catch (Exception e) {
-                        ROOT_LOGGER.failedToStartServer(e, serverName);
-                    }
+                    toStart.add(new ServerStartScheduler.ServerToStart(serverName, serverProp.getValue().get(GROUP).asString()));
                 }
             }
         }
+        startServers(toStart, domainModel, context);
     }
 
     private void restartedHcStartOrReconnectServers(final ModelNode servers, final ModelNode domainModel, final OperationContext context, final boolean enabledAutoStart) {
         Map<String, ProcessInfo> processInfos = serverInventory.determineRunningProcesses();
+        final List<ServerStartScheduler.ServerToStart> toStart = new ArrayList<>();
         for(final String serverName : servers.keys()) {
             ProcessInfo info = processInfos.get(serverInventory.getServerProcessName(serverName));
             boolean auto = servers.get(serverName, AUTO_START).asBoolean(true);
             if (info == null && auto && enabledAutoStart) {
-                try {
-                    serverInventory.startServer(serverName, domainModel, START_BLOCKING, false);
-                } catch (Exception e) {
-                    ROOT_LOGGER.failedToStartServer(e, serverName);
-                }
+                toStart.add(new ServerStartScheduler.ServerToStart(serverName, servers.get(serverName, GROUP).asString()));
             } else if (info != null){
                 // Reconnect the server using the current authKey
                 serverInventory.reconnectServer(serverName, domainModel, info.getAuthKey(), info.isRunning(), info.isStopping());
             }
         }
+        startServers(toStart, domainModel, context);
+    }
+
+    private void startServers(final List<ServerStartScheduler.ServerToStart> servers, final ModelNode domainModel, final OperationContext context) {
+        final ServerStartScheduler scheduler = new ServerStartScheduler(serverInventory);
+        if (scheduler.isEnabled() && !START_BLOCKING) {
+            final ServiceName name = context.getCapabilityServiceName(PROCESS_STATE_NOTIFIER, ProcessStateNotifier.class);
+            final ProcessStateNotifier processStateNotifier = (ProcessStateNotifier) context.getServiceRegistry(false).getRequiredService(name).getValue();
+            scheduler.startServers(servers, domainModel, processStateNotifier);
+            return;
+        }
+        for (ServerStartScheduler.ServerToStart server : servers) {
+            try {
+                serverInventory.startServer(server.getName(), domainModel, START_BLOCKING, false);
+            } catch (Exception e) {
+                ROOT_LOGGER.failedToStartServer(e, server.getName());
+            }
+        }
     }
 }
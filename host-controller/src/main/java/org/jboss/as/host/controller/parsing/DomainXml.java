@@ -55,6 +55,17 @@ public final class DomainXml implements XMLElementReader<List<ModelNode>>, XMLEl
         this.extensionRegistry = extensionRegistry;
     }
 
+    /**
+     * Loads the extensions added by operations read from the boot operation cache, as parsing the domain
+     * configuration file does.
+     *
+     * @param operations the cached operations
+     * @throws XMLStreamException if an extension module cannot be loaded
+     */
+    public void handleCachedOperations(final List<ModelNode> operations) throws XMLStreamException {
+        extensionXml.loadExtensions(operations);
+    }
+
     @Override
     public void readElement(final XMLExtendedStreamReader reader, final List<ModelNode> nodes) throws XMLStreamException {
         Namespace readerNS = Namespace.forUri(reader.getNamespaceURI());
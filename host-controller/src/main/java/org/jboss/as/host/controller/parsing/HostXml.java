@@ -65,6 +65,17 @@ public final class HostXml implements XMLElementReader<List<ModelNode>>, XMLElem
         extensionXml = new ExtensionXml(loader, executorService, extensionRegistry);
     }
 
+    /**
+     * Loads the extensions added by operations read from the boot operation cache, as parsing the host
+     * configuration file does.
+     *
+     * @param operations the cached operations
+     * @throws XMLStreamException if an extension module cannot be loaded
+     */
+    public void handleCachedOperations(final List<ModelNode> operations) throws XMLStreamException {
+        extensionXml.loadExtensions(operations);
+    }
+
     @Override
     public void readElement(final XMLExtendedStreamReader reader, final List<ModelNode> operationList)
             throws XMLStreamException {
@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.operations;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.Collections;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.TransformationTarget;
+import org.jboss.as.controller.transform.TransformationTargetImpl;
+import org.jboss.as.controller.transform.TransformerRegistry;
+import org.jboss.as.controller.transform.Transformers;
+import org.jboss.as.host.controller.mgmt.DomainModelDigest;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link TransformedDomainModelCache}.
+ */
+public class TransformedDomainModelCacheTestCase {
+
+    private static final TransformerRegistry REGISTRY = TransformerRegistry.Factory.create();
+
+    @Test
+    public void testSharedForSameKey() {
+        final Resource root = createDomainRoot();
+        final byte[] digest = DomainModelDigest.digestDomainResources(root);
+        final ModelNode key = TransformedDomainModelCache.createKey(createTransformers(4, "1.0.0"), Transformers.DEFAULT, root);
+        final TransformedDomainModelCache cache = new TransformedDomainModelCache(8);
+        Assert.assertNull(cache.get(digest, key));
+
+        final ModelNode described = new ModelNode().add("resource");
+        cache.put(digest, key, described);
+        described.add("changed");
+
+        final ModelNode cached = cache.get(digest, TransformedDomainModelCache.createKey(createTransformers(4, "1.0.0"), Transformers.DEFAULT, root));
+        Assert.assertEquals(new ModelNode().add("resource"), cached);
+        // Callers get their own copy
+        cached.add("changed");
+        Assert.assertEquals(new ModelNode().add("resource"), cache.get(digest, key));
+    }
+
+    @Test
+    public void testKeyCoversTransformationInputs() {
+        final Resource root = createDomainRoot();
+        final ModelNode key = TransformedDomainModelCache.createKey(createTransformers(4, "1.0.0"), Transformers.DEFAULT, root);
+        Assert.assertNotEquals(key, TransformedDomainModelCache.createKey(createTransformers(5, "1.0.0"), Transformers.DEFAULT, root));
+        Assert.assertNotEquals(key, TransformedDomainModelCache.createKey(createTransformers(4, "2.0.0"), Transformers.DEFAULT, root));
+        final Transformers.ResourceIgnoredTransformationRegistry ignoreOther =
+                address -> address.getElement(0).equals(PathElement.pathElement(PROFILE, "other"));
+        Assert.assertNotEquals(key, TransformedDomainModelCache.createKey(createTransformers(4, "1.0.0"), ignoreOther, root));
+        // Ignoring a resource that is not in the model does not change anything
+        final Transformers.ResourceIgnoredTransformationRegistry ignoreMissing =
+                address -> address.getElement(0).equals(PathElement.pathElement(PROFILE, "missing"));
+        Assert.assertEquals(key, TransformedDomainModelCache.createKey(createTransformers(4, "1.0.0"), ignoreMissing, root));
+    }
+
+    @Test
+    public void testDroppedWhenModelChanges() {
+        final Resource root = createDomainRoot();
+        final byte[] digest = DomainModelDigest.digestDomainResources(root);
+        final ModelNode key = TransformedDomainModelCache.createKey(createTransformers(4, "1.0.0"), Transformers.DEFAULT, root);
+        final TransformedDomainModelCache cache = new TransformedDomainModelCache(8);
+        cache.put(digest, key, new ModelNode().add("resource"));
+
+        root.getChild(PathElement.pathElement(PROFILE, "default")).getModel().get("attr").set("changed");
+        final byte[] changed = DomainModelDigest.digestDomainResources(root);
+        Assert.assertNull(cache.get(changed, key));
+
+        cache.put(changed, key, new ModelNode().add("changed"));
+        Assert.assertNull(cache.get(digest, key));
+        Assert.assertEquals(new ModelNode().add("changed"), cache.get(changed, key));
+    }
+
+    @Test
+    public void testBounded() {
+        final Resource root = createDomainRoot();
+        final byte[] digest = DomainModelDigest.digestDomainResources(root);
+        final TransformedDomainModelCache cache = new TransformedDomainModelCache(2);
+        final ModelNode first = TransformedDomainModelCache.createKey(createTransformers(1, "1.0.0"), Transformers.DEFAULT, root);
+        final ModelNode second = TransformedDomainModelCache.createKey(createTransformers(2, "1.0.0"), Transformers.DEFAULT, root);
+        final ModelNode third = TransformedDomainModelCache.createKey(createTransformers(3, "1.0.0"), Transformers.DEFAULT, root);
+        cache.put(digest, first, new ModelNode(1));
+        cache.put(digest, second, new ModelNode(2));
+        Assert.assertNotNull(cache.get(digest, first));
+        cache.put(digest, third, new ModelNode(3));
+        Assert.assertNotNull(cache.get(digest, first));
+        Assert.assertNull(cache.get(digest, second));
+        Assert.assertNotNull(cache.get(digest, third));
+
+        Assert.assertFalse(new TransformedDomainModelCache(0).isEnabled());
+    }
+
+    private static Resource createDomainRoot() {
+        final Resource root = Resource.Factory.create();
+        for (String name : new String[] {"default", "other"}) {
+            final Resource profile = Resource.Factory.create();
+            final Resource subsystem = Resource.Factory.create();
+            subsystem.getModel().get("attr").set("value");
+            profile.registerChild(PathElement.pathElement(SUBSYSTEM, "thingy"), subsystem);
+            root.registerChild(PathElement.pathElement(PROFILE, name), profile);
+        }
+        return root;
+    }
+
+    private static Transformers createTransformers(final int major, final String subsystemVersion) {
+        final TransformationTarget target = TransformationTargetImpl.createForHost("host", REGISTRY, ModelVersion.create(major),
+                Collections.<PathAddress, ModelVersion>emptyMap(), Transformers.OperationExcludedTransformationRegistry.DEFAULT);
+        target.addSubsystemVersion("thingy", ModelVersion.fromString(subsystemVersion));
+        return Transformers.Factory.create(target);
+    }
+}
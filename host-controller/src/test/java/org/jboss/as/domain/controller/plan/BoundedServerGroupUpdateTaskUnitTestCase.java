@@ -0,0 +1,311 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.domain.controller.plan;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.BlockingTimeout;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProxyController;
+import org.jboss.as.controller.client.OperationResponse;
+import org.jboss.as.controller.remote.TransactionalProtocolClient;
+import org.jboss.as.domain.controller.ServerIdentity;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link BoundedServerGroupUpdateTask}.
+ */
+public class BoundedServerGroupUpdateTaskUnitTestCase {
+
+    private static final String GROUP = "main-server-group";
+    private static final int TIMEOUT = 10000;
+
+    @Test
+    public void testSlidingWindow() throws Exception {
+        final Set<ServerIdentity> servers = createServers(5);
+        final ConcurrentGroupServerUpdatePolicy parent = new ConcurrentGroupServerUpdatePolicy(null, Collections.singleton(GROUP));
+        final ServerUpdatePolicy policy = new ServerUpdatePolicy(parent, GROUP, servers, 0);
+        final TestExecutor executor = new TestExecutor();
+        final Thread rollout = start(createTask(servers, policy, executor, 2));
+
+        final ServerIdentity first = executor.nextSubmitted();
+        final ServerIdentity second = executor.nextSubmitted();
+        Assert.assertNull(executor.submitted.poll(100, TimeUnit.MILLISECONDS));
+
+        // One response lets exactly one more server start
+        executor.respond(first, false);
+        final ServerIdentity third = executor.nextSubmitted();
+        Assert.assertNull(executor.submitted.poll(100, TimeUnit.MILLISECONDS));
+
+        executor.respond(second, false);
+        executor.respond(third, false);
+        executor.respond(executor.nextSubmitted(), false);
+        executor.respond(executor.nextSubmitted(), false);
+        rollout.join(TIMEOUT);
+
+        Assert.assertFalse(rollout.isAlive());
+        Assert.assertEquals(5, executor.started.size());
+        Assert.assertEquals(2, executor.maxInFlight);
+        Assert.assertEquals(5, executor.preparedResults.size());
+        Assert.assertFalse(policy.isFailed());
+        Assert.assertTrue(new ConcurrentGroupServerUpdatePolicy(parent, Collections.singleton("other")).canChildProceed());
+    }
+
+    @Test
+    public void testFailureStopsPartiallySubmittedGroup() throws Exception {
+        final Set<ServerIdentity> servers = createServers(5);
+        final ConcurrentGroupServerUpdatePolicy parent = new ConcurrentGroupServerUpdatePolicy(null, Collections.singleton(GROUP));
+        final ServerUpdatePolicy policy = new ServerUpdatePolicy(parent, GROUP, servers, 0);
+        final TestExecutor executor = new TestExecutor();
+        final Thread rollout = start(createTask(servers, policy, executor, 2));
+
+        final ServerIdentity first = executor.nextSubmitted();
+        final ServerIdentity second = executor.nextSubmitted();
+        executor.respond(first, true);
+        // The outstanding server is still awaited, but no further server is started
+        Assert.assertNull(executor.submitted.poll(100, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(rollout.isAlive());
+        executor.respond(second, false);
+        rollout.join(TIMEOUT);
+
+        Assert.assertFalse(rollout.isAlive());
+        Assert.assertTrue(executor.submitted.isEmpty());
+        Assert.assertEquals(2, executor.started.size());
+        Assert.assertEquals(2, executor.preparedResults.size());
+        // The servers that were never started count as failed too
+        Assert.assertTrue(policy.isFailed());
+        Assert.assertFalse(new ConcurrentGroupServerUpdatePolicy(parent, Collections.singleton("other")).canChildProceed());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        final Set<ServerIdentity> servers = createServers(3);
+        final ConcurrentGroupServerUpdatePolicy parent = new ConcurrentGroupServerUpdatePolicy(null, Collections.singleton(GROUP));
+        final ServerUpdatePolicy policy = new ServerUpdatePolicy(parent, GROUP, servers, 1);
+        final TestExecutor executor = new TestExecutor();
+        // The first server never responds; the window still slides over it
+        executor.timeouts.put(servers.iterator().next(), 200);
+        final Thread rollout = start(createTask(servers, policy, executor, 2));
+
+        final ServerIdentity first = executor.nextSubmitted();
+        final ServerIdentity second = executor.nextSubmitted();
+        executor.respond(second, false);
+        executor.respond(executor.nextSubmitted(), false);
+        rollout.join(TIMEOUT);
+
+        Assert.assertFalse(rollout.isAlive());
+        Assert.assertEquals(Collections.singletonList(first), executor.cancelled);
+        Assert.assertEquals(Collections.singletonList(first.toPathAddress()), executor.timedOut);
+        Assert.assertEquals(3, executor.preparedResults.size());
+        int timedOut = 0;
+        for (ServerTaskExecutor.ServerPreparedResponse response : executor.preparedResults) {
+            if (response.isTimedOut()) {
+                Assert.assertEquals(first, response.getServerIdentity());
+                timedOut++;
+            }
+        }
+        Assert.assertEquals(1, timedOut);
+        Assert.assertFalse(policy.isFailed());
+    }
+
+    private static Set<ServerIdentity> createServers(final int count) {
+        final Set<ServerIdentity> servers = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            servers.add(new ServerIdentity("host", GROUP, "server-" + i));
+        }
+        return servers;
+    }
+
+    private static BoundedServerGroupUpdateTask createTask(final Set<ServerIdentity> servers, final ServerUpdatePolicy policy,
+                                                           final TestExecutor executor, final int maxInFlight) {
+        final List<ServerUpdateTask> tasks = new ArrayList<>();
+        for (ServerIdentity server : servers) {
+            final ModelNode op = new ModelNode();
+            op.get(OP).set("test");
+            tasks.add(new RunningServerUpdateTask(server, op, policy));
+        }
+        return new BoundedServerGroupUpdateTask(tasks, policy, executor, null, null, executor, maxInFlight);
+    }
+
+    private static Thread start(final BoundedServerGroupUpdateTask task) {
+        final Thread thread = new Thread(task::execute);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static class TestExecutor extends ServerTaskExecutor implements BlockingTimeout {
+
+        private final Map<ServerIdentity, Integer> timeouts = new ConcurrentHashMap<>();
+        private final List<ServerPreparedResponse> preparedResults;
+        private final BlockingQueue<ServerIdentity> submitted = new LinkedBlockingQueue<>();
+        private final List<ServerIdentity> started = Collections.synchronizedList(new ArrayList<>());
+        private final List<ServerIdentity> cancelled = Collections.synchronizedList(new ArrayList<>());
+        private final List<PathAddress> timedOut = Collections.synchronizedList(new ArrayList<>());
+        private volatile TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener;
+        private int inFlight;
+        private int maxInFlight;
+
+        TestExecutor() {
+            this(new ArrayList<>());
+        }
+
+        private TestExecutor(final List<ServerPreparedResponse> preparedResults) {
+            super(null, new HashMap<>(), preparedResults);
+            this.preparedResults = preparedResults;
+        }
+
+        @Override
+        protected int execute(final TransactionalProtocolClient.TransactionalOperationListener<ServerOperation> listener,
+                              final ServerIdentity identity, final ModelNode operation) throws OperationFailedException {
+            this.listener = listener;
+            synchronized (this) {
+                maxInFlight = Math.max(maxInFlight, ++inFlight);
+            }
+            started.add(identity);
+            submitted.add(identity);
+            return timeouts.getOrDefault(identity, TIMEOUT);
+        }
+
+        @Override
+        void cancelTask(final ServerIdentity toCancel) {
+            synchronized (this) {
+                inFlight--;
+            }
+            cancelled.add(toCancel);
+        }
+
+        ServerIdentity nextSubmitted() throws InterruptedException {
+            final ServerIdentity identity = submitted.poll(10, TimeUnit.SECONDS);
+            Assert.assertNotNull("no server was started", identity);
+            return identity;
+        }
+
+        void respond(final ServerIdentity identity, final boolean failed) {
+            synchronized (this) {
+                inFlight--;
+            }
+            final ModelNode result = new ModelNode();
+            if (failed) {
+                result.get(OUTCOME).set(FAILED);
+                result.get(FAILURE_DESCRIPTION).set("failed");
+            } else {
+                result.get(OUTCOME).set(SUCCESS);
+            }
+            listener.operationPrepared(new Prepared(new ServerOperation(identity, new ModelNode(), null, null, null), result));
+        }
+
+        @Override
+        public int getLocalBlockingTimeout() {
+            return TIMEOUT;
+        }
+
+        @Override
+        public int getProxyBlockingTimeout(final PathAddress targetAddress, final ProxyController proxyController) {
+            return TIMEOUT;
+        }
+
+        @Override
+        public int getDomainBlockingTimeout(final boolean multipleProxies) {
+            return TIMEOUT;
+        }
+
+        @Override
+        public void timeoutDetected() {
+        }
+
+        @Override
+        public void proxyTimeoutDetected(final PathAddress targetAddress) {
+            timedOut.add(targetAddress);
+        }
+    }
+
+    private static class Prepared implements TransactionalProtocolClient.PreparedOperation<ServerTaskExecutor.ServerOperation> {
+
+        private final ServerTaskExecutor.ServerOperation operation;
+        private final ModelNode result;
+
+        Prepared(final ServerTaskExecutor.ServerOperation operation, final ModelNode result) {
+            this.operation = operation;
+            this.result = result;
+        }
+
+        @Override
+        public ServerTaskExecutor.ServerOperation getOperation() {
+            return operation;
+        }
+
+        @Override
+        public ModelNode getPreparedResult() {
+            return result;
+        }
+
+        @Override
+        public boolean isFailed() {
+            return result.has(FAILURE_DESCRIPTION);
+        }
+
+        @Override
+        public boolean isTimedOut() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return false;
+        }
+
+        @Override
+        public AsyncFuture<OperationResponse> getFinalResult() {
+            return null;
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void rollback() {
+        }
+    }
+}
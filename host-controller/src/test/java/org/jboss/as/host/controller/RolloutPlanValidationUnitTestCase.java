@@ -25,6 +25,8 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CON
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IN_SERIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILED_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_FAILURE_PERCENTAGE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_IN_FLIGHT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAX_IN_FLIGHT_PERCENTAGE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ACROSS_GROUPS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLING_TO_SERVERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLOUT_PLAN;
@@ -242,6 +244,20 @@ public class RolloutPlanValidationUnitTestCase {
         validateRolloutPlanStructure(rolloutPlan);
     }
 
+    @Test
+    public void testGroupsWithMaxInFlight() throws Exception {
+        final ModelNode rolloutPlan = new ModelNode();
+        final ModelNode inSeries = rolloutPlan.get(ROLLOUT_PLAN, IN_SERIES);
+        ModelNode group = inSeries.add().get(SERVER_GROUP).get("group1");
+        group.get(MAX_IN_FLIGHT).set(10);
+        group.get(MAX_FAILED_SERVERS).set(1);
+        final ModelNode concurrent = inSeries.add().get(CONCURRENT_GROUPS);
+        group = concurrent.get("group2");
+        group.get(MAX_IN_FLIGHT_PERCENTAGE).set(25);
+        group.get(MAX_FAILURE_PERCENTAGE).set(5);
+        validateRolloutPlanStructure(rolloutPlan);
+    }
+
     @Test
     public void testConcurrentGroupsWithUnrecognizedProp() throws Exception {
         // this doesn't make sense actually
@@ -26,10 +26,16 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.GRO
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.IGNORE_UNUSED_CONFIG;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INITIAL_SERVER_GROUPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_CONFIG;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.Arrays;
 
 import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.PathAddress;
@@ -162,6 +168,54 @@ public class HostInfoUnitTestCase {
 
     }
 
+    @Test
+    public void testDomainModelDigest() {
+        LocalHostControllerInfoImpl lch = new MockLocalHostControllerInfo(new ControlledProcessState(true), "test");
+        ProductConfig productConfig = new ProductConfig("product", "version", "main");
+        IgnoredDomainResourceRegistry ignoredRegistry = new IgnoredDomainResourceRegistry(lch);
+
+        ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        response.get(RESULT).add(new ModelNode().set("operation", "first"));
+        response.get(RESULT).add(new ModelNode().set("operation", "second"));
+
+        // A host that did not send a digest gets the model
+        ModelNode model = HostInfo.createLocalHostHostInfo(lch, productConfig, ignoredRegistry, Resource.Factory.create());
+        HostInfo testee = HostInfo.fromModelNode(model);
+        Assert.assertNull(testee.getDomainModelDigest());
+        Assert.assertSame(response, DomainModelDigest.getResponseToSend(response, testee));
+
+        // A host that already has the model does not
+        model.get(DomainModelDigest.DOMAIN_MODEL_DIGEST).set(DomainModelDigest.digest(response.get(RESULT).clone()));
+        testee = HostInfo.fromModelNode(model);
+        ModelNode sent = DomainModelDigest.getResponseToSend(response, testee);
+        Assert.assertTrue(DomainModelDigest.isUnchanged(sent));
+        Assert.assertFalse(sent.hasDefined(RESULT));
+        Assert.assertFalse(DomainModelDigest.isUnchanged(response));
+
+        // A host that has a different model gets the model
+        ModelNode changed = response.clone();
+        changed.get(RESULT).add(new ModelNode().set("operation", "third"));
+        Assert.assertSame(changed, DomainModelDigest.getResponseToSend(changed, testee));
+    }
+
+    @Test
+    public void testDomainResourcesDigestIgnoresHosts() {
+        Resource domainResource = Resource.Factory.create();
+        Resource serverGroup = Resource.Factory.create();
+        serverGroup.getModel().get(PROFILE).set("profile1");
+        domainResource.registerChild(PathElement.pathElement(SERVER_GROUP, "server-group1"), serverGroup);
+        byte[] digest = DomainModelDigest.digestDomainResources(domainResource);
+
+        Resource hostResource = Resource.Factory.create();
+        hostResource.getModel().get(NAME).set("test");
+        domainResource.registerChild(PathElement.pathElement(HOST, "test"), hostResource);
+        Assert.assertArrayEquals(digest, DomainModelDigest.digestDomainResources(domainResource));
+
+        serverGroup.getModel().get(PROFILE).set("profile2");
+        Assert.assertFalse(Arrays.equals(digest, DomainModelDigest.digestDomainResources(domainResource)));
+    }
+
     private static class MockLocalHostControllerInfo extends LocalHostControllerInfoImpl {
 
         public MockLocalHostControllerInfo(final ControlledProcessState processState, final String localHostName) {
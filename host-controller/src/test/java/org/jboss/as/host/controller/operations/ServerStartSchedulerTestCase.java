@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller.operations;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.ControlledProcessState;
+import org.jboss.as.controller.ProcessStateNotifier;
+import org.jboss.as.controller.client.helpers.domain.ServerStatus;
+import org.jboss.as.host.controller.ServerInventory;
+import org.jboss.as.host.controller.operations.ServerStartScheduler.ServerToStart;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ServerStartScheduler}.
+ */
+public class ServerStartSchedulerTestCase {
+
+    @Test
+    public void testOrder() {
+        final List<ServerToStart> servers = Arrays.asList(new ServerToStart("a1", "a"), new ServerToStart("b1", "b"),
+                new ServerToStart("c1", "c"), new ServerToStart("a2", "a"), new ServerToStart("b2", "b"));
+        Assert.assertEquals("[a1, b1, c1, a2, b2]", ServerStartScheduler.order(servers, Collections.emptyList()).toString());
+        Assert.assertEquals("[b1, b2, c1, a1, a2]", ServerStartScheduler.order(servers, Arrays.asList("b", "c")).toString());
+    }
+
+    @Test
+    public void testParseGroupOrder() {
+        Assert.assertEquals(Collections.emptyList(), ServerStartScheduler.parseGroupOrder(""));
+        Assert.assertEquals(Arrays.asList("main", "other"), ServerStartScheduler.parseGroupOrder(" main, ,other"));
+    }
+
+    @Test(timeout = 30000)
+    public void testMaxConcurrent() throws InterruptedException {
+        final List<ServerToStart> servers = createServers(6);
+        final CountDownLatch started = new CountDownLatch(servers.size());
+        final AtomicInteger booting = new AtomicInteger();
+        final AtomicInteger maxBooting = new AtomicInteger();
+        final ServerInventory inventory = mock(ServerInventory.class);
+        when(inventory.startServer(anyString(), any(ModelNode.class), anyBoolean(), anyBoolean())).thenAnswer(invocation -> {
+            maxBooting.accumulateAndGet(booting.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+            } finally {
+                booting.decrementAndGet();
+                started.countDown();
+            }
+            return ServerStatus.STARTED;
+        });
+        final TestNotifier notifier = new TestNotifier();
+
+        new ServerStartScheduler(inventory, 2, 1.0, Collections.emptyList(), () -> 0.0).startServers(servers, new ModelNode(), notifier);
+        Assert.assertTrue(started.await(20, TimeUnit.SECONDS));
+        Assert.assertEquals(2, maxBooting.get());
+        // The listener is removed once all servers started
+        awaitNoListeners(notifier);
+    }
+
+    @Test(timeout = 30000)
+    public void testStopCancelsQueuedStarts() throws InterruptedException {
+        final List<ServerToStart> servers = createServers(4);
+        final CountDownLatch booting = new CountDownLatch(1);
+        final List<String> started = new CopyOnWriteArrayList<>();
+        final ServerInventory inventory = mock(ServerInventory.class);
+        when(inventory.startServer(anyString(), any(ModelNode.class), anyBoolean(), anyBoolean())).thenAnswer(invocation -> {
+            started.add(invocation.getArgument(0));
+            booting.countDown();
+            // Blocks until interrupted by the scheduler's shutdown, as the process stopping the server would
+            Thread.sleep(TimeUnit.SECONDS.toMillis(20));
+            throw new IllegalStateException("not started");
+        });
+        final TestNotifier notifier = new TestNotifier();
+
+        new ServerStartScheduler(inventory, 1, 1.0, Collections.emptyList(), () -> 0.0).startServers(servers, new ModelNode(), notifier);
+        Assert.assertTrue(booting.await(20, TimeUnit.SECONDS));
+        notifier.fire(ControlledProcessState.State.STOPPING);
+        awaitNoListeners(notifier);
+
+        // Give a queued start the chance to run, if it was not dropped
+        Thread.sleep(200);
+        Assert.assertEquals(Collections.singletonList("server0"), started);
+        verify(inventory).startServer("server0", new ModelNode(), true, false);
+    }
+
+    @Test
+    public void testInvalidProperties() {
+        try {
+            System.setProperty(ServerStartScheduler.MAX_CONCURRENT_PROPERTY, "two");
+            System.setProperty(ServerStartScheduler.MAX_LOAD_PROPERTY, "high");
+            Assert.assertFalse(new ServerStartScheduler(null).isEnabled());
+            System.setProperty(ServerStartScheduler.MAX_CONCURRENT_PROPERTY, " 2 ");
+            Assert.assertTrue(new ServerStartScheduler(null).isEnabled());
+        } finally {
+            System.clearProperty(ServerStartScheduler.MAX_CONCURRENT_PROPERTY);
+            System.clearProperty(ServerStartScheduler.MAX_LOAD_PROPERTY);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testLoadIgnoredWhenNoneBooting() throws InterruptedException {
+        final ServerStartScheduler scheduler = new ServerStartScheduler(null, 2, 1.0, Collections.emptyList(), () -> 100.0);
+        Assert.assertTrue(scheduler.isEnabled());
+        scheduler.awaitLoad("server");
+        Assert.assertFalse(new ServerStartScheduler(null, 0, 1.0, Collections.emptyList(), () -> 0.0).isEnabled());
+    }
+
+    private static List<ServerToStart> createServers(final int count) {
+        final List<ServerToStart> servers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            servers.add(new ServerToStart("server" + i, "group"));
+        }
+        return servers;
+    }
+
+    private static void awaitNoListeners(final TestNotifier notifier) throws InterruptedException {
+        while (!notifier.listeners.isEmpty()) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class TestNotifier implements ProcessStateNotifier {
+        private final List<PropertyChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public ControlledProcessState.State getCurrentState() {
+            return ControlledProcessState.State.STARTING;
+        }
+
+        @Override
+        public void addPropertyChangeListener(final PropertyChangeListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removePropertyChangeListener(final PropertyChangeListener listener) {
+            listeners.remove(listener);
+        }
+
+        void fire(final ControlledProcessState.State state) {
+            final PropertyChangeEvent event = new PropertyChangeEvent(this, "currentState", ControlledProcessState.State.STARTING, state);
+            for (PropertyChangeListener listener : listeners) {
+                listener.propertyChange(event);
+            }
+        }
+    }
+}
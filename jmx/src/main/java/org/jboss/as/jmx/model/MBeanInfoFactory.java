@@ -59,9 +59,11 @@ import javax.management.AttributeChangeNotification;
 import javax.management.Descriptor;
 import javax.management.ImmutableDescriptor;
 import javax.management.InstanceNotFoundException;
+import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanInfo;
 import javax.management.MBeanNotificationInfo;
 import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
 import javax.management.Notification;
 import javax.management.ObjectName;
 import javax.management.openmbean.OpenMBeanAttributeInfo;
@@ -135,6 +137,57 @@ public class MBeanInfoFactory {
         return new MBeanInfoFactory(name, converters, configuredDomains, mutabilityChecker, address, resourceRegistration).createMBeanInfo();
     }
 
+    /**
+     * Adapts an {@code MBeanInfo} created for another resource with the same registration to the given resource.
+     * Only the descriptors refer to the resource's name, and only when both the legacy and the expression domains
+     * are configured, so in all other cases the {@code MBeanInfo} is returned as is.
+     */
+    static MBeanInfo forName(final MBeanInfo info, final ObjectName name, final ConfiguredDomains configuredDomains) {
+        if (configuredDomains.getLegacyDomain() == null || configuredDomains.getExprDomain() == null) {
+            return info;
+        }
+        final ObjectName alternate = configuredDomains.getMirroredObjectName(name);
+        if (alternate.toString().equals(info.getDescriptor().getFieldValue(DESC_ALTERNATE_MBEAN))) {
+            return info;
+        }
+        final boolean legacy = configuredDomains.isLegacyDomain(name);
+
+        final MBeanAttributeInfo[] attributes = info.getAttributes();
+        final OpenMBeanAttributeInfo[] openAttributes = new OpenMBeanAttributeInfo[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            final OpenMBeanAttributeInfo attribute = (OpenMBeanAttributeInfo) attributes[i];
+            openAttributes[i] = new OpenMBeanAttributeInfoSupport(attribute.getName(), attribute.getDescription(),
+                    attribute.getOpenType(), attribute.isReadable(), attribute.isWritable(), attribute.isIs(),
+                    withAlternate(attributes[i].getDescriptor(), alternate, legacy));
+        }
+        final MBeanOperationInfo[] operations = info.getOperations();
+        final OpenMBeanOperationInfo[] openOperations = new OpenMBeanOperationInfo[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            final OpenMBeanOperationInfo operation = (OpenMBeanOperationInfo) operations[i];
+            final MBeanParameterInfo[] signature = operation.getSignature();
+            final OpenMBeanParameterInfo[] parameters = new OpenMBeanParameterInfo[signature.length];
+            for (int j = 0; j < signature.length; j++) {
+                parameters[j] = (OpenMBeanParameterInfo) signature[j];
+            }
+            openOperations[i] = new OpenMBeanOperationInfoSupport(operation.getName(), operation.getDescription(),
+                    parameters, operation.getReturnOpenType(), operation.getImpact(),
+                    withAlternate(operations[i].getDescriptor(), alternate, legacy));
+        }
+        return new OpenMBeanInfoSupport(info.getClassName(), info.getDescription(), openAttributes, null,
+                openOperations, info.getNotifications(), withAlternate(info.getDescriptor(), alternate, legacy));
+    }
+
+    private static Descriptor withAlternate(final Descriptor descriptor, final ObjectName alternate, final boolean legacy) {
+        final Map<String, Object> fields = new HashMap<>();
+        for (String field : descriptor.getFieldNames()) {
+            fields.put(field, descriptor.getFieldValue(field));
+        }
+        fields.put(DESC_ALTERNATE_MBEAN, alternate.toString());
+        fields.put(DESC_ALTERNATE_MBEAN_DESCR, legacy ? JmxLogger.ROOT_LOGGER.descriptorAlternateMBeanExpressions(alternate)
+                : JmxLogger.ROOT_LOGGER.descriptorAlternateMBeanLegacy(alternate));
+        return new ImmutableDescriptor(fields);
+    }
+
     private MBeanInfo createMBeanInfo() {
         return new OpenMBeanInfoSupport(ModelControllerMBeanHelper.CLASS_NAME,
                 getDescription(providedDescription),
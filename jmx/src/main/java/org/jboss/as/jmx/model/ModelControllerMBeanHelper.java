@@ -42,6 +42,8 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.management.Attribute;
 import javax.management.AttributeList;
@@ -100,6 +102,11 @@ public class ModelControllerMBeanHelper {
     private final String domain;
     private final ObjectInstance rootObjectInstance;
     private final ManagementModelIntegration.ManagementModelProvider managementModelProvider;
+    private final ObjectNameIndex objectNameIndex;
+    /** MBeanInfo by the address of the registration it was created from and whether it is mutable */
+    private final Map<MBeanInfoKey, MBeanInfo> mbeanInfos = new ConcurrentHashMap<>();
+    /** Incremented by clearCaches(), so MBeanInfo created from registrations that changed meanwhile is not cached */
+    private final AtomicInteger cacheGeneration = new AtomicInteger();
 
     ModelControllerMBeanHelper(TypeConverters converters, ConfiguredDomains configuredDomains, String domain,
                                ModelController controller, MutabilityChecker mutabilityChecker,
@@ -112,6 +119,16 @@ public class ModelControllerMBeanHelper {
         this.mutabilityChecker = mutabilityChecker;
         this.managementModelProvider = managementModelProvider;
         this.rootObjectInstance = ModelControllerMBeanHelper.createRootObjectInstance(domain);
+        this.objectNameIndex = new ObjectNameIndex(domain, rootObjectInstance.getObjectName());
+    }
+
+    /**
+     * Discards the cached names and MBeanInfo, e.g. because resources or their registrations were added or removed.
+     */
+    void clearCaches() {
+        cacheGeneration.incrementAndGet();
+        objectNameIndex.clear();
+        mbeanInfos.clear();
     }
 
     int getMBeanCount() {
@@ -242,11 +259,11 @@ public class ModelControllerMBeanHelper {
 
 
     PathAddress resolvePathAddress(final ObjectName name) {
-        return ObjectNameAddressUtil.resolvePathAddress(rootObjectInstance.getObjectName(), getRootResourceAndRegistration().getResource(), name);
+        return objectNameIndex.resolvePathAddress(getRootResourceAndRegistration().getResource(), name);
     }
 
     private PathAddress resolvePathAddress(final ObjectName name, ManagementModelIntegration.ResourceAndRegistration reg) {
-        return ObjectNameAddressUtil.resolvePathAddress(rootObjectInstance.getObjectName(), reg.getResource(), name);
+        return objectNameIndex.resolvePathAddress(reg.getResource(), name);
     }
 
     /**
@@ -268,7 +285,20 @@ public class ModelControllerMBeanHelper {
         }
         // Ensure the resource is addressable; fail if not
         accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, true);
-        return MBeanInfoFactory.createMBeanInfo(name, converters, configuredDomains, mutabilityChecker, address, getMBeanRegistration(address, reg));
+        final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
+        // All resources with the same registration have the same MBeanInfo, apart from the descriptors naming them
+        final MBeanInfoKey key = new MBeanInfoKey(registration.getPathAddress(), mutabilityChecker.mutable(address));
+        final MBeanInfo cached = mbeanInfos.get(key);
+        if (cached != null) {
+            return MBeanInfoFactory.forName(cached, name, configuredDomains);
+        }
+        final int generation = cacheGeneration.get();
+        final MBeanInfo info = MBeanInfoFactory.createMBeanInfo(name, converters, configuredDomains, mutabilityChecker, address, registration);
+        mbeanInfos.put(key, info);
+        if (cacheGeneration.get() != generation) {
+            mbeanInfos.remove(key, info);
+        }
+        return info;
     }
 
     Object getAttribute(final ObjectName name, final String attribute)  throws AttributeNotFoundException, InstanceNotFoundException, ReflectionException {
@@ -665,7 +695,7 @@ public class ModelControllerMBeanHelper {
             }
 
             ObjectName result = null;
-            ObjectName toMatch = ObjectNameAddressUtil.createObjectName(domain, address, creationContext);
+            ObjectName toMatch = objectNameIndex.getObjectName(address, creationContext);
             if (baseName == null) {
                 result = toMatch;
             } else if (address.size() == 0) {
@@ -703,4 +733,27 @@ public class ModelControllerMBeanHelper {
             return result;
         }
     }
+
+    private static final class MBeanInfoKey {
+        private final PathAddress registrationAddress;
+        private final boolean mutable;
+
+        private MBeanInfoKey(final PathAddress registrationAddress, final boolean mutable) {
+            this.registrationAddress = registrationAddress;
+            this.mutable = mutable;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MBeanInfoKey)) return false;
+            final MBeanInfoKey that = (MBeanInfoKey) o;
+            return mutable == that.mutable && registrationAddress.equals(that.registrationAddress);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * registrationAddress.hashCode() + (mutable ? 1 : 0);
+        }
+    }
 }
@@ -97,6 +97,11 @@ public class ModelControllerMBeanServerPlugin extends BaseMBeanServerPlugin {
                 new ModelControllerMBeanHelper(TypeConverters.createExpressionTypeConverters(), configuredDomains,
                         configuredDomains.getExprDomain(), controller, mutabilityChecker, managementModelProvider) : null;
 
+        // The helpers cache resource names and MBeanInfo, which may change when resources or their registrations
+        // are added or removed
+        CacheClearingNotificationHandler cacheClearingHandler = new CacheClearingNotificationHandler(legacyHelper, exprHelper);
+        notificationRegistry.registerNotificationHandler(NotificationHandlerRegistration.ANY_ADDRESS, cacheClearingHandler, cacheClearingHandler);
+
         // JMX notifications for MBean registration/unregistration are emitted by the MBeanServerDelegate and not by the
         // MBeans itself. If we have a reference on the delegate, we add a listener for any WildFly resource address
         // that converts the resource-added and resource-removed notifications to MBeanServerNotification and send them
@@ -442,6 +447,32 @@ public class ModelControllerMBeanServerPlugin extends BaseMBeanServerPlugin {
         }
     }
 
+    /**
+     * Clears the caches of the helpers when resources are added or removed.
+     */
+    private static class CacheClearingNotificationHandler implements NotificationHandler, NotificationFilter {
+
+        private final ModelControllerMBeanHelper[] helpers;
+
+        private CacheClearingNotificationHandler(ModelControllerMBeanHelper... helpers) {
+            this.helpers = helpers;
+        }
+
+        @Override
+        public void handleNotification(Notification notification) {
+            for (ModelControllerMBeanHelper helper : helpers) {
+                if (helper != null) {
+                    helper.clearCaches();
+                }
+            }
+        }
+
+        @Override
+        public boolean isNotificationEnabled(Notification notification) {
+            return isResourceAddedOrRemovedNotification(notification);
+        }
+    }
+
     private static boolean isResourceAddedOrRemovedNotification(Notification notification) {
         return notification.getType().equals(RESOURCE_ADDED_NOTIFICATION) ||
                 notification.getType().equals(ModelDescriptionConstants.RESOURCE_REMOVED_NOTIFICATION);
@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jmx.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+
+/**
+ * Remembers the {@link ObjectName}s of the resources of one JMX domain, and the addresses {@code ObjectName}s were
+ * resolved to, so neither has to be worked out again on every query or attribute access.
+ * <p>
+ * The name of an address never changes, so those entries are always valid. The address an {@code ObjectName} was
+ * resolved to is only used if a resource still exists there, and is resolved again otherwise. The index can be
+ * {@link #clear() cleared} whenever resources are removed, so it does not keep growing.
+ */
+final class ObjectNameIndex {
+
+    private final String domain;
+    private final ObjectName domainRoot;
+    private final Map<PathAddress, ObjectName> names = new ConcurrentHashMap<>();
+    private final Map<ObjectName, PathAddress> addresses = new ConcurrentHashMap<>();
+
+    ObjectNameIndex(final String domain, final ObjectName domainRoot) {
+        this.domain = domain;
+        this.domainRoot = domainRoot;
+    }
+
+    /**
+     * Gets the {@code ObjectName} of an address.
+     *
+     * @param address the address
+     * @param context context for creating names that are not known yet. May be {@code null}
+     * @return the name. Will not return {@code null}
+     */
+    ObjectName getObjectName(final PathAddress address, final ObjectNameAddressUtil.ObjectNameCreationContext context) {
+        ObjectName name = names.get(address);
+        if (name == null) {
+            name = ObjectNameAddressUtil.createObjectName(domain, address, context);
+            names.put(address, name);
+        }
+        return name;
+    }
+
+    /**
+     * Converts an {@code ObjectName} to the address of an existing resource.
+     *
+     * @param rootResource the root resource for the management model
+     * @param name the name to resolve
+     * @return the address, or {@code null} if there is no resource with that name
+     * @see ObjectNameAddressUtil#resolvePathAddress(ObjectName, Resource, ObjectName)
+     */
+    PathAddress resolvePathAddress(final Resource rootResource, final ObjectName name) {
+        PathAddress address = addresses.get(name);
+        if (address != null && exists(rootResource, address)) {
+            return address;
+        }
+        address = ObjectNameAddressUtil.resolvePathAddress(domainRoot, rootResource, name);
+        if (address != null) {
+            addresses.put(name, address);
+        } else {
+            addresses.remove(name);
+        }
+        return address;
+    }
+
+    void clear() {
+        names.clear();
+        addresses.clear();
+    }
+
+    private static boolean exists(final Resource rootResource, final PathAddress address) {
+        Resource current = rootResource;
+        for (PathElement element : address) {
+            current = current.getChild(element);
+            if (current == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jmx.model;
+
+import static org.jboss.as.controller.PathElement.pathElement;
+
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ObjectNameIndex}.
+ */
+public class ObjectNameIndexUnitTestCase {
+
+    private static final String DOMAIN = "jboss.as";
+    private static final PathElement TOP_ONE = pathElement("top", "one");
+    private static final PathElement BOTTOM_TWO = pathElement("bottom", "two");
+
+    @Test
+    public void testObjectNameMatchesCreatedName() throws Exception {
+        ObjectNameIndex index = new ObjectNameIndex(DOMAIN, ObjectName.getInstance(DOMAIN + ":*"));
+        PathAddress address = PathAddress.pathAddress(TOP_ONE, BOTTOM_TWO);
+        ObjectName name = index.getObjectName(address, null);
+        Assert.assertEquals(ObjectNameAddressUtil.createObjectName(DOMAIN, address), name);
+        Assert.assertSame(name, index.getObjectName(address, null));
+    }
+
+    @Test
+    public void testResolvedAddressFollowsModel() throws Exception {
+        ObjectNameIndex index = new ObjectNameIndex(DOMAIN, ObjectName.getInstance(DOMAIN + ":*"));
+        Resource root = Resource.Factory.create();
+        Resource top = Resource.Factory.create();
+        root.registerChild(TOP_ONE, top);
+        top.registerChild(BOTTOM_TWO, Resource.Factory.create());
+
+        PathAddress address = PathAddress.pathAddress(TOP_ONE, BOTTOM_TWO);
+        ObjectName name = index.getObjectName(address, null);
+        Assert.assertEquals(address, index.resolvePathAddress(root, name));
+        Assert.assertEquals(address, index.resolvePathAddress(root, name));
+
+        // A removed resource must not be found from the index
+        top.removeChild(BOTTOM_TWO);
+        Assert.assertNull(index.resolvePathAddress(root, name));
+
+        top.registerChild(BOTTOM_TWO, Resource.Factory.create());
+        Assert.assertEquals(address, index.resolvePathAddress(root, name));
+
+        index.clear();
+        Assert.assertEquals(address, index.resolvePathAddress(root, name));
+    }
+}
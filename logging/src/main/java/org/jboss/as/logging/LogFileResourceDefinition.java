@@ -25,24 +25,31 @@ package org.jboss.as.logging;
 import static org.jboss.as.logging.CommonAttributes.ENCODING;
 
 import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
@@ -56,10 +63,13 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinition;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.StringListAttributeDefinition;
 import org.jboss.as.controller.access.constraint.SensitivityClassification;
 import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.logging.logging.LoggingLogger;
@@ -115,15 +125,46 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
             .setDefaultValue(ModelNode.TRUE)
             .build();
 
+    private static final SimpleAttributeDefinition FILTER = SimpleAttributeDefinitionBuilder.create("filter", ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setValidator(new StringLengthValidator(1, true, true))
+            .build();
+
+    private static final SimpleAttributeDefinition OFFSET = SimpleAttributeDefinitionBuilder.create("offset", ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setValidator(new LongRangeValidator(0, true))
+            .build();
+
+    private static final SimpleAttributeDefinition MAX_LINES = SimpleAttributeDefinitionBuilder.create("lines", ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(1000))
+            .setValidator(new IntRangeValidator(-1, true))
+            .build();
+
+    private static final SimpleAttributeDefinition REPLY_OFFSET = SimpleAttributeDefinitionBuilder.create("offset", ModelType.LONG, false)
+            .build();
+
+    private static final StringListAttributeDefinition REPLY_LINES = new StringListAttributeDefinition.Builder("lines")
+            .build();
+
     private static final SimpleOperationDefinition READ_LOG_FILE = new SimpleOperationDefinitionBuilder("read-log-file", LoggingExtension.getResourceDescriptionResolver())
             .addAccessConstraint(VIEW_SERVER_LOGS)
-            .setParameters(ENCODING, LINES, SKIP, TAIL)
+            .setParameters(ENCODING, LINES, SKIP, TAIL, FILTER)
             .setReplyType(ModelType.LIST)
             .setReplyValueType(ModelType.STRING)
             .setReadOnly()
             .setRuntimeOnly()
             .build();
 
+    private static final SimpleOperationDefinition FOLLOW_LOG_FILE = new SimpleOperationDefinitionBuilder("follow-log-file", LoggingExtension.getResourceDescriptionResolver())
+            .addAccessConstraint(VIEW_SERVER_LOGS)
+            .setParameters(ENCODING, OFFSET, MAX_LINES, FILTER)
+            .setReplyType(ModelType.OBJECT)
+            .setReplyParameters(REPLY_OFFSET, REPLY_LINES)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
     private static final PathElement LOG_FILE_PATH = PathElement.pathElement("log-file");
 
     private final PathManager pathManager;
@@ -139,7 +180,7 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
     public void registerOperations(final ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
         resourceRegistration.registerOperationHandler(READ_LOG_FILE, new ReadLogFileOperation(pathManager));
-
+        resourceRegistration.registerOperationHandler(FOLLOW_LOG_FILE, new FollowLogFileOperation(pathManager));
     }
 
     @Override
@@ -235,6 +276,7 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
             final boolean tail = TAIL.resolveModelAttribute(context, operation).asBoolean();
             final ModelNode encodingModel = ENCODING.resolveModelAttribute(context, operation);
             final String encoding = (encodingModel.isDefined() ? encodingModel.asString() : null);
+            final Pattern filter = resolveFilter(context, operation);
             final File path = new File(pathManager.resolveRelativePathEntry(fileName, ServerEnvironment.SERVER_LOG_DIR));
 
             // The file must exist
@@ -248,7 +290,7 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
                 if (numberOfLines == 0) {
                     lines = Collections.emptyList();
                 } else {
-                    lines = readLines(path, encoding, tail, skip, numberOfLines);
+                    lines = readLines(path, encoding, tail, skip, numberOfLines, filter);
                 }
                 final ModelNode result = context.getResult().setEmptyList();
                 for (String line : lines) {
@@ -260,7 +302,8 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
             context.completeStep(ResultHandler.NOOP_RESULT_HANDLER);
         }
 
-        private List<String> readLines(final File file, final String encoding, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+        private List<String> readLines(final File file, final String encoding, final boolean tail, final int skip, final int numberOfLines,
+                                       final Pattern filter) throws IOException {
             final List<String> lines;
             if (numberOfLines < 0) {
                 lines = new ArrayList<>();
@@ -280,6 +323,8 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
                 int lineCount = 0;
                 String line;
                 while ((line = reader.readLine()) != null) {
+                    // Lines that don't match the filter are neither skipped nor returned
+                    if (filter != null && !filter.matcher(line).find()) continue;
                     if (++lineCount <= skip) continue;
                     if (lines.size() == numberOfLines) break;
                     lines.add(line);
@@ -292,16 +337,143 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
         }
     }
 
+    /**
+     * Reads the complete lines written to a log file after a byte offset, and returns them along with the offset to
+     * read from next. A client can invoke the operation repeatedly with the returned offset to follow the file
+     * without reading it again.
+     */
+    static class FollowLogFileOperation implements OperationStepHandler {
+        private static final int BUFFER_SIZE = 8192;
+        // Longer lines are truncated, so a file without line breaks cannot exhaust the memory
+        static final int MAX_LINE_LENGTH = 1024 * 1024;
+
+        private final PathManager pathManager;
+
+        private FollowLogFileOperation(final PathManager pathManager) {
+            this.pathManager = pathManager;
+        }
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final String fileName = context.getCurrentAddressValue();
+            final String logDir = pathManager.getPathEntry(ServerEnvironment.SERVER_LOG_DIR).resolvePath();
+            validateFile(context, logDir, fileName);
+            // Validate the operation
+            for (AttributeDefinition attribute : FOLLOW_LOG_FILE.getParameters()) {
+                attribute.validateOperation(operation);
+            }
+            final ModelNode offsetModel = OFFSET.resolveModelAttribute(context, operation);
+            final int maxLines = MAX_LINES.resolveModelAttribute(context, operation).asInt();
+            final ModelNode encodingModel = ENCODING.resolveModelAttribute(context, operation);
+            final Pattern filter = resolveFilter(context, operation);
+            final File path = new File(pathManager.resolveRelativePathEntry(fileName, ServerEnvironment.SERVER_LOG_DIR));
+
+            // The file must exist
+            if (!path.exists()) {
+                throw LoggingLogger.ROOT_LOGGER.logFileNotFound(fileName, ServerEnvironment.SERVER_LOG_DIR);
+            }
+
+            final ModelNode result = context.getResult();
+            final ModelNode lines = result.get(REPLY_LINES.getName()).setEmptyList();
+            try (FileChannel channel = FileChannel.open(path.toPath(), StandardOpenOption.READ)) {
+                final long size = channel.size();
+                // Without an offset start following from the end of the file
+                long offset = offsetModel.isDefined() ? offsetModel.asLong() : size;
+                if (offset > size) {
+                    // The file has been rotated or truncated since the offset was returned
+                    offset = 0;
+                }
+                if (maxLines != 0) {
+                    /* As with read-log-file use the system default, unless the encoding is explicitly defined */
+                    final Charset charset = (encodingModel.isDefined() ? Charset.forName(encodingModel.asString()) : Charset.defaultCharset());
+                    // Lines are split on the bytes of the file before they are decoded
+                    if (!Arrays.equals(new byte[] {'\n'}, "\n".getBytes(charset)) || !Arrays.equals(new byte[] {'\r'}, "\r".getBytes(charset))) {
+                        throw LoggingLogger.ROOT_LOGGER.unsupportedFollowEncoding(charset.name());
+                    }
+                    offset = readLines(channel, offset, size, charset, maxLines, filter, lines);
+                }
+                result.get(REPLY_OFFSET.getName()).set(offset);
+            } catch (IOException | IllegalArgumentException e) {
+                throw LoggingLogger.ROOT_LOGGER.failedToReadLogFile(e, fileName);
+            }
+            context.completeStep(ResultHandler.NOOP_RESULT_HANDLER);
+        }
+
+        /**
+         * Reads the complete lines between the offset and the end of the file.
+         *
+         * @return the offset following the last line read
+         */
+        private static long readLines(final FileChannel channel, final long offset, final long size, final Charset charset,
+                                      final int maxLines, final Pattern filter, final ModelNode lines) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] line = new byte[BUFFER_SIZE];
+            int lineLength = 0;
+            int count = 0;
+            long position = offset;
+            long lineEnd = offset;
+            while (position < size) {
+                buffer.clear();
+                if (buffer.remaining() > size - position) {
+                    buffer.limit((int) (size - position));
+                }
+                final int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    final byte b = buffer.get();
+                    position++;
+                    if (b == '\n') {
+                        lineEnd = position;
+                        int length = lineLength;
+                        if (length > 0 && line[length - 1] == '\r') {
+                            length--;
+                        }
+                        lineLength = 0;
+                        final String value = new String(line, 0, length, charset);
+                        if (filter == null || filter.matcher(value).find()) {
+                            lines.add(value);
+                            if (++count == maxLines) {
+                                return lineEnd;
+                            }
+                        }
+                    } else if (lineLength < MAX_LINE_LENGTH) {
+                        if (lineLength == line.length) {
+                            line = Arrays.copyOf(line, Math.min(line.length * 2, MAX_LINE_LENGTH));
+                        }
+                        line[lineLength++] = b;
+                    }
+                }
+            }
+            // The last line is not returned until it is complete
+            return lineEnd;
+        }
+    }
+
+    /**
+     * Reads the lines of a file from the last to the first, each line's bytes in order. The file is read backwards in
+     * blocks rather than a byte at a time.
+     */
     static final class LifoFileInputStream extends InputStream {
-        private final RandomAccessFile raf;
+        private static final int BLOCK_SIZE = 8192;
+
+        private final FileChannel channel;
         private final long len;
+        private final ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        // The position in the file of the first byte in the block
+        private long blockStart;
+        private int blockLength;
         private long start;
         private long end;
         private long pos;
+        // Whether a line feed needs to be added to the last line of the file
+        private boolean lineFeedPending;
 
         LifoFileInputStream(final File file) throws IOException {
-            raf = new RandomAccessFile(file, "r");
-            len = raf.length();
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            len = channel.size();
             start = len;
             end = len;
             pos = end;
@@ -316,6 +488,8 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
                 pos = -1;
                 return;
             }
+            // If the file does not end with a line feed, end its last line with one so it's not joined with the next
+            lineFeedPending = (end == len && byteAt(len - 1, true) != '\n');
 
             long filePointer = start - 1;
             while (true) {
@@ -324,11 +498,8 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
                 if (filePointer < 0) {
                     break;
                 }
-                // Position the file
-                raf.seek(filePointer);
-                final byte readByte = raf.readByte();
-                // If the byte is a line feed we've found the next line ignoring the last line feed in the file
-                if (readByte == '\n' && filePointer != (len - 1)) {
+                // If the byte is a line feed we've found the next line
+                if (byteAt(filePointer, true) == '\n') {
                     break;
                 }
             }
@@ -336,22 +507,73 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
             pos = start;
         }
 
+        /**
+         * Gets a byte of the file, reading the block ending (when reading backwards) or starting at its position if
+         * it's not in the current block.
+         */
+        private byte byteAt(final long position, final boolean backwards) throws IOException {
+            if (position < blockStart || position >= blockStart + blockLength) {
+                blockStart = (backwards ? Math.max(0, position - BLOCK_SIZE + 1) : position);
+                block.clear();
+                while (block.hasRemaining() && channel.read(block, blockStart + block.position()) > 0) {
+                    // keep reading until the block is full
+                }
+                blockLength = block.position();
+                if (position >= blockStart + blockLength) {
+                    throw new EOFException();
+                }
+            }
+            return block.get((int) (position - blockStart));
+        }
+
         @Override
         public int read() throws IOException {
-            if (pos < end) {
-                raf.seek(pos++);
-                return raf.readByte();
-            } else if (pos < 0) {
-                return -1;
-            } else {
+            while (true) {
+                if (pos < end) {
+                    return byteAt(pos++, false) & 0xFF;
+                } else if (lineFeedPending) {
+                    lineFeedPending = false;
+                    return '\n';
+                } else if (pos < 0) {
+                    return -1;
+                }
                 positionFile();
-                return read();
             }
         }
 
+        @Override
+        public int read(final byte[] b, final int off, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            final int first = read();
+            if (first == -1) {
+                return -1;
+            }
+            b[off] = (byte) first;
+            // Copy what's left of the current line
+            final int count = (int) Math.max(0, Math.min(length - 1, end - pos));
+            for (int i = 1; i <= count; i++) {
+                b[off + i] = byteAt(pos++, false);
+            }
+            return count + 1;
+        }
+
         @Override
         public void close() throws IOException {
-            raf.close();
+            channel.close();
+        }
+    }
+
+    private static Pattern resolveFilter(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final ModelNode filter = FILTER.resolveModelAttribute(context, operation);
+        if (!filter.isDefined()) {
+            return null;
+        }
+        try {
+            return Pattern.compile(filter.asString());
+        } catch (PatternSyntaxException e) {
+            throw LoggingLogger.ROOT_LOGGER.invalidLogFileFilter(e, filter.asString());
         }
     }
 
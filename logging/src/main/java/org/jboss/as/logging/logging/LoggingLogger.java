@@ -1049,4 +1049,26 @@ public interface LoggingLogger extends BasicLogger {
             "configuration files in deployments has been deprecated and will be removed in a future release.")
     @LogMessage(level = WARN)
     void usageOfLog4j1Config(String fileName, String deploymentName);
+
+    /**
+     * Creates an exception indicating the filter used to read a log file is not a valid regular expression.
+     *
+     * @param cause  the cause of the error
+     * @param filter the filter
+     *
+     * @return an {@link OperationFailedException} for the error
+     */
+    @Message(id = 101, value = "The filter '%s' is not a valid regular expression.")
+    OperationFailedException invalidLogFileFilter(@Cause Throwable cause, String filter);
+
+    /**
+     * Creates an exception indicating a log file cannot be followed in the encoding, as it does not write line breaks
+     * as single ASCII bytes.
+     *
+     * @param encoding the encoding
+     *
+     * @return an {@link OperationFailedException} for the error
+     */
+    @Message(id = 102, value = "Log files cannot be followed in encoding %s, as it does not write line breaks as single bytes.")
+    OperationFailedException unsupportedFollowEncoding(String encoding);
 }
@@ -33,6 +33,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFileAttributeView;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
@@ -123,6 +124,8 @@ public class RootSubsystemOperationsTestCase extends AbstractOperationsTestCase
         final ModelNode simpleLogAddress = SUBSYSTEM_ADDRESS.append("log-file", "simple.log").toModelNode();
         op = SubsystemOperations.createOperation("read-log-file", simpleLogAddress);
         testReadLogFile(kernelServices, op, getLogger());
+        testFilterLogFile(kernelServices, simpleLogAddress);
+        testFollowLogFile(kernelServices, simpleLogAddress, getLogger());
 
         // Test on the logging-profile
         final ModelNode profileAddress = SUBSYSTEM_ADDRESS.append("logging-profile", "testProfile").append("log-file", "profile-simple.log").toModelNode();
@@ -360,6 +363,99 @@ public class RootSubsystemOperationsTestCase extends AbstractOperationsTestCase
         checkLogLines(logLines, 5);
     }
 
+    private void testFilterLogFile(final KernelServices kernelServices, final ModelNode address) {
+        // The last lines logged by testReadLogFile() are messages 0 to 49
+        final ModelNode op = SubsystemOperations.createOperation("read-log-file", address);
+        op.get("filter").set(msg + "4\\d");
+        op.get("lines").set(5);
+        ModelNode result = executeOperation(kernelServices, op);
+        List<String> logLines = SubsystemOperations.readResultAsList(result);
+        assertEquals(5, logLines.size());
+        checkLogLines(logLines, 45);
+
+        // Skipped lines must match as well
+        op.get("skip").set(2);
+        result = executeOperation(kernelServices, op);
+        logLines = SubsystemOperations.readResultAsList(result);
+        assertEquals(5, logLines.size());
+        checkLogLines(logLines, 43);
+
+        // An invalid pattern
+        op.get("filter").set(msg + "(");
+        executeOperationForFailure(kernelServices, op);
+    }
+
+    private void testFollowLogFile(final KernelServices kernelServices, final ModelNode address, final Logger logger) {
+        // Without an offset nothing is read, but the offset of the end of the file is returned
+        final ModelNode op = SubsystemOperations.createOperation("follow-log-file", address);
+        ModelNode result = SubsystemOperations.readResult(executeOperation(kernelServices, op));
+        assertEquals(0, readLines(result).size());
+        final long offset = result.get("offset").asLong();
+        assertEquals(SubsystemOperations.readResult(executeOperation(kernelServices,
+                SubsystemOperations.createReadAttributeOperation(address, "file-size"))).asLong(), offset);
+
+        for (int i = 0; i < 10; i++) {
+            logger.info(msg + i);
+        }
+
+        // Only the new lines are read
+        op.get("offset").set(offset);
+        result = SubsystemOperations.readResult(executeOperation(kernelServices, op));
+        List<String> logLines = readLines(result);
+        assertEquals(10, logLines.size());
+        checkLogLines(logLines, 0);
+        final long nextOffset = result.get("offset").asLong();
+        assertTrue(nextOffset > offset);
+
+        // Nothing has been written since
+        op.get("offset").set(nextOffset);
+        result = SubsystemOperations.readResult(executeOperation(kernelServices, op));
+        assertEquals(0, readLines(result).size());
+        assertEquals(nextOffset, result.get("offset").asLong());
+
+        // Limit and filter the lines, the next offset follows the last line read
+        op.get("offset").set(offset);
+        op.get("lines").set(2);
+        op.get("filter").set(msg + "[3-9]");
+        result = SubsystemOperations.readResult(executeOperation(kernelServices, op));
+        logLines = readLines(result);
+        assertEquals(2, logLines.size());
+        checkLogLines(logLines, 3);
+        op.get("offset").set(result.get("offset"));
+        result = SubsystemOperations.readResult(executeOperation(kernelServices, op));
+        logLines = readLines(result);
+        assertEquals(2, logLines.size());
+        checkLogLines(logLines, 5);
+
+        // Long lines are truncated
+        final StringBuilder longMessage = new StringBuilder(msg);
+        while (longMessage.length() <= LogFileResourceDefinition.FollowLogFileOperation.MAX_LINE_LENGTH) {
+            longMessage.append('x');
+        }
+        logger.info(longMessage.toString());
+        logger.info(msg + 10);
+        op.get("offset").set(nextOffset);
+        op.get("lines").set(-1);
+        op.get("filter").set(msg);
+        result = SubsystemOperations.readResult(executeOperation(kernelServices, op));
+        logLines = readLines(result);
+        assertEquals(2, logLines.size());
+        assertEquals(LogFileResourceDefinition.FollowLogFileOperation.MAX_LINE_LENGTH, logLines.get(0).length());
+        checkLogLines(logLines.subList(1, 2), 10);
+
+        // Line breaks of more than one byte cannot be split on
+        op.get("encoding").set("UTF-16");
+        executeOperationForFailure(kernelServices, op);
+    }
+
+    private static List<String> readLines(final ModelNode followResult) {
+        final List<String> lines = new ArrayList<>();
+        for (ModelNode line : followResult.get("lines").asList()) {
+            lines.add(line.asString());
+        }
+        return lines;
+    }
+
     private void checkLogLines(final List<String> logLines, final int start) {
         int index = start;
         for (String line : logLines) {
@@ -0,0 +1,314 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.process;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.as.process.logging.ProcessLogger;
+import org.jboss.as.process.protocol.StreamUtils;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Copies the output of the managed processes into the process controller's stdout and stderr, prefixing each line
+ * with the name of the process.
+ * <p>
+ * A single thread serves the output streams of all processes. It only reads what a stream has
+ * {@link InputStream#available() available}, so it never blocks on an idle process, and takes at most
+ * {@value #CHUNK_SIZE} bytes from one stream before moving to the next, so a process writing a lot of output does not
+ * hold back the others. When no stream had anything available, the thread waits a little longer each time, between
+ * {@value #MIN_IDLE_WAIT} and {@value #MAX_IDLE_WAIT} ms. Once a process exited and its stream has nothing left
+ * available, the rest of the stream is read until its end by a thread of its own, as {@code available()} need not
+ * count all that is left, and the end of the stream may be held back by a child the process left running.
+ * <p>
+ * The complete lines read from a stream are written to the target in one go. Optionally, the output of each stream
+ * can be limited to a number of bytes per second; a process exceeding it blocks on writing its output, as it would
+ * with a slow console.
+ */
+final class OutputRelay implements Runnable {
+
+    /** System property setting the maximum number of bytes per second relayed from one stream; 0 for no limit. */
+    static final String RATE_LIMIT_PROPERTY = "org.jboss.as.process.output-rate-limit";
+
+    static final int CHUNK_SIZE = 8192;
+    static final long MIN_IDLE_WAIT = 1;
+    static final long MAX_IDLE_WAIT = 50;
+
+    private final long rateLimit;
+    // guarded by this
+    private final List<Source> sources = new ArrayList<>();
+    // guarded by this
+    private Thread thread;
+
+    OutputRelay() {
+        this(getRateLimit());
+    }
+
+    OutputRelay(final long rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    /**
+     * Starts relaying a stream of a process. The stream is closed once the process exited and all its output was
+     * relayed.
+     *
+     * @param processName the name of the process
+     * @param log the logger of the process
+     * @param process the process
+     * @param stream the stdout or stderr of the process
+     * @param target where to write the output
+     */
+    synchronized void relay(final String processName, final ProcessLogger log, final Process process, final InputStream stream,
+                            final PrintStream target) {
+        sources.add(new Source(processName, log, process, stream, target, rateLimit));
+        if (thread == null) {
+            thread = new Thread(this, "Process output relay");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private static long getRateLimit() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(RATE_LIMIT_PROPERTY, null);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                ProcessLogger.ROOT_LOGGER.invalidSystemPropertyValue(value, RATE_LIMIT_PROPERTY, 0);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void run() {
+        final byte[] buffer = new byte[CHUNK_SIZE];
+        long idleWait = MIN_IDLE_WAIT;
+        for (;;) {
+            final Source[] current;
+            synchronized (this) {
+                if (sources.isEmpty()) {
+                    thread = null;
+                    return;
+                }
+                current = sources.toArray(new Source[0]);
+            }
+            boolean read = false;
+            for (Source source : current) {
+                final int count = source.relay(buffer);
+                if (count > 0) {
+                    read = true;
+                } else if (count < 0) {
+                    synchronized (this) {
+                        sources.remove(source);
+                    }
+                } else if (source.hasExited()) {
+                    synchronized (this) {
+                        sources.remove(source);
+                    }
+                    final Thread drain = new Thread(source::drain, "Process output drain");
+                    drain.setDaemon(true);
+                    drain.start();
+                }
+            }
+            if (read) {
+                idleWait = MIN_IDLE_WAIT;
+            } else {
+                try {
+                    Thread.sleep(idleWait);
+                } catch (InterruptedException e) {
+                    // ignore, the thread ends once all processes are gone
+                }
+                idleWait = Math.min(idleWait * 2, MAX_IDLE_WAIT);
+            }
+        }
+    }
+
+    static final class Source {
+        private final String processName;
+        private final ProcessLogger log;
+        private final Process process;
+        private final InputStream stream;
+        private final PrintStream target;
+        private final long rateLimit;
+
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private final StringBuilder batch = new StringBuilder();
+        private String prevEscape = "";
+        private boolean skipLF;
+        private long allowance;
+        private long lastRefill;
+
+        Source(final String processName, final ProcessLogger log, final Process process, final InputStream stream,
+               final PrintStream target, final long rateLimit) {
+            this.processName = processName;
+            this.log = log;
+            this.process = process;
+            this.stream = stream;
+            this.target = target;
+            this.rateLimit = rateLimit;
+            this.allowance = rateLimit;
+            this.lastRefill = System.nanoTime();
+        }
+
+        /**
+         * Relays what the stream has available, up to the size of the buffer. Does not block.
+         *
+         * @return the number of bytes read, or {@code -1} if the stream is done
+         */
+        int relay(final byte[] buffer) {
+            try {
+                final int available = stream.available();
+                if (available <= 0) {
+                    return 0;
+                }
+                final int max = (int) Math.min(Math.min(available, buffer.length), getAllowance());
+                return max == 0 ? 0 : read(buffer, max);
+            } catch (IOException e) {
+                log.streamProcessingFailed(processName, e);
+                StreamUtils.safeClose(stream);
+                return -1;
+            }
+        }
+
+        boolean hasExited() {
+            return !process.isAlive();
+        }
+
+        /**
+         * Relays the rest of the stream until its end, blocking on reading it.
+         */
+        void drain() {
+            final byte[] buffer = new byte[CHUNK_SIZE];
+            try {
+                for (;;) {
+                    final int max = (int) Math.min(buffer.length, getAllowance());
+                    if (max == 0) {
+                        Thread.sleep(MAX_IDLE_WAIT);
+                    } else if (read(buffer, max) < 0) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                log.streamProcessingFailed(processName, e);
+                StreamUtils.safeClose(stream);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                finish();
+            }
+        }
+
+        private int read(final byte[] buffer, final int max) throws IOException {
+            final int count = stream.read(buffer, 0, max);
+            if (count < 0) {
+                finish();
+                return -1;
+            }
+            allowance -= count;
+            for (int i = 0; i < count; i++) {
+                append(buffer[i]);
+            }
+            flush();
+            return count;
+        }
+
+        private long getAllowance() {
+            if (rateLimit <= 0) {
+                return Long.MAX_VALUE;
+            }
+            final long now = System.nanoTime();
+            final long refill = (now - lastRefill) * rateLimit / 1_000_000_000L;
+            if (refill > 0) {
+                allowance = Math.min(rateLimit, allowance + refill);
+                lastRefill = now;
+            }
+            return allowance;
+        }
+
+        private void append(final byte b) {
+            // Lines end with \n, \r or \r\n, like for BufferedReader.readLine()
+            if (b == '\n') {
+                if (!skipLF) {
+                    completeLine();
+                }
+                skipLF = false;
+            } else if (b == '\r') {
+                completeLine();
+                skipLF = true;
+            } else {
+                skipLF = false;
+                line.write(b);
+            }
+        }
+
+        private void completeLine() {
+            final String s = new String(line.toByteArray(), StandardCharsets.UTF_8);
+            line.reset();
+
+            // Has ANSI?
+            int i = s.lastIndexOf('\033');
+            int j = i != -1 ? s.indexOf('m', i) : 0;
+
+            batch.append('[').append(processName).append("] ").append(prevEscape).append(s);
+            // Reset if there was ANSI
+            if (j != 0 || !prevEscape.isEmpty()) {
+                batch.append("\033[0m");
+            }
+            batch.append('\n');
+
+            // Remember escape code for the next line
+            if (j != 0) {
+                String escape = s.substring(i, j + 1);
+                if (!"\033[0m".equals(escape)) {
+                    prevEscape = escape;
+                } else {
+                    prevEscape = "";
+                }
+            }
+        }
+
+        private void flush() {
+            if (batch.length() > 0) {
+                final byte[] bytes = batch.toString().getBytes(StandardCharsets.UTF_8);
+                batch.setLength(0);
+                synchronized (target) {
+                    target.write(bytes, 0, bytes.length);
+                    target.flush();
+                }
+            }
+        }
+
+        private void finish() {
+            if (line.size() > 0) {
+                completeLine();
+            }
+            flush();
+            StreamUtils.safeClose(stream);
+        }
+    }
+}
@@ -68,6 +68,7 @@ public final class ProcessController {
 
     private final PrintStream stdout;
     private final PrintStream stderr;
+    private final OutputRelay outputRelay = new OutputRelay();
 
     public ProcessController(final ProtocolServer.Configuration configuration, final PrintStream stdout, final PrintStream stderr) throws IOException {
         this.stdout = stdout;
@@ -412,6 +413,10 @@ public final class ProcessController {
         return stderr;
     }
 
+    OutputRelay getOutputRelay() {
+        return outputRelay;
+    }
+
     private static final class Key {
         private final byte[] authKey;
         private final int hashCode;
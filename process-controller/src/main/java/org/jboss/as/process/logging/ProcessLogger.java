@@ -807,4 +807,8 @@ public interface ProcessLogger extends BasicLogger {
             "using java.lang.Process.destroyForcibly()")
     void destroyingProcess(String process, long timeout);
 
+    @LogMessage(level = WARN)
+    @Message(id = 68, value = "Invalid value '%s' for system property %s, using %s instead")
+    void invalidSystemPropertyValue(String value, String property, Object defaultValue);
+
 }
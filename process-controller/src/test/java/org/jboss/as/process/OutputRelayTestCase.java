@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.process;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.jboss.as.process.logging.ProcessLogger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link OutputRelay}.
+ */
+public class OutputRelayTestCase {
+
+    @Test
+    public void testLines() {
+        Assert.assertEquals("[test] a\n[test] b\n[test] \n[test] c\n", relay("a\nb\r\n\rc\n", false));
+    }
+
+    @Test
+    public void testPartialLine() {
+        // The rest of a line is held back while the process runs
+        Assert.assertEquals("[test] a\n", relay("a\nb", true));
+        Assert.assertEquals("[test] a\n[test] b\n", relay("a\nb", false));
+    }
+
+    @Test
+    public void testAnsi() {
+        Assert.assertEquals("[test] \033[31mred\033[0m\n[test] \033[31mstill red\033[0m\n[test] \033[31mdone\033[0m\033[0m\n[test] plain\n",
+                relay("\033[31mred\nstill red\ndone\033[0m\nplain\n", false));
+    }
+
+    @Test
+    public void testChunked() {
+        final StringBuilder input = new StringBuilder();
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            input.append("line ").append(i).append('\n');
+            expected.append("[test] line ").append(i).append('\n');
+        }
+        Assert.assertTrue(input.length() > OutputRelay.CHUNK_SIZE);
+        Assert.assertEquals(expected.toString(), relay(input.toString(), false));
+    }
+
+    @Test
+    public void testNothingAvailableAfterExit() {
+        // The rest of the stream of an exited process is drained until its end, whatever it reports as available
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final InputStream stream = new ByteArrayInputStream("a\nb".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int available() {
+                return 0;
+            }
+        };
+        final OutputRelay.Source source = new OutputRelay.Source("test", ProcessLogger.ROOT_LOGGER, new TestProcess(false),
+                stream, new PrintStream(target), 0);
+        final byte[] buffer = new byte[OutputRelay.CHUNK_SIZE];
+        Assert.assertEquals(0, source.relay(buffer));
+        Assert.assertTrue(source.hasExited());
+        source.drain();
+        Assert.assertEquals("[test] a\n[test] b\n", new String(target.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testExitedStreamHeldOpen() throws Exception {
+        // A child left running by an exited process may hold its stream open, which must not block the other streams
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final PrintStream printStream = new PrintStream(target);
+        try (PipedOutputStream heldOpen = new PipedOutputStream()) {
+            final OutputRelay relay = new OutputRelay(0);
+            relay.relay("exited", ProcessLogger.ROOT_LOGGER, new TestProcess(false), new PipedInputStream(heldOpen), printStream);
+            relay.relay("running", ProcessLogger.ROOT_LOGGER, new TestProcess(true),
+                    new ByteArrayInputStream("a\n".getBytes(StandardCharsets.UTF_8)), printStream);
+            final long deadline = System.currentTimeMillis() + 10_000;
+            String output;
+            do {
+                Thread.sleep(OutputRelay.MAX_IDLE_WAIT);
+                synchronized (printStream) {
+                    output = new String(target.toByteArray(), StandardCharsets.UTF_8);
+                }
+            } while (output.isEmpty() && System.currentTimeMillis() < deadline);
+            Assert.assertEquals("[running] a\n", output);
+        }
+    }
+
+    @Test
+    public void testRateLimit() {
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final OutputRelay.Source source = new OutputRelay.Source("test", ProcessLogger.ROOT_LOGGER, new TestProcess(true),
+                new ByteArrayInputStream("0123456789\n0123456789\n".getBytes(StandardCharsets.UTF_8)), new PrintStream(target), 11);
+        final byte[] buffer = new byte[OutputRelay.CHUNK_SIZE];
+        Assert.assertEquals(11, source.relay(buffer));
+        Assert.assertEquals(0, source.relay(buffer));
+        Assert.assertEquals("[test] 0123456789\n", new String(target.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static String relay(final String output, final boolean alive) {
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final OutputRelay.Source source = new OutputRelay.Source("test", ProcessLogger.ROOT_LOGGER, new TestProcess(alive),
+                new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)), new PrintStream(target), 0);
+        final byte[] buffer = new byte[OutputRelay.CHUNK_SIZE];
+        int count;
+        do {
+            count = source.relay(buffer);
+        } while (count > 0);
+        Assert.assertEquals(0, count);
+        if (!alive) {
+            source.drain();
+        }
+        return new String(target.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static final class TestProcess extends Process {
+        private final boolean alive;
+
+        private TestProcess(final boolean alive) {
+            this.alive = alive;
+        }
+
+        @Override
+        public boolean isAlive() {
+            return alive;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public int waitFor() {
+            return 0;
+        }
+
+        @Override
+        public int exitValue() {
+            return 0;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
@@ -23,13 +23,13 @@ package org.wildfly.extension.requestcontroller;
 
 import java.util.ArrayList;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -71,7 +71,7 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     private volatile boolean paused = false;
 
-    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new HashMap<>();
+    private final ConcurrentMap<ControlPointIdentifier, ControlPoint> entryPoints = new ConcurrentHashMap<>();
 
     private final InjectedValue<SuspendController> shutdownControllerInjectedValue = new InjectedValue<>();
 
@@ -91,7 +91,10 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     private Timer timer;
 
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    /**
+     * Tasks waiting for a permit. This is polled every time a request completes, so it must not use a lock.
+     */
+    private final Deque<QueuedTask> taskQueue = new ConcurrentLinkedDeque<>();
 
     /**
      * Pause the controller. All existing requests will have a chance to finish, and once all requests are
@@ -123,7 +126,9 @@ public class RequestController implements Service<RequestController>, ServerActi
             listenerUpdater.compareAndSet(this, listener, null);
         }
         while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
-            runQueuedTask(false);
+            if (!runQueuedTask(false)) {
+                break;
+            }
         }
     }
 
@@ -210,6 +215,18 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     RunResult beginRequest(boolean force) {
         int maxRequests = maxRequestCount;
+        if (maxRequests <= 0) {
+            if (paused && !force) {
+                return RunResult.REJECTED;
+            }
+            // No limit to enforce, so a single atomic add is enough to take the permit
+            activeRequestCountUpdater.incrementAndGet(this);
+            if (!force && paused) {
+                requestComplete();
+                return RunResult.REJECTED;
+            }
+            return RunResult.RUN;
+        }
         int active = activeRequestCountUpdater.get(this);
         boolean success = false;
         while ((maxRequests <= 0 || active < maxRequests) && (!paused || force)) {
@@ -264,15 +281,16 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param entryPointName The entry point name
      * @return The entry point, or null if the request controller is disabled
      */
-    public synchronized ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
+    public ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
         ControlPointIdentifier id = new ControlPointIdentifier(deploymentName, entryPointName);
-        ControlPoint ep = entryPoints.get(id);
-        if (ep == null) {
-            ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
-            entryPoints.put(id, ep);
-        }
-        ep.increaseReferenceCount();
-        return ep;
+        // The reference count is changed while the mapping is locked, so it cannot race with removeControlPoint
+        return entryPoints.compute(id, (key, ep) -> {
+            if (ep == null) {
+                ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
+            }
+            ep.increaseReferenceCount();
+            return ep;
+        });
     }
 
     /**
@@ -280,11 +298,9 @@ public class RequestController implements Service<RequestController>, ServerActi
      *
      * @param controlPoint The entry point
      */
-    public synchronized void removeControlPoint(ControlPoint controlPoint) {
-        if (controlPoint.decreaseReferenceCount() == 0) {
-            ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
-            entryPoints.remove(id);
-        }
+    public void removeControlPoint(ControlPoint controlPoint) {
+        ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
+        entryPoints.compute(id, (key, ep) -> controlPoint.decreaseReferenceCount() == 0 && ep == controlPoint ? null : ep);
     }
 
     /**
@@ -375,24 +391,25 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param hasPermit If the caller has already called {@link #beginRequest(boolean force)}
      */
     private boolean runQueuedTask(boolean hasPermit) {
-        if (!hasPermit && beginRequest(paused) == RunResult.REJECTED) {
-            return false;
-        }
-        QueuedTask task = null;
-        if (!paused) {
-            task = taskQueue.poll();
-        } else {
-            //the container is suspended, but we still need to run any force queued tasks
-            task = findForcedTask();
-        }
-        if (task != null) {
-            if(!task.runRequest()) {
-                decrementRequestCount();
+        for (;;) {
+            if (!hasPermit && beginRequest(paused) == RunResult.REJECTED) {
+                return false;
+            }
+            QueuedTask task;
+            //if the container is suspended we still need to run any force queued tasks
+            while ((task = paused ? findForcedTask() : taskQueue.poll()) != null) {
+                if (task.runRequest()) {
+                    return true;
+                }
+                //the task timed out while it was queued, so give the permit to the next one
             }
-            return true;
-        } else {
             decrementRequestCount();
-            return false;
+            //a task queued after we polled may have failed to get a permit before we released ours,
+            //in which case nobody else would run it until the next request completes
+            if (paused || taskQueue.isEmpty()) {
+                return false;
+            }
+            hasPermit = false;
         }
     }
 
@@ -0,0 +1,67 @@
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class RequestControllerUnitTestCase {
+
+    @Test
+    public void testUnlimitedRequests() {
+        RequestController rc = new RequestController(false);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(RunResult.RUN, rc.beginRequest(false));
+        }
+        assertEquals(10, rc.getActiveRequestCount());
+        for (int i = 0; i < 10; i++) {
+            rc.requestComplete();
+        }
+        assertEquals(0, rc.getActiveRequestCount());
+    }
+
+    @Test
+    public void testQueuedTasksRunInOrderAsPermitsAreReleased() {
+        RequestController rc = new RequestController(false);
+        rc.setMaxRequestCount(1);
+        assertEquals(RunResult.RUN, rc.beginRequest(false));
+        assertEquals(RunResult.REJECTED, rc.beginRequest(false));
+
+        List<Integer> executed = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final int taskNo = i;
+            rc.queueTask(null, null, task -> executed.add(taskNo), 0, null, false, false);
+        }
+        assertEquals(0, executed.size());
+
+        rc.requestComplete();
+        assertEquals(1, executed.size());
+        rc.requestComplete();
+        rc.requestComplete();
+        assertEquals(3, executed.size());
+        assertEquals(0, (int) executed.get(0));
+        assertEquals(2, (int) executed.get(2));
+
+        // the permit of the last task is released once no more tasks are queued
+        rc.requestComplete();
+        assertEquals(0, rc.getActiveRequestCount());
+    }
+
+    @Test
+    public void testControlPointsAreReferenceCounted() {
+        RequestController rc = new RequestController(false);
+        ControlPoint first = rc.getControlPoint("test.war", "web");
+        assertSame(first, rc.getControlPoint("test.war", "web"));
+
+        rc.removeControlPoint(first);
+        assertSame(first, rc.getControlPoint("test.war", "web"));
+        rc.removeControlPoint(first);
+        rc.removeControlPoint(first);
+
+        assertNotSame(first, rc.getControlPoint("test.war", "web"));
+    }
+}
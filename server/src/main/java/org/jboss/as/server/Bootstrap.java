@@ -217,6 +217,9 @@ public interface Bootstrap {
                             persister = new BackupXmlConfigurationPersister(configurationFile, rootElement, parser, parser,
                                     runningModeControl.isReloaded(), serverEnvironment.getLaunchType() == ServerEnvironment.LaunchType.EMBEDDED);
                         }
+                        // The operations StandaloneXml creates only depend on the file. Parsing also sets the declared
+                        // system properties and loads the extensions, which the parser replays on a cache hit
+                        persister.enableBootOperationCache(parser::handleCachedOperations);
                         for (Namespace namespace : Namespace.domainValues()) {
                             if (!namespace.equals(Namespace.CURRENT)) {
                                 persister.registerAdditionalRootElement(new QName(namespace.getUriString(), "server"), parser);
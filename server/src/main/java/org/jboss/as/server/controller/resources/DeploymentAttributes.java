@@ -59,6 +59,7 @@ import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.MinMaxValidator;
 import org.jboss.as.controller.operations.validation.ModelTypeValidator;
 import org.jboss.as.controller.operations.validation.ParameterValidator;
@@ -66,6 +67,7 @@ import org.jboss.as.controller.operations.validation.ParametersValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.OperationEntry.Flag;
+import org.jboss.as.repository.ContentChunker;
 import org.jboss.as.server.controller.descriptions.ServerDescriptions;
 import org.jboss.as.server.deployment.AbstractDeploymentUnitService;
 import org.jboss.as.server.logging.ServerLogger;
@@ -471,6 +473,35 @@ public class DeploymentAttributes {
             .addAccessConstraint(ApplicationTypeAccessConstraintDefinition.DEPLOYMENT)
             .build();
 
+    //Upload deployment chunks definitions
+    public static final String UPLOAD_DEPLOYMENT_CHUNKS = "upload-deployment-chunks";
+    public static final String READ_MISSING_DEPLOYMENT_CHUNKS = "read-missing-deployment-chunks";
+    public static final SimpleAttributeDefinition CHUNK_HASH = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.HASH, ModelType.BYTES, false)
+            .setValidator(new HashValidator(false))
+            .build();
+    public static final SimpleAttributeDefinition CHUNK_SIZE = SimpleAttributeDefinitionBuilder.create("size", ModelType.INT, false)
+            .setValidator(new IntRangeValidator(1, ContentChunker.MAX_CHUNK_SIZE))
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .build();
+    public static final ObjectListAttributeDefinition CHUNKS = ObjectListAttributeDefinition.Builder.of("chunks",
+                ObjectTypeAttributeDefinition.Builder.of("chunk", CHUNK_HASH, CHUNK_SIZE).build())
+            .setRequired(true)
+            .build();
+    public static final OperationDefinition UPLOAD_CHUNKS_DEFINITION = new SimpleOperationDefinitionBuilder(UPLOAD_DEPLOYMENT_CHUNKS, DEPLOYMENT_RESOLVER)
+            .setParameters(CHUNKS, INPUT_STREAM_INDEX_NOT_NULL)
+            .setReplyParameters(UPLOAD_HASH_REPLY)
+            .setRuntimeOnly()
+            .addAccessConstraint(ApplicationTypeAccessConstraintDefinition.DEPLOYMENT)
+            .build();
+    public static final OperationDefinition READ_MISSING_CHUNKS_DEFINITION = new SimpleOperationDefinitionBuilder(READ_MISSING_DEPLOYMENT_CHUNKS, DEPLOYMENT_RESOLVER)
+            .setParameters(CHUNKS)
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.BYTES)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .addAccessConstraint(ApplicationTypeAccessConstraintDefinition.DEPLOYMENT)
+            .build();
+
     //Replace deployment definition
     public static final Map<String, AttributeDefinition> REPLACE_DEPLOYMENT_ATTRIBUTES = createAttributeMap(NAME, TO_REPLACE, CONTENT_PARAM_ALL_NILLABLE, RUNTIME_NAME_NILLABLE);
     public static final OperationDefinition REPLACE_DEPLOYMENT_DEFINITION = new SimpleOperationDefinitionBuilder(ModelDescriptionConstants.REPLACE_DEPLOYMENT, DEPLOYMENT_RESOLVER)
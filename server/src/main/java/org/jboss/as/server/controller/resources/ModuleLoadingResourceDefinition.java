@@ -51,8 +51,10 @@ import org.jboss.as.controller.SimpleListAttributeDefinition;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.server.controller.descriptions.ServerDescriptions;
+import org.jboss.as.server.deployment.annotation.StaticModuleIndexCache;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.modules.LocalModuleFinder;
@@ -74,6 +76,23 @@ public class ModuleLoadingResourceDefinition extends SimpleResourceDefinition {
 
     private static final AttributeDefinition MODULE_NAME = new SimpleAttributeDefinitionBuilder(MODULE, ModelType.STRING).build();
 
+    private static final AttributeDefinition ANNOTATION_INDEX_CACHE_SIZE = new SimpleAttributeDefinitionBuilder("annotation-index-cache-size", ModelType.INT)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .build();
+    private static final AttributeDefinition ANNOTATION_INDEX_CACHE_HITS = new SimpleAttributeDefinitionBuilder("annotation-index-cache-hits", ModelType.LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
+    private static final AttributeDefinition ANNOTATION_INDEX_CACHE_MISSES = new SimpleAttributeDefinitionBuilder("annotation-index-cache-misses", ModelType.LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
+    private static final AttributeDefinition ANNOTATION_INDEX_CACHE_EVICTIONS = new SimpleAttributeDefinitionBuilder("annotation-index-cache-evictions", ModelType.LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
+
     public static final ModuleLoadingResourceDefinition INSTANCE = new ModuleLoadingResourceDefinition();
 
     private ModuleLoadingResourceDefinition() {
@@ -114,6 +133,37 @@ public class ModuleLoadingResourceDefinition extends SimpleResourceDefinition {
          resourceRegistration.registerOperationHandler(ModuleInfoHandler.DEFINITION, ModuleInfoHandler.INSTANCE);
     }
 
+    /**
+     * Registers the metrics of the {@link StaticModuleIndexCache} that a server's deployments share.
+     *
+     * @param resourceRegistration the registration of this resource in a server
+     */
+    public static void registerAnnotationIndexCacheMetrics(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerMetric(ANNOTATION_INDEX_CACHE_SIZE, new AnnotationIndexCacheMetricHandler());
+        resourceRegistration.registerMetric(ANNOTATION_INDEX_CACHE_HITS, new AnnotationIndexCacheMetricHandler());
+        resourceRegistration.registerMetric(ANNOTATION_INDEX_CACHE_MISSES, new AnnotationIndexCacheMetricHandler());
+        resourceRegistration.registerMetric(ANNOTATION_INDEX_CACHE_EVICTIONS, new AnnotationIndexCacheMetricHandler());
+    }
+
+    /** Read attribute handler for the annotation index cache metrics */
+    private static class AnnotationIndexCacheMetricHandler extends AbstractRuntimeOnlyHandler {
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+            final StaticModuleIndexCache cache = StaticModuleIndexCache.getInstance();
+            if (ANNOTATION_INDEX_CACHE_SIZE.getName().equals(name)) {
+                context.getResult().set(cache.getSize());
+            } else if (ANNOTATION_INDEX_CACHE_HITS.getName().equals(name)) {
+                context.getResult().set(cache.getHitCount());
+            } else if (ANNOTATION_INDEX_CACHE_MISSES.getName().equals(name)) {
+                context.getResult().set(cache.getMissCount());
+            } else if (ANNOTATION_INDEX_CACHE_EVICTIONS.getName().equals(name)) {
+                context.getResult().set(cache.getEvictionCount());
+            }
+        }
+    }
+
     /** Read attribute handler for "module-roots" */
     private static class ListModuleRootsHandler extends AbstractRuntimeOnlyHandler {
 
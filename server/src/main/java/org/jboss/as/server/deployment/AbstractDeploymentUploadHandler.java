@@ -65,7 +65,7 @@ public abstract class AbstractDeploymentUploadHandler implements OperationStepHa
 
             InputStream is = getContentInputStream(context, operation);
             try {
-                byte[] hash = contentRepository.addContent(is);
+                byte[] hash = addContent(contentRepository, operation, is);
                 context.getResult().set(hash);
             }
             finally {
@@ -77,6 +77,18 @@ public abstract class AbstractDeploymentUploadHandler implements OperationStepHa
         }
     }
 
+    /**
+     * Adds the uploaded content to the repository.
+     *
+     * @param contentRepository the repository
+     * @param operation the operation
+     * @param is the uploaded content
+     * @return the hash of the content
+     */
+    protected byte[] addContent(ContentRepository contentRepository, ModelNode operation, InputStream is) throws IOException, OperationFailedException {
+        return contentRepository.addContent(is);
+    }
+
     protected abstract InputStream getContentInputStream(OperationContext context, ModelNode operation) throws IOException, OperationFailedException;
 
     private static void safeClose(InputStream is) {
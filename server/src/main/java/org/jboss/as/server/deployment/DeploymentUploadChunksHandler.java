@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INPUT_STREAM_INDEX;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.access.Action;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.repository.ContentChunk;
+import org.jboss.as.repository.ContentChunker;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.controller.resources.DeploymentAttributes;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Handlers for uploading deployment content by sending only the chunks of it that the content repository does not
+ * already hold. The client splits the content with {@link ContentChunker}, asks which chunks are missing with the
+ * {@code read-missing-deployment-chunks} operation and then attaches only those to the
+ * {@code upload-deployment-chunks} operation.
+ */
+public class DeploymentUploadChunksHandler extends AbstractDeploymentUploadHandler {
+
+    private DeploymentUploadChunksHandler(final ContentRepository repository) {
+        super(repository, DeploymentAttributes.INPUT_STREAM_INDEX_NOT_NULL);
+    }
+
+    public static void register(final ManagementResourceRegistration registration, final ContentRepository repository) {
+        registration.registerOperationHandler(DeploymentAttributes.UPLOAD_CHUNKS_DEFINITION, new DeploymentUploadChunksHandler(repository));
+        registration.registerOperationHandler(DeploymentAttributes.READ_MISSING_CHUNKS_DEFINITION, new ReadMissingChunksHandler(repository));
+    }
+
+    @Override
+    protected InputStream getContentInputStream(OperationContext operationContext, ModelNode operation) throws IOException, OperationFailedException {
+        final int streamIndex = operation.require(INPUT_STREAM_INDEX).asInt();
+        final InputStream in = operationContext.getAttachmentStream(streamIndex);
+        if (in == null) {
+            throw ServerLogger.ROOT_LOGGER.nullStreamAttachment(streamIndex);
+        }
+        return in;
+    }
+
+    @Override
+    protected byte[] addContent(ContentRepository contentRepository, ModelNode operation, InputStream is) throws IOException, OperationFailedException {
+        DeploymentAttributes.CHUNKS.validateOperation(operation);
+        final List<ContentChunk> chunks = new ArrayList<>();
+        for (ModelNode chunk : operation.require(DeploymentAttributes.CHUNKS.getName()).asList()) {
+            chunks.add(new ContentChunk(chunk.require(DeploymentAttributes.CHUNK_HASH.getName()).asBytes(),
+                    chunk.require(DeploymentAttributes.CHUNK_SIZE.getName()).asInt()));
+        }
+        return contentRepository.addContent(chunks, is);
+    }
+
+    private static class ReadMissingChunksHandler implements OperationStepHandler {
+
+        private final ContentRepository contentRepository;
+
+        private ReadMissingChunksHandler(final ContentRepository contentRepository) {
+            this.contentRepository = contentRepository;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            DeploymentAttributes.CHUNKS.validateOperation(operation);
+            context.authorize(operation, EnumSet.of(Action.ActionEffect.READ_RUNTIME)).failIfDenied(operation, context.getCurrentAddress());
+            final List<byte[]> hashes = new ArrayList<>();
+            for (ModelNode chunk : operation.require(DeploymentAttributes.CHUNKS.getName()).asList()) {
+                hashes.add(chunk.require(DeploymentAttributes.CHUNK_HASH.getName()).asBytes());
+            }
+            final ModelNode result = context.getResult().setEmptyList();
+            for (byte[] hash : contentRepository.getMissingChunks(hashes)) {
+                result.add(hash);
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@
 package org.jboss.as.server.deployment;
 
 import java.lang.ref.WeakReference;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -97,6 +98,10 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         final DeploymentUnit deploymentUnit = new DeploymentUnitImpl(parent, name, registry);
         deploymentUnit.putAttachment(Attachments.MANAGEMENT_NAME, managementName);
         deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENTS, contentsSupplier.get());
+        final List<byte[]> hashes = DeploymentUtils.getDeploymentHash(resource);
+        if (hashes.size() == 1) {
+            deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENT_HASH, hashes.get(0));
+        }
         deploymentUnit.putAttachment(DeploymentResourceSupport.REGISTRATION_ATTACHMENT, registration);
         deploymentUnit.putAttachment(DeploymentResourceSupport.MUTABLE_REGISTRATION_ATTACHMENT, mutableRegistration);
         deploymentUnit.putAttachment(DeploymentResourceSupport.DEPLOYMENT_RESOURCE, resource);
@@ -22,12 +22,18 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.Services;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.DeploymentUtils;
 import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.msc.service.ServiceController;
 
 /**
  * Deployment unit processor responsible for creating and attaching an annotation index for a resource root
@@ -37,6 +43,20 @@ import org.jboss.as.server.deployment.module.ResourceRoot;
  */
 public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
 
+    private final ContentRepository contentRepository;
+
+    public AnnotationIndexProcessor() {
+        this(null);
+    }
+
+    /**
+     * @param contentRepository the content repository, used to remove cached indexes of content it no longer has.
+     *                          May be {@code null}
+     */
+    public AnnotationIndexProcessor(final ContentRepository contentRepository) {
+        this.contentRepository = contentRepository;
+    }
+
     /**
      * Process this deployment for annotations.  This will use an annotation indexer to create an index of all annotations
      * found in this deployment and attach it to the deployment unit context.
@@ -47,9 +67,10 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
      */
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
-        for (ResourceRoot resourceRoot : DeploymentUtils.allResourceRoots(deploymentUnit)) {
-            ResourceRootIndexer.indexResourceRoot(resourceRoot);
-        }
+        final List<ResourceRoot> resourceRoots = DeploymentUtils.allResourceRoots(deploymentUnit);
+        final ServiceController<?> executor = phaseContext.getServiceRegistry().getService(Services.JBOSS_SERVER_EXECUTOR);
+        ResourceRootIndexer.indexResourceRoots(resourceRoots, ResourceRootIndexCache.forDeployment(deploymentUnit, contentRepository),
+                executor != null ? (ExecutorService) executor.getValue() : null);
     }
 
 }
@@ -42,7 +42,8 @@ import org.wildfly.common.Assert;
 
 /**
  * Utility class used by {@link CompositeIndexProcessor} to assist with
- * processing annotation indices for a deployment.
+ * processing annotation indices for a deployment. Indices not already held by this object are
+ * obtained from the process-wide {@link StaticModuleIndexCache}.
  */
 public final class AnnotationIndexSupport {
 
@@ -104,11 +105,31 @@ public final class AnnotationIndexSupport {
         return lock;
     }
 
+    /**
+     * Gets the annotation indices for the resources in the module with the given id, using the process-wide
+     * {@link StaticModuleIndexCache} if it has them and storing them there otherwise.
+     */
     static CompositeIndex indexModule(String moduleIdentifier, ModuleLoader moduleLoader) throws DeploymentUnitProcessingException {
+        try {
+            final Module module = moduleLoader.loadModule(moduleIdentifier);
+            final StaticModuleIndexCache sharedCache = StaticModuleIndexCache.getInstance();
+            CompositeIndex result = sharedCache.get(moduleIdentifier, module);
+            if (result != null) {
+                ServerLogger.DEPLOYMENT_LOGGER.debugf("Using shared annotation indices for static module %s", moduleIdentifier);
+            } else {
+                result = indexModule(moduleIdentifier, module);
+                sharedCache.put(moduleIdentifier, module, result);
+            }
+            return result;
+        } catch (ModuleLoadException e) {
+            throw ServerLogger.DEPLOYMENT_LOGGER.staticModuleIndexingFailed(moduleIdentifier, e);
+        }
+    }
+
+    private static CompositeIndex indexModule(String moduleIdentifier, Module module) throws DeploymentUnitProcessingException {
         ServerLogger.DEPLOYMENT_LOGGER.debugf("Creating annotation index for static module %s", moduleIdentifier);
         try {
             CompositeIndex result;
-            Module module = moduleLoader.loadModule(moduleIdentifier);
             // If the module resources include any MANIFEST/jandex.idx files, we only index those resources
             // A module with any jandex.idx files must have them in all resources where index calculation is wanted.
             final CompositeIndex additionalIndex = ModuleIndexBuilder.buildCompositeIndex(module);
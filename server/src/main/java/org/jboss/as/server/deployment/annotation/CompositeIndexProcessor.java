@@ -126,8 +126,8 @@ public class CompositeIndexProcessor implements DeploymentUnitProcessor {
                     externalModuleIndexes = annotationIndexSupport.getAnnotationIndices(moduleIdentifier.toString(), moduleLoader);
                 } else {
                     // This implies the DeploymentUnitService was restarted after the original operation that held
-                    // the strong ref to the AnnotationIndexSupport. So we can't benefit from caching. Just calculate
-                    // the indices without worrying about caching.
+                    // the strong ref to the AnnotationIndexSupport. So we can't benefit from its caching. Just use
+                    // the process-wide cache.
                     externalModuleIndexes = AnnotationIndexSupport.indexModule(moduleIdentifier.toString(), moduleLoader);
                 }
                 indexes.addAll(externalModuleIndexes.indexes);
@@ -0,0 +1,307 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.repository.PathUtil;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.DeploymentUtils;
+import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.vfs.VirtualFile;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * On-disk cache of the annotation indexes generated for the resource roots of managed deployment content.
+ * <p>
+ * Entries are grouped by the content repository hash of the deployment. Within that, they are keyed by the Jandex
+ * version, the hashes of any deployment overlays that apply to the deployment and the path of the resource root
+ * within the deployment, so unchanged content can be redeployed, or the server restarted, without scanning its
+ * classes again. Only the entries for the latest Jandex version and overlays of some content are kept, and the
+ * entries of content that is no longer in the content repository are removed when a deployment is processed.
+ */
+final class ResourceRootIndexCache {
+
+    /** System property that can be set to {@code false} to disable the cache. */
+    static final String ENABLED_PROPERTY = "org.jboss.as.server.deployment.annotation.index-cache";
+
+    static final String CACHE_DIR = "annotation-index";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final Pattern HEX_HASH = Pattern.compile("(?:[0-9a-f]{2})+");
+    private static final String JANDEX_VERSION = getJandexVersion();
+
+    private final Path directory;
+    private final VirtualFile deploymentRoot;
+
+    private ResourceRootIndexCache(final Path directory, final VirtualFile deploymentRoot) {
+        this.directory = directory;
+        this.deploymentRoot = deploymentRoot;
+    }
+
+    /**
+     * Gets the cache for the given deployment. For a top level deployment, this also removes the entries of content
+     * that is no longer in the content repository.
+     *
+     * @param deploymentUnit the deployment unit, or one of its subdeployments
+     * @param contentRepository the content repository. May be {@code null}, in which case no entries are removed
+     * @return the cache, or {@code null} if the deployment's annotation indexes cannot be cached
+     */
+    static ResourceRootIndexCache forDeployment(final DeploymentUnit deploymentUnit, final ContentRepository contentRepository) {
+        if (!Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ENABLED_PROPERTY, "true"))) {
+            return null;
+        }
+        final DeploymentUnit top = DeploymentUtils.getTopDeploymentUnit(deploymentUnit);
+        final byte[] contentHash = top.getAttachment(Attachments.DEPLOYMENT_CONTENT_HASH);
+        final PathManager pathManager = top.getAttachment(Attachments.PATH_MANAGER);
+        final VirtualFile deploymentRoot = top.getAttachment(Attachments.DEPLOYMENT_CONTENTS);
+        if (contentHash == null || pathManager == null || deploymentRoot == null) {
+            return null;
+        }
+        try {
+            final Path cacheDir = Paths.get(pathManager.resolveRelativePathEntry(CACHE_DIR, ServerEnvironment.SERVER_DATA_DIR));
+            if (contentRepository != null && deploymentUnit == top) {
+                prune(cacheDir, contentRepository::hasContent);
+            }
+            final DeploymentOverlayIndex overlayIndex = top.getAttachment(Attachments.DEPLOYMENT_OVERLAY_INDEX);
+            final Map<String, byte[]> overlays = overlayIndex == null ? Collections.emptyMap() : overlayIndex.getOverlays(top.getName());
+            return create(cacheDir, contentHash, overlays, JANDEX_VERSION, deploymentRoot);
+        } catch (RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Annotation index cache unavailable for %s", top.getName());
+            return null;
+        }
+    }
+
+    /**
+     * Creates the cache for some deployment content.
+     *
+     * @param cacheDir the directory holding the cached indexes of all content
+     * @param contentHash the content repository hash of the deployment
+     * @param overlays the hashes of the deployment overlays that apply to the deployment, keyed by path
+     * @param jandexVersion the version of Jandex reading and writing the indexes
+     * @param deploymentRoot the root of the deployment
+     * @return the cache, or {@code null} if the SHA-1 algorithm is not available
+     */
+    static ResourceRootIndexCache create(final Path cacheDir, final byte[] contentHash, final Map<String, byte[]> overlays,
+                                         final String jandexVersion, final VirtualFile deploymentRoot) {
+        final MessageDigest digest = createDigest();
+        if (digest == null) {
+            return null;
+        }
+        // An index written by another Jandex version may be in a different format
+        digest.update(jandexVersion.getBytes(UTF_8));
+        // Overlays change the content of the deployment without changing its hash
+        for (Map.Entry<String, byte[]> entry : new TreeMap<>(overlays).entrySet()) {
+            digest.update(entry.getKey().getBytes(UTF_8));
+            digest.update(entry.getValue());
+        }
+        final Path contentDir = cacheDir.resolve(HashUtil.bytesToHexString(contentHash));
+        final Path directory = contentDir.resolve(HashUtil.bytesToHexString(digest.digest()));
+        removeStaleEntries(contentDir, directory);
+        return new ResourceRootIndexCache(directory, deploymentRoot);
+    }
+
+    /**
+     * Reads the cached index of a resource root.
+     *
+     * @param resourceRoot the resource root
+     * @return the index, or {@code null} if none is cached
+     */
+    Index read(final ResourceRoot resourceRoot) {
+        final Path file = getIndexFile(resourceRoot);
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            final Index index = new IndexReader(in).read();
+            ServerLogger.DEPLOYMENT_LOGGER.tracef("Read cached index for %s from %s", resourceRoot.getRoot(), file);
+            return index;
+        } catch (Exception e) {
+            ServerLogger.DEPLOYMENT_LOGGER.cannotLoadAnnotationIndex(file.toString(), e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Stores the index of a resource root. Failures are logged and otherwise ignored.
+     *
+     * @param resourceRoot the resource root
+     * @param index the index
+     */
+    void store(final ResourceRoot resourceRoot, final Index index) {
+        final Path file = getIndexFile(resourceRoot);
+        if (file == null) {
+            return;
+        }
+        Path tmp = null;
+        try {
+            Files.createDirectories(directory);
+            tmp = Files.createTempFile(directory, "index", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                new IndexWriter(out).write(index);
+            }
+            // Concurrent deployments of the same content write identical files, so last one wins
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.cannotStoreAnnotationIndex(resourceRoot.getRoot().getPathName(), file.toString(), e);
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // nothing more we can do
+                }
+            }
+        }
+    }
+
+    private Path getIndexFile(final ResourceRoot resourceRoot) {
+        final VirtualFile root = resourceRoot.getRoot();
+        final String relativePath;
+        if (root.equals(deploymentRoot)) {
+            relativePath = "";
+        } else {
+            try {
+                relativePath = root.getPathNameRelativeTo(deploymentRoot);
+            } catch (IllegalArgumentException e) {
+                // Not part of the deployment content, e.g. an external resource root
+                return null;
+            }
+        }
+        final StringBuilder key = new StringBuilder(relativePath);
+        final List<String> ignoredPaths = resourceRoot.getAttachment(Attachments.INDEX_IGNORE_PATHS);
+        if (ignoredPaths != null) {
+            for (String ignored : ignoredPaths) {
+                key.append('\0').append(ignored);
+            }
+        }
+        final MessageDigest digest = createDigest();
+        if (digest == null) {
+            return null;
+        }
+        return directory.resolve(HashUtil.bytesToHexString(digest.digest(key.toString().getBytes(UTF_8))) + INDEX_SUFFIX);
+    }
+
+    /**
+     * Removes the cached indexes of content that is no longer referenced.
+     *
+     * @param cacheDir the directory holding the cached indexes of all content
+     * @param referenced tests whether content, given by its hash, is still referenced
+     */
+    static void prune(final Path cacheDir, final Predicate<byte[]> referenced) {
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir)) {
+            for (Path dir : stream) {
+                final String name = dir.getFileName().toString();
+                if (!HEX_HASH.matcher(name).matches() || !referenced.test(HashUtil.hexStringToByteArray(name))) {
+                    ServerLogger.DEPLOYMENT_LOGGER.tracef("Removing cached annotation indexes %s", dir);
+                    PathUtil.deleteSilentlyRecursively(dir);
+                }
+            }
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed removing unused annotation indexes from %s", cacheDir);
+        }
+    }
+
+    private static void removeStaleEntries(final Path contentDir, final Path current) {
+        if (!Files.isDirectory(contentDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(contentDir)) {
+            for (Path dir : stream) {
+                if (!dir.equals(current)) {
+                    PathUtil.deleteSilentlyRecursively(dir);
+                }
+            }
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed removing stale annotation indexes from %s", contentDir);
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the version of the Jandex library, along with the version of the index format it writes.
+     */
+    private static String getJandexVersion() {
+        String version = Index.class.getPackage().getImplementationVersion();
+        if (version == null) {
+            try (InputStream in = Index.class.getResourceAsStream("/META-INF/maven/io.smallrye/jandex/pom.properties")) {
+                if (in != null) {
+                    final Properties properties = new Properties();
+                    properties.load(in);
+                    version = properties.getProperty("version");
+                }
+            } catch (IOException ignored) {
+                // use the format version alone
+            }
+        }
+        int formatVersion = -1;
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new IndexWriter(out).write(Index.of(Collections.emptyList()));
+            formatVersion = new IndexReader(new ByteArrayInputStream(out.toByteArray())).getIndexVersion();
+        } catch (IOException | RuntimeException ignored) {
+            // use the library version alone
+        }
+        return version + '/' + formatVersion;
+    }
+}
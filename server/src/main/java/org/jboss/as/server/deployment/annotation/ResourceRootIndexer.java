@@ -23,9 +23,16 @@
 package org.jboss.as.server.deployment.annotation;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.deployment.Attachments;
@@ -40,16 +47,93 @@ import org.jboss.vfs.VirtualFile;
 import org.jboss.vfs.VirtualFileFilter;
 import org.jboss.vfs.VisitorAttributes;
 import org.jboss.vfs.util.SuffixMatchFilter;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Utility class for indexing a resource root
  */
 public class ResourceRootIndexer {
 
+    /** System property setting the maximum number of resource roots that are indexed concurrently. */
+    static final String THREADS_PROPERTY = "org.jboss.as.server.deployment.annotation.index-threads";
+
+    private static final int PARALLELISM = getParallelism();
+
     /**
      * Creates and attaches the annotation index to a resource root, if it has not already been attached
      */
     public static void indexResourceRoot(final ResourceRoot resourceRoot) throws DeploymentUnitProcessingException {
+        indexResourceRoot(resourceRoot, null);
+    }
+
+    /**
+     * Creates and attaches the annotation indexes to the given resource roots, if they have not already been attached.
+     * If there is more than one root and an executor is given, the roots are indexed concurrently by the calling thread
+     * and up to {@code index-threads - 1} tasks submitted to the executor.
+     *
+     * @param resourceRoots the resource roots
+     * @param cache cache of previously generated indexes. May be {@code null}
+     * @param executor the executor for the indexing tasks. May be {@code null}, in which case the roots are indexed by the calling thread
+     */
+    static void indexResourceRoots(final List<ResourceRoot> resourceRoots, final ResourceRootIndexCache cache,
+                                   final ExecutorService executor) throws DeploymentUnitProcessingException {
+        final int parallelism = Math.min(resourceRoots.size(), PARALLELISM);
+        // Executor threads would not run with the deployment's permissions, so don't use them under a security manager
+        if (executor == null || parallelism < 2 || WildFlySecurityManager.isChecking()) {
+            for (ResourceRoot resourceRoot : resourceRoots) {
+                indexResourceRoot(resourceRoot, cache);
+            }
+            return;
+        }
+        // Each task takes the next root that is not yet indexed, until all are taken
+        final AtomicInteger next = new AtomicInteger();
+        final Callable<Void> task = () -> {
+            for (int i = next.getAndIncrement(); i < resourceRoots.size(); i = next.getAndIncrement()) {
+                indexResourceRoot(resourceRoots.get(i), cache);
+            }
+            return null;
+        };
+        final List<Future<Void>> tasks = new ArrayList<>(parallelism - 1);
+        try {
+            for (int i = 1; i < parallelism; i++) {
+                tasks.add(executor.submit(task));
+            }
+        } catch (RejectedExecutionException e) {
+            // the calling thread indexes what the submitted tasks don't
+        }
+        DeploymentUnitProcessingException failure = null;
+        try {
+            task.call();
+        } catch (Exception e) {
+            failure = toProcessingException(e);
+        }
+        for (Future<Void> submitted : tasks) {
+            try {
+                submitted.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = toProcessingException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                next.set(resourceRoots.size());
+                for (Future<Void> toCancel : tasks) {
+                    toCancel.cancel(false);
+                }
+                throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static DeploymentUnitProcessingException toProcessingException(final Throwable t) {
+        return t instanceof DeploymentUnitProcessingException ? (DeploymentUnitProcessingException) t
+                : ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(t);
+    }
+
+    static void indexResourceRoot(final ResourceRoot resourceRoot, final ResourceRootIndexCache cache) throws DeploymentUnitProcessingException {
         if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
             return;
         }
@@ -80,6 +164,14 @@ public class ResourceRootIndexer {
             indexIgnorePaths = null;
         }
 
+        if (cache != null) {
+            final Index cached = cache.read(resourceRoot);
+            if (cached != null) {
+                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, cached);
+                return;
+            }
+        }
+
         final VirtualFile virtualFile = resourceRoot.getRoot();
         final Indexer indexer = new Indexer();
         try {
@@ -106,8 +198,27 @@ public class ResourceRootIndexer {
             final Index index = indexer.complete();
             resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
             ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", virtualFile);
+            if (cache != null) {
+                cache.store(resourceRoot, index);
+            }
         } catch (Throwable t) {
             throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(t);
         }
     }
+
+    private static int getParallelism() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(THREADS_PROPERTY, null);
+        if (value != null) {
+            try {
+                final int result = Integer.parseInt(value.trim());
+                if (result >= 0) {
+                    return result;
+                }
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+            ServerLogger.ROOT_LOGGER.invalidPoolSize(value, THREADS_PROPERTY);
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.SystemPropertyUtil;
+import org.jboss.modules.Module;
+
+/**
+ * Process-wide cache of the annotation indices of static modules, shared by all deployments that
+ * depend on the same module. Unlike {@link AnnotationIndexSupport}, which only lives as long as the management
+ * operation that deploys, this lets later deployments reuse the indices.
+ * <p>
+ * The cache holds at most a configurable number of entries, evicting the least recently used ones, and the indices
+ * are only softly referenced so they can be reclaimed under memory pressure. An entry is only used for the
+ * {@link Module} instance it was created from, so a module that is reloaded from different resources is indexed again.
+ */
+public final class StaticModuleIndexCache {
+
+    /** System property setting the maximum number of modules whose indices are cached. */
+    static final String MAX_SIZE_PROPERTY = "org.jboss.as.server.deployment.annotation.static-module-index-cache-size";
+
+    private static final StaticModuleIndexCache INSTANCE = new StaticModuleIndexCache(
+            SystemPropertyUtil.getInt(MAX_SIZE_PROPERTY, 100, 0));
+
+    /**
+     * Gets the cache used by this process.
+     *
+     * @return the cache. Will not be {@code null}
+     */
+    public static StaticModuleIndexCache getInstance() {
+        return INSTANCE;
+    }
+
+    private final int maxSize;
+    private final Map<String, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    StaticModuleIndexCache(final int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                boolean remove = size() > StaticModuleIndexCache.this.maxSize;
+                if (remove) {
+                    evictions.incrementAndGet();
+                }
+                return remove;
+            }
+        };
+    }
+
+    /**
+     * Gets the cached indices for a module.
+     *
+     * @param moduleId the id of the module
+     * @param module the currently loaded module with that id
+     * @return the indices, or {@code null} if none are cached for {@code module}
+     */
+    CompositeIndex get(final String moduleId, final Module module) {
+        CompositeIndex result = null;
+        synchronized (entries) {
+            final Entry entry = entries.get(moduleId);
+            if (entry != null) {
+                if (entry.module.get() == module) {
+                    result = entry.index.get();
+                }
+                if (result == null) {
+                    entries.remove(moduleId);
+                }
+            }
+        }
+        (result == null ? misses : hits).incrementAndGet();
+        return result;
+    }
+
+    /**
+     * Caches the indices for a module.
+     *
+     * @param moduleId the id of the module
+     * @param module the module that was indexed
+     * @param index the indices
+     */
+    void put(final String moduleId, final Module module, final CompositeIndex index) {
+        if (maxSize <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(moduleId, new Entry(module, index));
+        }
+    }
+
+    /**
+     * Gets the number of modules whose indices are currently cached, not counting entries whose indices
+     * have been reclaimed by the garbage collector.
+     *
+     * @return the number of cached entries
+     */
+    public int getSize() {
+        int size = 0;
+        synchronized (entries) {
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                Entry entry = it.next();
+                if (entry.index.get() == null || entry.module.get() == null) {
+                    it.remove();
+                } else {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    private static final class Entry {
+        private final WeakReference<Module> module;
+        private final SoftReference<CompositeIndex> index;
+
+        private Entry(final Module module, final CompositeIndex index) {
+            this.module = new WeakReference<>(module);
+            this.index = new SoftReference<>(index);
+        }
+    }
+}
@@ -1404,6 +1404,10 @@ public interface ServerLogger extends BasicLogger {
     @Message(id = 291, value = "The error cause is unknown at this thread. Check other log messages and caller to know the possible cause.")
     IllegalStateException throwableIsNull();
 
+    @LogMessage(level = WARN)
+    @Message(id = 292, value = "Could not store the annotation index for %s in %s")
+    void cannotStoreAnnotationIndex(String resourceRoot, String indexFile, @Cause Throwable cause);
+
     ////////////////////////////////////////////////
     //Messages without IDs
 
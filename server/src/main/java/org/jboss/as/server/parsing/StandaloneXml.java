@@ -133,6 +133,20 @@ public final class StandaloneXml implements XMLElementReader<List<ModelNode>>, X
         }
     }
 
+    /**
+     * Replays the side effects of parsing a configuration file for operations read from the boot operation cache
+     * instead: sets the system properties the configuration declares and then loads its extensions, in the order
+     * parsing does.
+     *
+     * @param operations the cached operations
+     * @throws XMLStreamException if an extension module cannot be loaded
+     */
+    public void handleCachedOperations(final List<ModelNode> operations) throws XMLStreamException {
+        SystemPropertiesXml.setParseTimeProperties(operations);
+        new ExtensionXml(deferredExtensionContext).loadExtensions(operations);
+        deferredExtensionContext.load();
+    }
+
     @Override
     public void writeContent(final XMLExtendedStreamWriter writer, final ModelMarshallingContext context)
             throws XMLStreamException {
@@ -25,6 +25,7 @@ package org.jboss.as.server.parsing;
 import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BOOT_TIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SYSTEM_PROPERTY;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
@@ -43,6 +44,7 @@ import javax.xml.stream.XMLStreamException;
 
 import org.jboss.as.controller.ExpressionResolver;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.parsing.Element;
@@ -70,6 +72,24 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  */
 class SystemPropertiesXml {
 
+    /**
+     * Sets the system properties added by the given operations, as parsing a standalone server's
+     * {@code system-properties} element does. Used for operations read from the boot operation cache.
+     *
+     * @param operations the operations
+     */
+    static void setParseTimeProperties(final List<ModelNode> operations) {
+        Properties properties = WildFlySecurityManager.getSystemPropertiesPrivileged();
+        for (ModelNode op : operations) {
+            if (op.hasDefined(OP) && SystemPropertyAddHandler.OPERATION_NAME.equals(op.get(OP).asString())) {
+                PathAddress address = PathAddress.pathAddress(op.get(OP_ADDR));
+                if (address.size() == 1 && SYSTEM_PROPERTY.equals(address.getLastElement().getKey())) {
+                    setParseTimeProperty(address.getLastElement().getValue(), op, properties, true);
+                }
+            }
+        }
+    }
+
     void parseSystemProperties(final XMLExtendedStreamReader reader, final ModelNode address,
             final Namespace expectedNs, final List<ModelNode> updates, boolean standalone) throws XMLStreamException {
 
@@ -137,34 +157,38 @@ class SystemPropertiesXml {
                 throw ParseUtils.missingRequired(reader, Collections.singleton(NAME));
             }
 
-            AtomicReference<String> newPropertyValue = null;
-            try {
-                String resolved = SystemPropertyResourceDefinition.VALUE.resolveValue(ExpressionResolver.EXTENSION_REJECTING, op.get(VALUE)).asStringOrNull();
-                newPropertyValue = new AtomicReference<>(resolved);
-                String oldPropertyValue = properties.getProperty(name);
-                if (oldPropertyValue != null && !oldPropertyValue.equals(resolved)) {
-                    ControllerLogger.ROOT_LOGGER.systemPropertyAlreadyExist(name);
-                }
-            } catch (OperationFailedException | ExpressionResolver.ExpressionResolutionUserException | ExpressionResolver.ExpressionResolutionServerException e) {
-                ServerLogger.AS_ROOT_LOGGER.tracef(e, "Failed to resolve value for system property %s at parse time.", name);
+            setParseTimeProperty(name, op, properties, standalone);
+
+            updates.add(op);
+        }
+    }
+
+    private static void setParseTimeProperty(final String name, final ModelNode op, final Properties properties, final boolean standalone) {
+        AtomicReference<String> newPropertyValue = null;
+        try {
+            String resolved = SystemPropertyResourceDefinition.VALUE.resolveValue(ExpressionResolver.EXTENSION_REJECTING, op.get(VALUE)).asStringOrNull();
+            newPropertyValue = new AtomicReference<>(resolved);
+            String oldPropertyValue = properties.getProperty(name);
+            if (oldPropertyValue != null && !oldPropertyValue.equals(resolved)) {
+                ControllerLogger.ROOT_LOGGER.systemPropertyAlreadyExist(name);
             }
+        } catch (OperationFailedException | ExpressionResolver.ExpressionResolutionUserException | ExpressionResolver.ExpressionResolutionServerException e) {
+            ServerLogger.AS_ROOT_LOGGER.tracef(e, "Failed to resolve value for system property %s at parse time.", name);
+        }
 
-            if(standalone) {
-                //eagerly set the property so it can potentially be used by jboss modules
-                //only do this for standalone servers
-                if (newPropertyValue != null) {
-                    String val = newPropertyValue.get();
-                    if (val != null) {
-                        System.setProperty(name, newPropertyValue.get());
-                    } else {
-                        System.clearProperty(name);
-                    }
+        if(standalone) {
+            //eagerly set the property so it can potentially be used by jboss modules
+            //only do this for standalone servers
+            if (newPropertyValue != null) {
+                String val = newPropertyValue.get();
+                if (val != null) {
+                    System.setProperty(name, newPropertyValue.get());
                 } else {
-                    ServerLogger.AS_ROOT_LOGGER.tracef("Failed to set property %s at parse time, it will be set later in the boot process", name);
+                    System.clearProperty(name);
                 }
+            } else {
+                ServerLogger.AS_ROOT_LOGGER.tracef("Failed to set property %s at parse time, it will be set later in the boot process", name);
             }
-
-            updates.add(op);
         }
     }
 
@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.jboss.as.repository.PathUtil;
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ResourceRootIndexCache}.
+ */
+public class ResourceRootIndexCacheTestCase {
+
+    private static final byte[] CONTENT = {1, 2, 3, 4};
+    private static final byte[] OTHER_CONTENT = {5, 6, 7, 8};
+    private static final String JANDEX = "3.0.5/11";
+    private static final Map<String, byte[]> NO_OVERLAYS = Collections.emptyMap();
+
+    private Path dir;
+    private Path cacheDir;
+    private VirtualFile deploymentRoot;
+    private ResourceRoot root;
+    private ResourceRoot lib;
+    private Index index;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("annotation-index");
+        cacheDir = dir.resolve(ResourceRootIndexCache.CACHE_DIR);
+        final Path deployment = Files.createDirectories(dir.resolve("test.war"));
+        Files.createDirectories(deployment.resolve("WEB-INF/lib/lib.jar"));
+        deploymentRoot = VFS.getChild(deployment.toUri());
+        root = new ResourceRoot(deploymentRoot, null);
+        lib = new ResourceRoot(deploymentRoot.getChild("WEB-INF/lib/lib.jar"), null);
+        index = Index.of(ResourceRootIndexCacheTestCase.class);
+    }
+
+    @After
+    public void tearDown() {
+        PathUtil.deleteSilentlyRecursively(dir);
+    }
+
+    @Test
+    public void testHit() throws Exception {
+        final ResourceRootIndexCache cache = ResourceRootIndexCache.create(cacheDir, CONTENT, NO_OVERLAYS, JANDEX, deploymentRoot);
+        cache.store(root, index);
+        cache.store(lib, Index.of(Collections.emptyList()));
+
+        final ResourceRootIndexCache redeployed = ResourceRootIndexCache.create(cacheDir, CONTENT, NO_OVERLAYS, JANDEX, deploymentRoot);
+        final Index cached = redeployed.read(root);
+        Assert.assertNotNull(cached);
+        Assert.assertNotNull(cached.getClassByName(DotName.createSimple(ResourceRootIndexCacheTestCase.class.getName())));
+        Assert.assertNotNull(redeployed.read(lib));
+        Assert.assertTrue(redeployed.read(lib).getKnownClasses().isEmpty());
+    }
+
+    @Test
+    public void testMiss() throws Exception {
+        final ResourceRootIndexCache cache = ResourceRootIndexCache.create(cacheDir, CONTENT, NO_OVERLAYS, JANDEX, deploymentRoot);
+        Assert.assertNull(cache.read(root));
+        cache.store(root, index);
+        Assert.assertNull(cache.read(lib));
+
+        // The same root with other paths ignored is indexed differently
+        final ResourceRoot ignoring = new ResourceRoot(deploymentRoot, null);
+        ignoring.addToAttachmentList(Attachments.INDEX_IGNORE_PATHS, "org/jboss");
+        Assert.assertNull(cache.read(ignoring));
+
+        // Roots outside the deployment are not cached
+        final ResourceRoot external = new ResourceRoot(VFS.getChild(dir.toUri()), null);
+        cache.store(external, index);
+        Assert.assertNull(cache.read(external));
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        ResourceRootIndexCache.create(cacheDir, CONTENT, NO_OVERLAYS, JANDEX, deploymentRoot).store(root, index);
+
+        Assert.assertNull(ResourceRootIndexCache.create(cacheDir, OTHER_CONTENT, NO_OVERLAYS, JANDEX, deploymentRoot).read(root));
+        final Map<String, byte[]> overlays = Collections.singletonMap("WEB-INF/web.xml", OTHER_CONTENT);
+        Assert.assertNull(ResourceRootIndexCache.create(cacheDir, CONTENT, overlays, JANDEX, deploymentRoot).read(root));
+        // Only the latest entries of some content are kept
+        Assert.assertNull(ResourceRootIndexCache.create(cacheDir, CONTENT, NO_OVERLAYS, JANDEX, deploymentRoot).read(root));
+
+        ResourceRootIndexCache.create(cacheDir, CONTENT, NO_OVERLAYS, JANDEX, deploymentRoot).store(root, index);
+        Assert.assertNull(ResourceRootIndexCache.create(cacheDir, CONTENT, NO_OVERLAYS, "3.1.0/12", deploymentRoot).read(root));
+    }
+
+    @Test
+    public void testPrune() throws Exception {
+        ResourceRootIndexCache.create(cacheDir, CONTENT, NO_OVERLAYS, JANDEX, deploymentRoot).store(root, index);
+        ResourceRootIndexCache.create(cacheDir, OTHER_CONTENT, NO_OVERLAYS, JANDEX, deploymentRoot).store(root, index);
+        Files.createDirectories(cacheDir.resolve("not-a-hash"));
+
+        ResourceRootIndexCache.prune(cacheDir, hash -> hash[0] == CONTENT[0]);
+
+        Assert.assertNotNull(ResourceRootIndexCache.create(cacheDir, CONTENT, NO_OVERLAYS, JANDEX, deploymentRoot).read(root));
+        Assert.assertNull(ResourceRootIndexCache.create(cacheDir, OTHER_CONTENT, NO_OVERLAYS, JANDEX, deploymentRoot).read(root));
+        try (Stream<Path> entries = Files.list(cacheDir)) {
+            Assert.assertEquals(1, entries.count());
+        }
+    }
+}
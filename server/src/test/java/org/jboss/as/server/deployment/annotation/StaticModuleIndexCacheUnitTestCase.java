@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.server.controller.resources.ModuleLoadingResourceDefinition;
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.Module;
+import org.jboss.modules.ModuleFinder;
+import org.jboss.modules.ModuleLoadException;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.modules.ModuleSpec;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests of {@link StaticModuleIndexCache} and of the metrics exposing it.
+ */
+public class StaticModuleIndexCacheUnitTestCase {
+
+    private static final CompositeIndex INDEX = new CompositeIndex(Collections.emptyList());
+
+    @Test
+    public void testHitAndMiss() throws Exception {
+        StaticModuleIndexCache cache = new StaticModuleIndexCache(10);
+        Module module = loadModule("a");
+        assertNull(cache.get("a", module));
+        cache.put("a", module, INDEX);
+        assertSame(INDEX, cache.get("a", module));
+        assertNull(cache.get("b", module));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testReloadedModuleMisses() throws Exception {
+        StaticModuleIndexCache cache = new StaticModuleIndexCache(10);
+        cache.put("a", loadModule("a"), INDEX);
+        // The same module loaded again is a different instance, possibly from different resources
+        assertNull(cache.get("a", loadModule("a")));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testSizeBoundedEviction() throws Exception {
+        StaticModuleIndexCache cache = new StaticModuleIndexCache(2);
+        Module a = loadModule("a");
+        Module b = loadModule("b");
+        Module c = loadModule("c");
+        cache.put("a", a, INDEX);
+        cache.put("b", b, INDEX);
+        // Using a makes b the least recently used
+        assertSame(INDEX, cache.get("a", a));
+        cache.put("c", c, INDEX);
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get("b", b));
+        assertSame(INDEX, cache.get("a", a));
+        assertSame(INDEX, cache.get("c", c));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        StaticModuleIndexCache cache = new StaticModuleIndexCache(0);
+        Module module = loadModule("a");
+        cache.put("a", module, INDEX);
+        assertNull(cache.get("a", module));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testUnloadedModuleEvicted() throws Exception {
+        StaticModuleIndexCache cache = new StaticModuleIndexCache(10);
+        cache.put("a", loadModule("a"), INDEX);
+        // Nothing but the cache refers to the module, which is only weakly held
+        for (int i = 0; i < 100 && cache.getSize() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        Map<String, OperationStepHandler> handlers = new HashMap<>();
+        ManagementResourceRegistration registration = Mockito.mock(ManagementResourceRegistration.class);
+        Mockito.doAnswer(invocation -> {
+            handlers.put(invocation.<AttributeDefinition>getArgument(0).getName(), invocation.getArgument(1));
+            return null;
+        }).when(registration).registerMetric(Mockito.any(AttributeDefinition.class), Mockito.any(OperationStepHandler.class));
+        ModuleLoadingResourceDefinition.registerAnnotationIndexCacheMetrics(registration);
+        assertEquals(4, handlers.size());
+
+        StaticModuleIndexCache cache = StaticModuleIndexCache.getInstance();
+        long hits = readMetric(handlers, "annotation-index-cache-hits").asLong();
+        long misses = readMetric(handlers, "annotation-index-cache-misses").asLong();
+        Module module = loadModule(getClass().getName());
+        assertNull(cache.get(getClass().getName(), module));
+        assertNull(cache.get(getClass().getName(), module));
+        cache.put(getClass().getName(), module, INDEX);
+        assertSame(INDEX, cache.get(getClass().getName(), module));
+
+        assertEquals(hits + 1, readMetric(handlers, "annotation-index-cache-hits").asLong());
+        assertEquals(misses + 2, readMetric(handlers, "annotation-index-cache-misses").asLong());
+        assertEquals(cache.getSize(), readMetric(handlers, "annotation-index-cache-size").asInt());
+        assertEquals(cache.getEvictionCount(), readMetric(handlers, "annotation-index-cache-evictions").asLong());
+    }
+
+    private static ModelNode readMetric(Map<String, OperationStepHandler> handlers, String name) throws Exception {
+        ModelNode operation = new ModelNode();
+        operation.get(ModelDescriptionConstants.OP).set(ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION);
+        operation.get(ModelDescriptionConstants.NAME).set(name);
+        ModelNode result = new ModelNode();
+        OperationContext context = Mockito.mock(OperationContext.class);
+        Mockito.when(context.getProcessType()).thenReturn(ProcessType.STANDALONE_SERVER);
+        Mockito.when(context.getCurrentAddress()).thenReturn(PathAddress.pathAddress("core-service", "module-loading"));
+        Mockito.when(context.isDefaultRequiresRuntime()).thenReturn(true);
+        Mockito.when(context.getResult()).thenReturn(result);
+        handlers.get(name).execute(context, operation);
+        // The metric is read in a runtime step
+        ArgumentCaptor<OperationStepHandler> step = ArgumentCaptor.forClass(OperationStepHandler.class);
+        Mockito.verify(context).addStep(step.capture(), Mockito.eq(OperationContext.Stage.RUNTIME));
+        step.getValue().execute(context, operation);
+        return result;
+    }
+
+    private static Module loadModule(String name) throws ModuleLoadException {
+        ModuleLoader loader = new ModuleLoader(new ModuleFinder[] {
+            new ModuleFinder() {
+                @Override
+                public ModuleSpec findModule(String name, ModuleLoader delegateLoader) {
+                    return ModuleSpec.build(name).create();
+                }
+            }
+        });
+        return loader.loadModule(name);
+    }
+}
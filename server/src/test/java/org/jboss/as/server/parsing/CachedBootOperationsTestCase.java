@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.server.parsing;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.extension.ExtensionRegistry;
+import org.jboss.as.controller.extension.RuntimeHostControllerInfoAccessor;
+import org.jboss.as.controller.parsing.Namespace;
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLMapper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link StandaloneXml#handleCachedOperations(List)}.
+ */
+public class CachedBootOperationsTestCase {
+
+    private static final String PROPERTY = "org.jboss.as.server.parsing.cached";
+
+    @After
+    public void after() {
+        System.clearProperty(PROPERTY);
+    }
+
+    @Test
+    public void testSystemPropertiesSetForCachedOperations() throws Exception {
+        final String xml = "<?xml version='1.0' encoding='UTF-8'?>"
+                + "<server name=\"example\" xmlns=\"" + Namespace.CURRENT.getUriString() + "\">"
+                + "    <system-properties>\n"
+                + "        <property name=\"" + PROPERTY + "\" value=\"${" + PROPERTY + ".missing:cached-value}\"/>\n"
+                + "    </system-properties>\n"
+                + "</server>";
+        final ExtensionRegistry extensionRegistry = new ExtensionRegistry(ProcessType.STANDALONE_SERVER,
+                new RunningModeControl(RunningMode.NORMAL), null, null, null, RuntimeHostControllerInfoAccessor.SERVER);
+        final List<ModelNode> operations = new ArrayList<>();
+        final XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+        final XMLMapper mapper = XMLMapper.Factory.create();
+        mapper.registerRootElement(new QName(Namespace.CURRENT.getUriString(), "server"), new StandaloneXml(null, null, extensionRegistry));
+        mapper.parseDocument(operations, reader);
+        Assert.assertEquals("cached-value", System.getProperty(PROPERTY));
+
+        // A later boot reads the operations from the cache instead of parsing the file
+        System.clearProperty(PROPERTY);
+        new StandaloneXml(null, null, extensionRegistry).handleCachedOperations(operations);
+        Assert.assertEquals("cached-value", System.getProperty(PROPERTY));
+    }
+}
@@ -322,16 +322,20 @@ public class CliCompletionTestCase {
                 List<String> candidates = new ArrayList<>();
                 ctx.getDefaultCommandCompleter().complete(ctx, cmd,
                         cmd.length(), candidates);
-                assertTrue(candidates.toString(), candidates.size() == 4);
+                assertTrue(candidates.toString(), candidates.size() == 6);
                 assertTrue(candidates.toString(), candidates.contains("rolling-to-servers"));
                 assertTrue(candidates.toString(), candidates.contains("max-failed-servers"));
                 assertTrue(candidates.toString(), candidates.contains("max-failure-percentage"));
+                assertTrue(candidates.toString(), candidates.contains("max-in-flight"));
+                assertTrue(candidates.toString(), candidates.contains("max-in-flight-percentage"));
                 assertTrue(candidates.toString(), candidates.contains(Util.NOT_OPERATOR));
                 candidates = complete(ctx, cmd, false, -1);
-                assertTrue(candidates.toString(), candidates.size() == 4);
+                assertTrue(candidates.toString(), candidates.size() == 6);
                 assertTrue(candidates.toString(), candidates.contains("rolling-to-servers"));
                 assertTrue(candidates.toString(), candidates.contains("max-failed-servers"));
                 assertTrue(candidates.toString(), candidates.contains("max-failure-percentage"));
+                assertTrue(candidates.toString(), candidates.contains("max-in-flight"));
+                assertTrue(candidates.toString(), candidates.contains("max-in-flight-percentage"));
                 assertTrue(candidates.toString(), candidates.contains(Util.NOT_OPERATOR));
             }
 
@@ -352,6 +356,24 @@ public class CliCompletionTestCase {
             {
                 String cmd = ":reload-servers(blocking){rollout main-server-group(rolling-to-servers,";
                 List<String> candidates = new ArrayList<>();
+                ctx.getDefaultCommandCompleter().complete(ctx, cmd,
+                        cmd.length(), candidates);
+                assertTrue(candidates.toString(), candidates.size() == 4);
+                assertTrue(candidates.toString(), candidates.contains("max-failed-servers"));
+                assertTrue(candidates.toString(), candidates.contains("max-failure-percentage"));
+                assertTrue(candidates.toString(), candidates.contains("max-in-flight"));
+                assertTrue(candidates.toString(), candidates.contains("max-in-flight-percentage"));
+                candidates = complete(ctx, cmd, false, -1);
+                assertTrue(candidates.toString(), candidates.size() == 4);
+                assertTrue(candidates.toString(), candidates.contains("max-failed-servers"));
+                assertTrue(candidates.toString(), candidates.contains("max-failure-percentage"));
+                assertTrue(candidates.toString(), candidates.contains("max-in-flight"));
+                assertTrue(candidates.toString(), candidates.contains("max-in-flight-percentage"));
+            }
+
+            {
+                String cmd = ":reload-servers(blocking){rollout main-server-group(rolling-to-servers,max-in-flight=2,";
+                List<String> candidates = new ArrayList<>();
                 ctx.getDefaultCommandCompleter().complete(ctx, cmd,
                         cmd.length(), candidates);
                 assertTrue(candidates.toString(), candidates.size() == 2);